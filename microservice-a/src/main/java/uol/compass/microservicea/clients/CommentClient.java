@@ -1,15 +1,18 @@
 package uol.compass.microservicea.clients;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uol.compass.microservicea.config.FeignConfig;
 import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
 import uol.compass.microservicea.web.dto.CommentCreateDTO;
 import uol.compass.microservicea.web.dto.CommentUpdateDTO;
 
 import java.util.List;
 
-@FeignClient(value = "comment-client", url = "localhost:8081/api/posts", configuration = FeignConfig.class)
+@FeignClient(value = "comment-client", url = "${socialmedia.gateway.posts-url:http://localhost:8081/api/posts}", configuration = FeignConfig.class)
 public interface CommentClient {
 
     @PostMapping("/{postId}/comments")
@@ -18,22 +21,37 @@ public interface CommentClient {
             @RequestBody CommentCreateDTO comment
     );
 
+    @PostMapping("/{postId}/comments/bulk")
+    BulkResultDTO createCommentsInPost(
+            @PathVariable("postId") String postId,
+            @RequestBody List<CommentCreateDTO> comments
+    );
+
     @GetMapping("/{postId}/comments")
     List<Comment> getCommentsByPostId(
             @PathVariable("postId") String postId
     );
 
     @GetMapping("/{postId}/comments/{commentId}")
-    Comment getCommentById(
+    ResponseEntity<Comment> getCommentById(
             @PathVariable("postId") String postId,
             @PathVariable("commentId") String commentId
     );
 
     @PutMapping("/{postId}/comments/{commentId}")
-    Comment updateCommentInPost(
+    ResponseEntity<Comment> updateCommentInPost(
+            @PathVariable("postId") String postId,
+            @PathVariable("commentId") String commentId,
+            @RequestBody CommentUpdateDTO comment,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    );
+
+    @PatchMapping(value = "/{postId}/comments/{commentId}", consumes = "application/merge-patch+json")
+    ResponseEntity<Comment> patchCommentInPost(
             @PathVariable("postId") String postId,
             @PathVariable("commentId") String commentId,
-            @RequestBody CommentUpdateDTO comment
+            @RequestBody CommentUpdateDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     );
 
     @DeleteMapping("/{postId}/comments/{commentId}")
@@ -1,28 +1,56 @@
 package uol.compass.microservicea.clients;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uol.compass.microservicea.config.FeignConfig;
 import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
 import uol.compass.microservicea.web.dto.PostCreateDTO;
+import uol.compass.microservicea.web.dto.PostSummaryDTO;
 import uol.compass.microservicea.web.dto.PostUpdateDTO;
 
 import java.util.List;
 
-@FeignClient(value = "post-client", url = "http://localhost:8081/api/posts", configuration = FeignConfig.class)
+@FeignClient(value = "post-client", url = "${socialmedia.gateway.posts-url:http://localhost:8081/api/posts}", configuration = FeignConfig.class)
 public interface PostClient {
 
     @GetMapping
-    List<Post> getPosts();
+    ResponseEntity<List<Post>> getPostsPage(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit
+    );
+
+    @GetMapping
+    ResponseEntity<List<PostSummaryDTO>> getPostSummaries(
+            @RequestParam("view") String view,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit
+    );
 
     @GetMapping("/{id}")
-    Post getPostById(@PathVariable("id") String id);
+    ResponseEntity<Post> getPostById(@PathVariable("id") String id);
 
     @PostMapping
     Post createPost(@RequestBody PostCreateDTO postCreateDTO);
 
+    @PostMapping("/bulk")
+    BulkResultDTO createPosts(@RequestBody List<PostCreateDTO> posts);
+
     @PutMapping("/{id}")
-    Post updatePost(@PathVariable("id") String id, @RequestBody PostUpdateDTO postUpdateDTO);
+    ResponseEntity<Post> updatePost(
+            @PathVariable("id") String id,
+            @RequestBody PostUpdateDTO postUpdateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    );
+
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    ResponseEntity<Post> patchPost(
+            @PathVariable("id") String id,
+            @RequestBody PostUpdateDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    );
 
     @DeleteMapping("/{id}")
     void deletePost(@PathVariable("id") String id);
@@ -0,0 +1,90 @@
+package uol.compass.microservicea.clients;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uol.compass.microservicea.config.FeignErrorDecoder;
+import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
+import uol.compass.microservicea.web.dto.CommentCreateDTO;
+import uol.compass.microservicea.web.dto.CommentUpdateDTO;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking counterpart of {@link CommentClient}, mapping errors the same way as {@link ReactivePostClient}.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCommentClient {
+    private static final MediaType MERGE_PATCH_JSON = MediaType.parseMediaType("application/merge-patch+json");
+
+    private final WebClient microserviceBClient;
+    private final FeignErrorDecoder errorDecoder;
+
+    public Mono<Comment> createCommentInPost(String postId, CommentCreateDTO comment) {
+        return retrieve(microserviceBClient.post().uri("/{postId}/comments", postId).bodyValue(comment))
+                .bodyToMono(Comment.class);
+    }
+
+    public Mono<BulkResultDTO> createCommentsInPost(String postId, List<CommentCreateDTO> comments) {
+        return retrieve(microserviceBClient.post().uri("/{postId}/comments/bulk", postId).bodyValue(comments))
+                .bodyToMono(BulkResultDTO.class);
+    }
+
+    public Flux<Comment> getCommentsByPostId(String postId) {
+        return retrieve(microserviceBClient.get().uri("/{postId}/comments", postId)).bodyToFlux(Comment.class);
+    }
+
+    public Mono<ResponseEntity<Comment>> getCommentById(String postId, String commentId) {
+        return retrieve(microserviceBClient.get().uri("/{postId}/comments/{commentId}", postId, commentId))
+                .toEntity(Comment.class);
+    }
+
+    public Mono<ResponseEntity<Comment>> updateCommentInPost(String postId, String commentId, CommentUpdateDTO comment,
+                                                            String ifMatch) {
+        return retrieve(microserviceBClient.put().uri("/{postId}/comments/{commentId}", postId, commentId)
+                .headers(ifMatch(ifMatch))
+                .bodyValue(comment))
+                .toEntity(Comment.class);
+    }
+
+    public Mono<ResponseEntity<Comment>> patchCommentInPost(String postId, String commentId, CommentUpdateDTO patch,
+                                                           String ifMatch) {
+        return retrieve(microserviceBClient.patch().uri("/{postId}/comments/{commentId}", postId, commentId)
+                .headers(ifMatch(ifMatch))
+                .contentType(MERGE_PATCH_JSON)
+                .bodyValue(patch))
+                .toEntity(Comment.class);
+    }
+
+    public Mono<Void> deleteCommentInPost(String postId, String commentId) {
+        return retrieve(microserviceBClient.delete().uri("/{postId}/comments/{commentId}", postId, commentId))
+                .toBodilessEntity()
+                .then();
+    }
+
+    private static Consumer<HttpHeaders> ifMatch(String ifMatch) {
+        return headers -> {
+            if (ifMatch != null) {
+                headers.setIfMatch(ifMatch);
+            }
+        };
+    }
+
+    private WebClient.ResponseSpec retrieve(WebClient.RequestHeadersSpec<?> request) {
+        return request.retrieve().onStatus(HttpStatusCode::isError, response -> response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> errorDecoder.decode(response.statusCode().value(), new ByteArrayInputStream(body))));
+    }
+}
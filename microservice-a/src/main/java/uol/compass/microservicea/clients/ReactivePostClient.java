@@ -0,0 +1,95 @@
+package uol.compass.microservicea.clients;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import uol.compass.microservicea.config.FeignErrorDecoder;
+import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
+import uol.compass.microservicea.web.dto.PostCreateDTO;
+import uol.compass.microservicea.web.dto.PostSummaryDTO;
+import uol.compass.microservicea.web.dto.PostUpdateDTO;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking counterpart of {@link PostClient}. Error responses are mapped by {@link FeignErrorDecoder},
+ * so both gateway modes raise the same exceptions.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePostClient {
+    private static final MediaType MERGE_PATCH_JSON = MediaType.parseMediaType("application/merge-patch+json");
+
+    private final WebClient microserviceBClient;
+    private final FeignErrorDecoder errorDecoder;
+
+    public Mono<ResponseEntity<List<Post>>> getPostsPage(String after, Integer limit) {
+        return retrieve(microserviceBClient.get().uri(uri -> uri
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                .build()))
+                .toEntityList(Post.class);
+    }
+
+    public Mono<ResponseEntity<List<PostSummaryDTO>>> getPostSummaries(String view, String after, Integer limit) {
+        return retrieve(microserviceBClient.get().uri(uri -> uri
+                .queryParam("view", view)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                .build()))
+                .toEntityList(PostSummaryDTO.class);
+    }
+
+    public Mono<ResponseEntity<Post>> getPostById(String id) {
+        return retrieve(microserviceBClient.get().uri("/{id}", id)).toEntity(Post.class);
+    }
+
+    public Mono<Post> createPost(PostCreateDTO postCreateDTO) {
+        return retrieve(microserviceBClient.post().bodyValue(postCreateDTO)).bodyToMono(Post.class);
+    }
+
+    public Mono<BulkResultDTO> createPosts(List<PostCreateDTO> posts) {
+        return retrieve(microserviceBClient.post().uri("/bulk").bodyValue(posts)).bodyToMono(BulkResultDTO.class);
+    }
+
+    public Mono<ResponseEntity<Post>> updatePost(String id, PostUpdateDTO postUpdateDTO, String ifMatch) {
+        return retrieve(microserviceBClient.put().uri("/{id}", id).headers(ifMatch(ifMatch)).bodyValue(postUpdateDTO))
+                .toEntity(Post.class);
+    }
+
+    public Mono<ResponseEntity<Post>> patchPost(String id, PostUpdateDTO patch, String ifMatch) {
+        return retrieve(microserviceBClient.patch().uri("/{id}", id).headers(ifMatch(ifMatch))
+                .contentType(MERGE_PATCH_JSON)
+                .bodyValue(patch))
+                .toEntity(Post.class);
+    }
+
+    public Mono<Void> deletePost(String id) {
+        return retrieve(microserviceBClient.delete().uri("/{id}", id)).toBodilessEntity().then();
+    }
+
+    private static Consumer<HttpHeaders> ifMatch(String ifMatch) {
+        return headers -> {
+            if (ifMatch != null) {
+                headers.setIfMatch(ifMatch);
+            }
+        };
+    }
+
+    private WebClient.ResponseSpec retrieve(WebClient.RequestHeadersSpec<?> request) {
+        return request.retrieve().onStatus(HttpStatusCode::isError, response -> response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> errorDecoder.decode(response.statusCode().value(), new ByteArrayInputStream(body))));
+    }
+}
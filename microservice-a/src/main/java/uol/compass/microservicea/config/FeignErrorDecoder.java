@@ -13,15 +13,18 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
+import uol.compass.microservicea.exceptions.ConflictException;
 import uol.compass.microservicea.exceptions.EntityNotFoundException;
 import uol.compass.microservicea.exceptions.FeignClientException;
 import uol.compass.microservicea.exceptions.MethodArgumentNotValidException;
+import uol.compass.microservicea.exceptions.PreconditionFailedException;
 import uol.compass.microservicea.web.dto.CommentCreateDTO;
 import uol.compass.microservicea.web.dto.CommentUpdateDTO;
 import uol.compass.microservicea.web.dto.PostCreateDTO;
 import uol.compass.microservicea.web.dto.PostUpdateDTO;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 @Slf4j
 @Component
@@ -32,12 +35,23 @@ public class FeignErrorDecoder implements ErrorDecoder {
     @Override
     public Exception decode(String s, Response response) {
         try {
-            JsonNode errorNode = objectMapper.readTree(response.body().asInputStream());
+            return decode(response.status(), response.body().asInputStream());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Maps an error response of Micro Service B to the exception that {@code ApiExceptionHandler} turns back
+     * into the same status. Shared by the Feign clients and the WebClient ones of the reactive gateway.
+     */
+    public Exception decode(int status, InputStream body) {
+        try {
+            JsonNode errorNode = objectMapper.readTree(body);
 
             String message = errorNode.has("message") ? errorNode.get("message").asText() : "Unknown error";
             String method = errorNode.has("method") ? errorNode.get("method").asText() : "unknown";
             String path = errorNode.has("path") ? errorNode.get("path").asText() : "N/A";
-            int status = response.status();
 
             switch (HttpStatus.valueOf(status)) {
                 case NOT_FOUND:
@@ -55,6 +69,10 @@ public class FeignErrorDecoder implements ErrorDecoder {
                     return buildMethodArgumentNotValidException(errorNode, message, path, method);
                 case METHOD_NOT_ALLOWED:
                     return new HttpRequestMethodNotSupportedException(method);
+                case CONFLICT:
+                    return new ConflictException(message);
+                case PRECONDITION_FAILED:
+                    return new PreconditionFailedException(message);
                 default:
                     return new FeignClientException(status, message, path);
             }
@@ -89,7 +107,8 @@ public class FeignErrorDecoder implements ErrorDecoder {
             }
         }
 
-        if (method.equals("PUT")) {
+        // A merge patch sends the same fields as a replacement, so B's 422 names the same properties.
+        if (method.equals("PUT") || method.equals("PATCH")) {
             if(path.contains("/comments")) {
                 bindingResult = new BeanPropertyBindingResult(new CommentUpdateDTO(), "requestBody");
             } else {
@@ -0,0 +1,64 @@
+package uol.compass.microservicea.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Reactive gateway mode ({@code spring.main.web-application-type=reactive}): the API is served by WebFlux on
+ * Netty and Micro Service B is called through a {@link WebClient} over a pool of keep-alive connections.
+ * A request waiting on B holds a pooled connection, not a thread, so the number of calls in flight is
+ * bounded by {@code socialmedia.gateway.max-connections} instead of the size of a thread pool.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebClientConfig {
+
+    @Value("${socialmedia.gateway.posts-url:http://localhost:8081/api/posts}")
+    private String postsUrl;
+
+    @Value("${socialmedia.gateway.max-connections:2000}")
+    private int maxConnections;
+
+    // How long a call waits for a free connection once all of them are in use.
+    @Value("${socialmedia.gateway.pending-acquire-timeout:PT30S}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${socialmedia.gateway.max-idle-time:PT30S}")
+    private Duration maxIdleTime;
+
+    @Value("${socialmedia.gateway.response-timeout:PT60S}")
+    private Duration responseTimeout;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider microserviceBConnections() {
+        return ConnectionProvider.builder("microservice-b")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .build();
+    }
+
+    @Bean
+    public WebClient microserviceBClient(WebClient.Builder builder, ConnectionProvider microserviceBConnections) {
+        HttpClient httpClient = HttpClient.create(microserviceBConnections).responseTimeout(responseTimeout);
+        return builder
+                .baseUrl(postsUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    // Tomcat is on the classpath for the servlet mode and would otherwise be picked for WebFlux too.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
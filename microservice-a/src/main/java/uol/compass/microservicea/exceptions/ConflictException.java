@@ -0,0 +1,10 @@
+package uol.compass.microservicea.exceptions;
+
+/**
+ * Micro Service B rejected a write because another one changed the same document at the same time.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package uol.compass.microservicea.exceptions;
+
+/**
+ * Micro Service B rejected a write because its {@code If-Match} no longer matches the current version.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package uol.compass.microservicea.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A post or comment read from Micro Service B together with the ETag B sent with it, which the gateway hands
+ * back to its clients so they can make conditional updates with {@code If-Match}.
+ */
+@Getter @AllArgsConstructor
+public class ETagged<T> {
+    private T body;
+    // Null when Micro Service B sent no ETag.
+    private String eTag;
+
+    public static <T> ETagged<T> of(ResponseEntity<T> response) {
+        return new ETagged<>(response.getBody(), response.getHeaders().getETag());
+    }
+}
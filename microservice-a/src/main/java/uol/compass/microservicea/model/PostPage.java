@@ -0,0 +1,15 @@
+package uol.compass.microservicea.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter @AllArgsConstructor
+public class PostPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<T> posts;
+    // Id of the last post in the page, or null when there are no more posts.
+    private String nextCursor;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import uol.compass.microservicea.clients.CommentClient;
 import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.model.ETagged;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
 import uol.compass.microservicea.web.dto.CommentCreateDTO;
 import uol.compass.microservicea.web.dto.CommentUpdateDTO;
 
@@ -13,24 +15,58 @@ import java.util.List;
 @Service
 public class CommentService {
     private final CommentClient client;
+    private final GatewayCache cache;
+    private final SingleFlight flights;
 
     public Comment createCommentInPost(String postId, CommentCreateDTO comment) {
-        return client.createCommentInPost(postId, comment);
+        try {
+            return client.createCommentInPost(postId, comment);
+        } finally {
+            cache.evictComments(postId);
+        }
+    }
+
+    public BulkResultDTO createCommentsInPost(String postId, List<CommentCreateDTO> comments) {
+        try {
+            return client.createCommentsInPost(postId, comments);
+        } finally {
+            cache.evictComments(postId);
+        }
     }
 
     public List<Comment> getCommentsByPostId(String postId) {
-        return client.getCommentsByPostId(postId);
+        return flights.execute("post-comments:" + postId,
+                () -> cache.getComments(postId, client::getCommentsByPostId));
+    }
+
+    public ETagged<Comment> getCommentById(String postId, String commentId) {
+        return flights.execute("comment:" + postId + "/" + commentId,
+                () -> cache.getComment(postId, commentId, () -> ETagged.of(client.getCommentById(postId, commentId))));
     }
 
-    public Comment getCommentById(String postId, String commentId) {
-        return client.getCommentById(postId, commentId);
+    public ETagged<Comment> updateCommentInPost(String postId, String commentId, CommentUpdateDTO comment,
+                                                String ifMatch) {
+        try {
+            return ETagged.of(client.updateCommentInPost(postId, commentId, comment, ifMatch));
+        } finally {
+            cache.evictComment(postId, commentId);
+        }
     }
 
-    public Comment updateCommentInPost(String postId, String commentId, CommentUpdateDTO comment) {
-        return client.updateCommentInPost(postId, commentId, comment);
+    public ETagged<Comment> patchCommentInPost(String postId, String commentId, CommentUpdateDTO patch,
+                                               String ifMatch) {
+        try {
+            return ETagged.of(client.patchCommentInPost(postId, commentId, patch, ifMatch));
+        } finally {
+            cache.evictComment(postId, commentId);
+        }
     }
 
     public void deleteCommentInPost(String postId, String commentId) {
-        client.deleteCommentInPost(postId, commentId);
+        try {
+            client.deleteCommentInPost(postId, commentId);
+        } finally {
+            cache.evictComment(postId, commentId);
+        }
     }
 }
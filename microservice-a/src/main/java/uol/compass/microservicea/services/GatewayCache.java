@@ -0,0 +1,146 @@
+package uol.compass.microservicea.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.model.ETagged;
+import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.model.PostPage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of Micro Service B's responses, so repeated reads do not make a Feign call each. Every route
+ * has its own cache and TTL ({@code socialmedia.gateway.cache.ttl.*}), all bounded by
+ * {@code socialmedia.gateway.cache.maximum-size}. {@link PostService} and {@link CommentService} evict the entries
+ * a write touches as soon as the call to B returns, also when it fails, since B may have applied it anyway.
+ * Writes that do not go through this instance are only seen once the TTL of the route passes.
+ * <p>
+ * Hits, misses and evictions are published as the {@code cache.*} metrics and the hit ratio as
+ * {@code cache.hit.ratio}, tagged {@code cache=gateway-posts|gateway-post|gateway-comments|gateway-comment}.
+ * Posts and comments are cached with their ETag. Cached values are shared between requests and must not be
+ * modified.
+ */
+@Component
+public class GatewayCache implements MeterBinder {
+    private static final String FIRST_PAGE = "first";
+
+    private final Cache<String, PostPage<Post>> postLists;
+    private final Cache<String, ETagged<Post>> posts;
+    private final Cache<String, List<Comment>> commentLists;
+    private final Cache<String, ETagged<Comment>> comments;
+
+    public GatewayCache(@Value("${socialmedia.gateway.cache.enabled:false}") boolean enabled,
+                        @Value("${socialmedia.gateway.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${socialmedia.gateway.cache.ttl.posts:PT5S}") Duration postsTtl,
+                        @Value("${socialmedia.gateway.cache.ttl.post:PT30S}") Duration postTtl,
+                        @Value("${socialmedia.gateway.cache.ttl.comments:PT30S}") Duration commentsTtl,
+                        @Value("${socialmedia.gateway.cache.ttl.comment:PT30S}") Duration commentTtl) {
+        this.postLists = enabled ? newCache(1, postsTtl) : null;
+        this.posts = enabled ? newCache(maximumSize, postTtl) : null;
+        this.commentLists = enabled ? newCache(maximumSize, commentsTtl) : null;
+        this.comments = enabled ? newCache(maximumSize, commentTtl) : null;
+    }
+
+    private static <V> Cache<String, V> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param loader calls Micro Service B; an exception it throws is passed on and nothing is cached
+     */
+    public PostPage<Post> getFirstPostPage(Supplier<PostPage<Post>> loader) {
+        return postLists == null ? loader.get() : postLists.get(FIRST_PAGE, key -> loader.get());
+    }
+
+    public ETagged<Post> getPost(String id, Function<String, ETagged<Post>> loader) {
+        return posts == null ? loader.apply(id) : posts.get(id, loader);
+    }
+
+    public List<Comment> getComments(String postId, Function<String, List<Comment>> loader) {
+        return commentLists == null ? loader.apply(postId) : commentLists.get(postId, loader);
+    }
+
+    public ETagged<Comment> getComment(String postId, String commentId, Supplier<ETagged<Comment>> loader) {
+        return comments == null ? loader.get() : comments.get(commentKey(postId, commentId), key -> loader.get());
+    }
+
+    /**
+     * For a new post; the first page of posts is the only entry that can contain it.
+     */
+    public void evictPostList() {
+        if (postLists != null) {
+            postLists.invalidateAll();
+        }
+    }
+
+    /**
+     * For a change to the post itself; the first page of posts may embed it.
+     */
+    public void evictPost(String id) {
+        if (posts != null) {
+            posts.invalidate(id);
+            postLists.invalidateAll();
+        }
+    }
+
+    /**
+     * For a new comment in the post; the post and the first page of posts embed its comments.
+     */
+    public void evictComments(String postId) {
+        if (commentLists != null) {
+            commentLists.invalidate(postId);
+            evictPost(postId);
+        }
+    }
+
+    public void evictComment(String postId, String commentId) {
+        if (comments != null) {
+            comments.invalidate(commentKey(postId, commentId));
+            evictComments(postId);
+        }
+    }
+
+    public void evictPostAndComments(String postId) {
+        if (comments != null) {
+            String prefix = commentKey(postId, "");
+            comments.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            evictComments(postId);
+        }
+    }
+
+    private static String commentKey(String postId, String commentId) {
+        return postId + "/" + commentId;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (posts != null) {
+            monitor(registry, postLists, "gateway-posts");
+            monitor(registry, posts, "gateway-post");
+            monitor(registry, commentLists, "gateway-comments");
+            monitor(registry, comments, "gateway-comment");
+        }
+    }
+
+    private static void monitor(MeterRegistry registry, Cache<String, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("Share of the lookups served from the cache")
+                .register(registry);
+    }
+}
@@ -1,10 +1,15 @@
 package uol.compass.microservicea.services;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import uol.compass.microservicea.clients.PostClient;
+import uol.compass.microservicea.model.ETagged;
 import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.model.PostPage;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
 import uol.compass.microservicea.web.dto.PostCreateDTO;
+import uol.compass.microservicea.web.dto.PostSummaryDTO;
 import uol.compass.microservicea.web.dto.PostUpdateDTO;
 
 import java.util.List;
@@ -13,25 +18,72 @@ import java.util.List;
 @Service
 public class PostService {
     private final PostClient postClient;
+    private final GatewayCache cache;
+    private final SingleFlight flights;
 
-    public List<Post> getPosts() {
-        return postClient.getPosts();
+    /**
+     * Only the first page in B's default size is cached, as the page most reads ask for; pages further on or of
+     * another size go to B every time.
+     */
+    public PostPage<Post> getPostsPage(String after, Integer limit) {
+        if (after == null && limit == null) {
+            return flights.execute("posts", () -> cache.getFirstPostPage(() -> fetchPostsPage(null, null)));
+        }
+        return fetchPostsPage(after, limit);
     }
 
-    public Post getPostById(String id) {
-        return postClient.getPostById(id);
+    private PostPage<Post> fetchPostsPage(String after, Integer limit) {
+        ResponseEntity<List<Post>> response = postClient.getPostsPage(after, limit);
+        return new PostPage<>(response.getBody(), response.getHeaders().getFirst(PostPage.NEXT_CURSOR_HEADER));
+    }
+
+    public PostPage<PostSummaryDTO> getPostSummaries(String after, Integer limit) {
+        ResponseEntity<List<PostSummaryDTO>> response = postClient.getPostSummaries("summary", after, limit);
+        return new PostPage<>(response.getBody(), response.getHeaders().getFirst(PostPage.NEXT_CURSOR_HEADER));
+    }
+
+    public ETagged<Post> getPostById(String id) {
+        return flights.execute("post:" + id, () -> cache.getPost(id, key -> ETagged.of(postClient.getPostById(key))));
     }
 
     public Post createPost(PostCreateDTO postCreateDTO) {
-        return postClient.createPost(postCreateDTO);
+        try {
+            return postClient.createPost(postCreateDTO);
+        } finally {
+            cache.evictPostList();
+        }
+    }
+
+    public BulkResultDTO createPosts(List<PostCreateDTO> posts) {
+        try {
+            return postClient.createPosts(posts);
+        } finally {
+            cache.evictPostList();
+        }
     }
 
     public void deletePost(String id) {
-        postClient.deletePost(id);
+        try {
+            postClient.deletePost(id);
+        } finally {
+            cache.evictPostAndComments(id);
+        }
+    }
+
+    public ETagged<Post> updatePost(String id, PostUpdateDTO postUpdateDTO, String ifMatch) {
+        try {
+            return ETagged.of(postClient.updatePost(id, postUpdateDTO, ifMatch));
+        } finally {
+            cache.evictPost(id);
+        }
     }
 
-    public Post updatePost(String id, PostUpdateDTO postUpdateDTO) {
-        return postClient.updatePost(id, postUpdateDTO);
+    public ETagged<Post> patchPost(String id, PostUpdateDTO patch, String ifMatch) {
+        try {
+            return ETagged.of(postClient.patchPost(id, patch, ifMatch));
+        } finally {
+            cache.evictPost(id);
+        }
     }
 
 }
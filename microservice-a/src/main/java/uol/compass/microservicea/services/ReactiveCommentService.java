@@ -0,0 +1,52 @@
+package uol.compass.microservicea.services;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uol.compass.microservicea.clients.ReactiveCommentClient;
+import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.model.ETagged;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
+import uol.compass.microservicea.web.dto.CommentCreateDTO;
+import uol.compass.microservicea.web.dto.CommentUpdateDTO;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCommentService {
+    private final ReactiveCommentClient client;
+
+    public Mono<Comment> createCommentInPost(String postId, CommentCreateDTO comment) {
+        return client.createCommentInPost(postId, comment);
+    }
+
+    public Mono<BulkResultDTO> createCommentsInPost(String postId, List<CommentCreateDTO> comments) {
+        return client.createCommentsInPost(postId, comments);
+    }
+
+    public Flux<Comment> getCommentsByPostId(String postId) {
+        return client.getCommentsByPostId(postId);
+    }
+
+    public Mono<ETagged<Comment>> getCommentById(String postId, String commentId) {
+        return client.getCommentById(postId, commentId).map(ETagged::of);
+    }
+
+    public Mono<ETagged<Comment>> updateCommentInPost(String postId, String commentId, CommentUpdateDTO comment,
+                                                      String ifMatch) {
+        return client.updateCommentInPost(postId, commentId, comment, ifMatch).map(ETagged::of);
+    }
+
+    public Mono<ETagged<Comment>> patchCommentInPost(String postId, String commentId, CommentUpdateDTO patch,
+                                                     String ifMatch) {
+        return client.patchCommentInPost(postId, commentId, patch, ifMatch).map(ETagged::of);
+    }
+
+    public Mono<Void> deleteCommentInPost(String postId, String commentId) {
+        return client.deleteCommentInPost(postId, commentId);
+    }
+}
@@ -0,0 +1,60 @@
+package uol.compass.microservicea.services;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import uol.compass.microservicea.clients.ReactivePostClient;
+import uol.compass.microservicea.model.ETagged;
+import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.model.PostPage;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
+import uol.compass.microservicea.web.dto.PostCreateDTO;
+import uol.compass.microservicea.web.dto.PostSummaryDTO;
+import uol.compass.microservicea.web.dto.PostUpdateDTO;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePostService {
+    private final ReactivePostClient postClient;
+
+    public Mono<PostPage<Post>> getPostsPage(String after, Integer limit) {
+        return postClient.getPostsPage(after, limit).map(ReactivePostService::toPage);
+    }
+
+    public Mono<PostPage<PostSummaryDTO>> getPostSummaries(String after, Integer limit) {
+        return postClient.getPostSummaries("summary", after, limit).map(ReactivePostService::toPage);
+    }
+
+    public Mono<ETagged<Post>> getPostById(String id) {
+        return postClient.getPostById(id).map(ETagged::of);
+    }
+
+    public Mono<Post> createPost(PostCreateDTO postCreateDTO) {
+        return postClient.createPost(postCreateDTO);
+    }
+
+    public Mono<BulkResultDTO> createPosts(List<PostCreateDTO> posts) {
+        return postClient.createPosts(posts);
+    }
+
+    public Mono<Void> deletePost(String id) {
+        return postClient.deletePost(id);
+    }
+
+    public Mono<ETagged<Post>> updatePost(String id, PostUpdateDTO postUpdateDTO, String ifMatch) {
+        return postClient.updatePost(id, postUpdateDTO, ifMatch).map(ETagged::of);
+    }
+
+    public Mono<ETagged<Post>> patchPost(String id, PostUpdateDTO patch, String ifMatch) {
+        return postClient.patchPost(id, patch, ifMatch).map(ETagged::of);
+    }
+
+    private static <T> PostPage<T> toPage(ResponseEntity<List<T>> response) {
+        return new PostPage<>(response.getBody(), response.getHeaders().getFirst(PostPage.NEXT_CURSOR_HEADER));
+    }
+}
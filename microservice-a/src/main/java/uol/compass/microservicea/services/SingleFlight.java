@@ -0,0 +1,73 @@
+package uol.compass.microservicea.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a call for a key is in flight, every other caller with the same key
+ * waits for it and gets its result, or its exception, instead of making its own call to Micro Service B. Once the
+ * call returns the key is free again, so nothing is kept between calls; {@link GatewayCache} does that.
+ * <p>
+ * Calls that joined one already in flight are counted by the {@code gateway.calls.coalesced} metric, and the keys
+ * in flight by {@code gateway.calls.in.flight}.
+ */
+@Component
+public class SingleFlight implements MeterBinder {
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String key, Supplier<V> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return (V) await(leader);
+        }
+
+        try {
+            V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.calls.coalesced", coalesced, LongAdder::sum)
+                .description("Reads served by a call to Micro Service B already in flight for the same key")
+                .register(registry);
+        Gauge.builder("gateway.calls.in.flight", inFlight, ConcurrentMap::size)
+                .description("Keys with a call to Micro Service B in flight")
+                .register(registry);
+    }
+}
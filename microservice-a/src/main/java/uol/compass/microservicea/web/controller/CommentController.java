@@ -1,16 +1,20 @@
 package uol.compass.microservicea.web.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.model.ETagged;
 import uol.compass.microservicea.services.CommentService;
 import uol.compass.microservicea.web.dto.*;
 import uol.compass.microservicea.web.dto.mapper.CommentMapper;
@@ -23,7 +27,10 @@ import java.util.List;
 @AllArgsConstructor
 @RestController
 @RequestMapping(value = "/api/posts")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CommentController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final CommentService service;
 
     @Operation(
@@ -68,6 +75,47 @@ public class CommentController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @Operation(
+            summary = "Create comments in bulk",
+            description = "Creates up to 1000 comments in a post in a single request, consuming Micro Service B. Each " +
+                    "item is validated on its own: valid comments are inserted and invalid ones are reported by their " +
+                    "index in the request, without failing the whole batch.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Comments to be created.",
+                    required = true,
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CommentCreateDTO.class)))
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Batch processed. The IDs of the created comments and the failed items are reported.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkResultDTO.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request - Empty batch or more than 1000 items",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not Found - Post not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            }
+    )
+    @PostMapping("/{postId}/comments/bulk")
+    public ResponseEntity<BulkResultDTO> createComments(
+            @PathVariable String postId,
+            @RequestBody List<CommentCreateDTO> comments
+    ) {
+        return ResponseEntity.ok().body(service.createCommentsInPost(postId, comments));
+    }
+
     @Operation(
             summary = "List all comments from a post",
             description = "Endpoint to retrieve all posts from the database consuming Micro Service B.",
@@ -119,6 +167,16 @@ public class CommentController {
                             description = "Not found - Comment not found",
                             content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Conflict - The comment was changed by another request at the same time",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Precondition Failed - The If-Match header does not match the current version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
                     @ApiResponse(
                             responseCode = "422",
                             description = "Unprocessable Entity - Invalid Arguments",
@@ -134,11 +192,63 @@ public class CommentController {
     public ResponseEntity<CommentResponseDTO> updateComment(
             @PathVariable String postId,
             @PathVariable String commentId,
-            @RequestBody CommentUpdateDTO comment
+            @RequestBody CommentUpdateDTO comment,
+            @Parameter(description = "ETag of the comment the update is based on. The update is rejected with 412 if the comment changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Comment updatedComment = service.updateCommentInPost(postId, commentId, comment);
-        CommentResponseDTO response = CommentResponseDTO.toDto(updatedComment);
-        return ResponseEntity.ok().body(response);
+        ETagged<Comment> updatedComment = service.updateCommentInPost(postId, commentId, comment, ifMatch);
+        CommentResponseDTO response = CommentResponseDTO.toDto(updatedComment.getBody());
+        return ResponseEntity.ok().eTag(updatedComment.getETag()).body(response);
+    }
+
+    @Operation(summary = "Patch a comment by ID",
+            description = "Resource to apply a JSON Merge Patch to an existing comment consuming Micro Service B. Only the fields sent are changed.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Fields of the comment to be changed.",
+                    required = true,
+                    content = @Content(mediaType = MERGE_PATCH_JSON, schema = @Schema(implementation = CommentUpdateDTO.class))
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Comment updated successfully",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentResponseDTO.class))
+                    ),
+                    @ApiResponse(responseCode = "404",
+                            description = "Not found - Comment not found",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Conflict - The comment was changed by another request at the same time",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Precondition Failed - The If-Match header does not match the current version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity - Invalid Arguments",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @PatchMapping(value = "/{postId}/comments/{commentId}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<CommentResponseDTO> patchComment(
+            @PathVariable String postId,
+            @PathVariable String commentId,
+            @RequestBody CommentUpdateDTO patch,
+            @Parameter(description = "ETag of the comment the patch is based on. The patch is rejected with 412 if the comment changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ETagged<Comment> patchedComment = service.patchCommentInPost(postId, commentId, patch, ifMatch);
+        return ResponseEntity.ok().eTag(patchedComment.getETag()).body(CommentResponseDTO.toDto(patchedComment.getBody()));
     }
 
     @GetMapping("/{postId}/comments/{commentId}")
@@ -167,10 +277,10 @@ public class CommentController {
             @PathVariable String postId,
             @PathVariable String commentId
     ) {
-        Comment comment = service.getCommentById(postId, commentId);
-        CommentResponseDTO response = CommentResponseDTO.toDto(comment);
+        ETagged<Comment> comment = service.getCommentById(postId, commentId);
+        CommentResponseDTO response = CommentResponseDTO.toDto(comment.getBody());
 
-        return ResponseEntity.ok().body(response);
+        return ResponseEntity.ok().eTag(comment.getETag()).body(response);
     }
 
     @Operation(summary = "Delete a Comment by ID",
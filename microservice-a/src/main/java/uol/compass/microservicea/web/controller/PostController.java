@@ -1,20 +1,27 @@
 package uol.compass.microservicea.web.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import uol.compass.microservicea.model.ETagged;
 import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.model.PostPage;
 import uol.compass.microservicea.services.PostService;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
 import uol.compass.microservicea.web.dto.PostCreateDTO;
 import uol.compass.microservicea.web.dto.PostResponseDTO;
+import uol.compass.microservicea.web.dto.PostSummaryDTO;
 import uol.compass.microservicea.web.dto.PostUpdateDTO;
 import uol.compass.microservicea.web.dto.mapper.PostMapper;
 import uol.compass.microservicea.web.exception.ErrorMessage;
@@ -26,12 +33,17 @@ import java.util.List;
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/api/posts")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PostController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final PostService postService;
 
     @Operation(
             summary = "List all posts",
-            description = "Endpoint to retrieve all posts from the database consuming Micro Service B.",
+            description = "Endpoint to retrieve all posts from the database consuming Micro Service B, one page at " +
+                    "a time ordered by ID. Without `limit` a page holds 20 posts; the cursor of the next page is " +
+                    "sent in the `X-Next-Cursor` header.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -41,6 +53,11 @@ public class PostController {
                                     array = @ArraySchema(schema = @Schema(implementation = PostResponseDTO.class))
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request - Invalid limit",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal Server Error",
@@ -49,10 +66,62 @@ public class PostController {
             }
     )
     @GetMapping
-    public ResponseEntity<List<PostResponseDTO>> getPosts() {
-        List<Post> posts = postService.getPosts();
-        List<PostResponseDTO> postsDto = PostMapper.fromListPostToListDto(posts);
-        return ResponseEntity.ok().body(postsDto);
+    public ResponseEntity<List<PostResponseDTO>> getPosts(
+            @Parameter(description = "Cursor of the page, as returned in the `X-Next-Cursor` header of the previous page.")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of posts in the page (1 to 100, default 20).")
+            @RequestParam(required = false) Integer limit
+    ) {
+        PostPage<Post> page = postService.getPostsPage(after, limit);
+        List<PostResponseDTO> postsDto = PostMapper.fromListPostToListDto(page.getPosts());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PostPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(postsDto);
+    }
+
+    @Operation(
+            summary = "List post summaries",
+            description = "Endpoint selected with `view=summary`. Returns only the ID, title, a body excerpt and the " +
+                    "number of comments of each post, consuming Micro Service B. Supports the same `after` and " +
+                    "`limit` pagination as the full listing.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Post summaries successfully retrieved.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = PostSummaryDTO.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request - Invalid limit",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            }
+    )
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<PostSummaryDTO>> getPostSummaries(
+            @Parameter(description = "Cursor of the page, as returned in the `X-Next-Cursor` header of the previous page.")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of posts in the page (1 to 100, default 20).")
+            @RequestParam(required = false) Integer limit
+    ) {
+        PostPage<PostSummaryDTO> page = postService.getPostSummaries(after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PostPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getPosts());
     }
 
     @Operation(
@@ -80,10 +149,10 @@ public class PostController {
     public ResponseEntity<PostResponseDTO> getPostById(
             @PathVariable String id
     ) {
-        Post post = postService.getPostById(id);
-        PostResponseDTO postDto = PostResponseDTO.toDto(post);
+        ETagged<Post> post = postService.getPostById(id);
+        PostResponseDTO postDto = PostResponseDTO.toDto(post.getBody());
 
-        return ResponseEntity.ok().body(postDto);
+        return ResponseEntity.ok().eTag(post.getETag()).body(postDto);
     }
 
     @Operation(
@@ -127,6 +196,41 @@ public class PostController {
         return ResponseEntity.created(location).body(newPostDto);
     }
 
+    @Operation(
+            summary = "Create posts in bulk",
+            description = "Endpoint to create up to 1000 posts in a single request consuming Micro Service B. Each item " +
+                    "is validated on its own: valid posts are inserted and invalid ones are reported by their index " +
+                    "in the request, without failing the whole batch.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Posts to be created.",
+                    required = true,
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = PostCreateDTO.class)))
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Batch processed. The IDs of the created posts and the failed items are reported.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkResultDTO.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request - Empty batch or more than 1000 items",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            }
+    )
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDTO> createPosts(
+            @RequestBody List<PostCreateDTO> posts
+    ) {
+        return ResponseEntity.ok().body(postService.createPosts(posts));
+    }
+
     @Operation(summary = "Delete a post by its ID",
             description = "Deletes a post from the system based on the provided ID consuming Micro Service B. If the post is not found, an exception is thrown.",
             responses = {
@@ -170,6 +274,16 @@ public class PostController {
                             description = "Not found - Post not found",
                             content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Conflict - The post was changed by another request at the same time",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Precondition Failed - The If-Match header does not match the current version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
                     @ApiResponse(
                             responseCode = "422",
                             description = "Unprocessable Entity - Invalid Arguments",
@@ -184,11 +298,62 @@ public class PostController {
     @PutMapping("/{id}")
     public ResponseEntity<PostResponseDTO> updatePost(
             @PathVariable String id,
-            @RequestBody PostUpdateDTO postUpdateDTO
+            @RequestBody PostUpdateDTO postUpdateDTO,
+            @Parameter(description = "ETag of the post the update is based on. The update is rejected with 412 if the post changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Post updatedPost = postService.updatePost(id, postUpdateDTO);
-        PostResponseDTO updatedPostDto = PostResponseDTO.toDto(updatedPost);
-        return ResponseEntity.ok().body(updatedPostDto);
+        ETagged<Post> updatedPost = postService.updatePost(id, postUpdateDTO, ifMatch);
+        PostResponseDTO updatedPostDto = PostResponseDTO.toDto(updatedPost.getBody());
+        return ResponseEntity.ok().eTag(updatedPost.getETag()).body(updatedPostDto);
+
+    }
 
+    @Operation(summary = "Patch a post by ID", description = "Resource to apply a JSON Merge Patch to an existing post consuming Micro Service B. Only the fields sent are changed.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Fields of the post to be changed.",
+                    required = true,
+                    content = @Content(mediaType = MERGE_PATCH_JSON, schema = @Schema(implementation = PostUpdateDTO.class))
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Post updated successfully",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostResponseDTO.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not found - Post not found",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Conflict - The post was changed by another request at the same time",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Precondition Failed - The If-Match header does not match the current version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity - Invalid Arguments",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<PostResponseDTO> patchPost(
+            @PathVariable String id,
+            @RequestBody PostUpdateDTO patch,
+            @Parameter(description = "ETag of the post the patch is based on. The patch is rejected with 412 if the post changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ETagged<Post> patchedPost = postService.patchPost(id, patch, ifMatch);
+        return ResponseEntity.ok().eTag(patchedPost.getETag()).body(PostResponseDTO.toDto(patchedPost.getBody()));
     }
 }
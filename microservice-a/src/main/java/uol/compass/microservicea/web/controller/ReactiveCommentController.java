@@ -0,0 +1,100 @@
+package uol.compass.microservicea.web.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import uol.compass.microservicea.services.ReactiveCommentService;
+import uol.compass.microservicea.web.dto.*;
+import uol.compass.microservicea.web.dto.mapper.CommentMapper;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * {@link CommentController} for the reactive gateway mode.
+ */
+@Tag(name = "Comment", description = "Endpoints for managing posts consuming Micro Service B.")
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/posts")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCommentController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final ReactiveCommentService service;
+
+    @PostMapping("/{postId}/comments")
+    public Mono<ResponseEntity<CommentResponseDTO>> createComment(
+            @PathVariable String postId,
+            @RequestBody CommentCreateDTO comment,
+            UriComponentsBuilder uriBuilder
+    ) {
+        return service.createCommentInPost(postId, comment).map(createdComment -> {
+            URI location = uriBuilder.path("/api/posts/{postId}/comments/{id}")
+                    .buildAndExpand(postId, createdComment.getId())
+                    .toUri();
+            return ResponseEntity.created(location).body(CommentResponseDTO.toDto(createdComment));
+        });
+    }
+
+    @PostMapping("/{postId}/comments/bulk")
+    public Mono<ResponseEntity<BulkResultDTO>> createComments(
+            @PathVariable String postId,
+            @RequestBody List<CommentCreateDTO> comments
+    ) {
+        return service.createCommentsInPost(postId, comments).map(result -> ResponseEntity.ok().body(result));
+    }
+
+    @GetMapping("/{postId}/comments")
+    public Mono<ResponseEntity<List<CommentResponseDTO>>> getPosts(@PathVariable String postId) {
+        return service.getCommentsByPostId(postId).collectList()
+                .map(comments -> ResponseEntity.ok().body(CommentMapper.fromListCommentToListDto(comments)));
+    }
+
+    @PutMapping("/{postId}/comments/{commentId}")
+    public Mono<ResponseEntity<CommentResponseDTO>> updateComment(
+            @PathVariable String postId,
+            @PathVariable String commentId,
+            @RequestBody CommentUpdateDTO comment,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return service.updateCommentInPost(postId, commentId, comment, ifMatch)
+                .map(updatedComment -> ResponseEntity.ok().eTag(updatedComment.getETag())
+                        .body(CommentResponseDTO.toDto(updatedComment.getBody())));
+    }
+
+    @PatchMapping(value = "/{postId}/comments/{commentId}", consumes = MERGE_PATCH_JSON)
+    public Mono<ResponseEntity<CommentResponseDTO>> patchComment(
+            @PathVariable String postId,
+            @PathVariable String commentId,
+            @RequestBody CommentUpdateDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return service.patchCommentInPost(postId, commentId, patch, ifMatch)
+                .map(patchedComment -> ResponseEntity.ok().eTag(patchedComment.getETag())
+                        .body(CommentResponseDTO.toDto(patchedComment.getBody())));
+    }
+
+    @GetMapping("/{postId}/comments/{commentId}")
+    public Mono<ResponseEntity<CommentResponseDTO>> getCommentById(
+            @PathVariable String postId,
+            @PathVariable String commentId
+    ) {
+        return service.getCommentById(postId, commentId)
+                .map(comment -> ResponseEntity.ok().eTag(comment.getETag()).body(CommentResponseDTO.toDto(comment.getBody())));
+    }
+
+    @DeleteMapping("/{postId}/comments/{commentId}")
+    public Mono<ResponseEntity<Void>> deleteComment(
+            @PathVariable String postId,
+            @PathVariable String commentId
+    ) {
+        return service.deleteCommentInPost(postId, commentId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,110 @@
+package uol.compass.microservicea.web.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import uol.compass.microservicea.model.PostPage;
+import uol.compass.microservicea.services.ReactivePostService;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
+import uol.compass.microservicea.web.dto.PostCreateDTO;
+import uol.compass.microservicea.web.dto.PostResponseDTO;
+import uol.compass.microservicea.web.dto.PostSummaryDTO;
+import uol.compass.microservicea.web.dto.PostUpdateDTO;
+import uol.compass.microservicea.web.dto.mapper.PostMapper;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * {@link PostController} for the reactive gateway mode ({@code spring.main.web-application-type=reactive}):
+ * the same paths, status codes and bodies, without holding a thread while Micro Service B answers.
+ */
+@Tag(name = "Posts", description = "Endpoints for managing posts consuming Micro Service B.")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/api/posts")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePostController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final ReactivePostService postService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<PostResponseDTO>>> getPosts(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return postService.getPostsPage(after, limit)
+                .map(page -> pageResponse(page).body(PostMapper.fromListPostToListDto(page.getPosts())));
+    }
+
+    @GetMapping(params = "view=summary")
+    public Mono<ResponseEntity<List<PostSummaryDTO>>> getPostSummaries(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return postService.getPostSummaries(after, limit).map(page -> pageResponse(page).body(page.getPosts()));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PostResponseDTO>> getPostById(@PathVariable String id) {
+        return postService.getPostById(id)
+                .map(post -> ResponseEntity.ok().eTag(post.getETag()).body(PostResponseDTO.toDto(post.getBody())));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PostResponseDTO>> createPost(
+            @RequestBody PostCreateDTO postCreateDTO,
+            UriComponentsBuilder uriBuilder
+    ) {
+        return postService.createPost(postCreateDTO).map(newPost -> {
+            URI location = uriBuilder.path("/api/posts/{id}").buildAndExpand(newPost.getId()).toUri();
+            return ResponseEntity.created(location).body(PostResponseDTO.toDto(newPost));
+        });
+    }
+
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<BulkResultDTO>> createPosts(@RequestBody List<PostCreateDTO> posts) {
+        return postService.createPosts(posts).map(result -> ResponseEntity.ok().body(result));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletePost(@PathVariable String id) {
+        return postService.deletePost(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<PostResponseDTO>> updatePost(
+            @PathVariable String id,
+            @RequestBody PostUpdateDTO postUpdateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return postService.updatePost(id, postUpdateDTO, ifMatch)
+                .map(updatedPost -> ResponseEntity.ok().eTag(updatedPost.getETag())
+                        .body(PostResponseDTO.toDto(updatedPost.getBody())));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public Mono<ResponseEntity<PostResponseDTO>> patchPost(
+            @PathVariable String id,
+            @RequestBody PostUpdateDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return postService.patchPost(id, patch, ifMatch)
+                .map(patchedPost -> ResponseEntity.ok().eTag(patchedPost.getETag())
+                        .body(PostResponseDTO.toDto(patchedPost.getBody())));
+    }
+
+    private static ResponseEntity.BodyBuilder pageResponse(PostPage<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PostPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response;
+    }
+}
@@ -1,5 +1,6 @@
 package uol.compass.microservicea.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -8,6 +9,7 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CommentUpdateDTO {
     private String name;
     private String body;
@@ -0,0 +1,16 @@
+package uol.compass.microservicea.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class PostSummaryDTO {
+    private String id;
+    private String title;
+    private String excerpt;
+    private int commentCount;
+}
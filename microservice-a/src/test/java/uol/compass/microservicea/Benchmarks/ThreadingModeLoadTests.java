@@ -0,0 +1,179 @@
+package uol.compass.microservicea.Benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import uol.compass.microservicea.MicroserviceAApplication;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test of the gateway on platform threads and on virtual threads ({@code spring.threads.virtual.enabled}).
+ * Micro Service B is replaced by a local stand-in that answers every {@code GET /api/posts/{id}} after
+ * {@code -Dbenchmark.backendDelayMillis} (50 ms by default), so the numbers measure how many calls the gateway
+ * keeps waiting on B at once. Each level of {@code -Dbenchmark.connections} (1k and 10k by default) keeps that
+ * many connections open, each with one request in flight, and prints throughput and latency percentiles.
+ * Run with {@code mvn test -Pbenchmark}. 10k connections need a file descriptor limit of at least 45k
+ * ({@code ulimit -n}).
+ */
+@Tag("benchmark")
+public class ThreadingModeLoadTests {
+    private static final int[] CONNECTIONS = Arrays.stream(System.getProperty("benchmark.connections", "1000,10000")
+            .split(",")).mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+    private static final int REQUESTS_PER_CONNECTION = Integer.getInteger("benchmark.requestsPerConnection", 20);
+    private static final long BACKEND_DELAY_MILLIS = Long.getLong("benchmark.backendDelayMillis", 50);
+    private static final int MAX_CONNECTIONS = Arrays.stream(CONNECTIONS).max().orElse(0) + 1_000;
+
+    private static HttpServer microserviceB;
+    private static ExecutorService microserviceBThreads;
+    private static ConfigurableApplicationContext platform;
+    private static ConfigurableApplicationContext virtual;
+
+    @BeforeAll
+    static void startBothModes() throws IOException {
+        microserviceBThreads = Executors.newVirtualThreadPerTaskExecutor();
+        microserviceB = HttpServer.create(new InetSocketAddress("localhost", 0), MAX_CONNECTIONS);
+        microserviceB.setExecutor(microserviceBThreads);
+        microserviceB.createContext("/api/posts", ThreadingModeLoadTests::serve);
+        microserviceB.start();
+
+        platform = start(false);
+        virtual = start(true);
+    }
+
+    @AfterAll
+    static void stop() {
+        platform.close();
+        virtual.close();
+        microserviceB.stop(0);
+        microserviceBThreads.shutdownNow();
+    }
+
+    @Test
+    public void getPostById_PlatformVersusVirtualThreads() {
+        for (int connections : CONNECTIONS) {
+            ConnectionProvider provider = ConnectionProvider.builder("load-test-" + connections)
+                    .maxConnections(connections).pendingAcquireMaxCount(-1).build();
+            try {
+                int requests = connections * REQUESTS_PER_CONNECTION;
+                // Warm-up runs open the connections and let both modes JIT-compile before they are measured.
+                load(platform, provider, connections, requests / 10);
+                Result platformResult = load(platform, provider, connections, requests);
+                load(virtual, provider, connections, requests / 10);
+                Result virtualResult = load(virtual, provider, connections, requests);
+
+                System.out.printf("%n%d requests over %d connections, Micro Service B answering in %d ms%n",
+                        requests, connections, BACKEND_DELAY_MILLIS);
+                platformResult.report("Platform threads (Tomcat pool)");
+                virtualResult.report("Virtual threads");
+            } finally {
+                provider.dispose();
+            }
+        }
+    }
+
+    // Both modes accept every benchmark connection and may open as many to B, so they differ only in the
+    // threads serving them.
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(MicroserviceAApplication.class)
+                .properties("spring.main.web-application-type=servlet", "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=" + MAX_CONNECTIONS,
+                        "server.tomcat.accept-count=" + MAX_CONNECTIONS,
+                        "spring.cloud.openfeign.httpclient.max-connections=" + MAX_CONNECTIONS,
+                        "spring.cloud.openfeign.httpclient.max-connections-per-route=" + MAX_CONNECTIONS,
+                        "socialmedia.gateway.posts-url=http://localhost:" + microserviceB.getAddress().getPort()
+                                + "/api/posts")
+                .run();
+    }
+
+    private static Result load(ConfigurableApplicationContext app, ConnectionProvider provider,
+            int connections, int requests) {
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/api/posts")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Long> latencies = Flux.range(0, requests)
+                .flatMap(i -> timed(client.get().uri("/{id}", i).retrieve().bodyToMono(byte[].class), errors),
+                        connections)
+                .collectList()
+                .block(Duration.ofMinutes(10));
+        long elapsed = System.nanoTime() - start;
+
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(samples);
+        return new Result(samples, elapsed, errors.get());
+    }
+
+    private static Mono<Long> timed(Mono<byte[]> request, AtomicInteger errors) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request
+                    .map(body -> System.nanoTime() - start)
+                    .onErrorResume(e -> {
+                        errors.incrementAndGet();
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    // The stand-in must not become the bottleneck, so it gets a thread per request.
+    private static void serve(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(BACKEND_DELAY_MILLIS);
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            byte[] body = ("{\"id\":\"" + id + "\",\"title\":\"Post " + id + "\",\"body\":\"Body\",\"comments\":[]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private record Result(long[] samples, long elapsedNanos, int errors) {
+        void report(String label) {
+            if (samples.length == 0) {
+                System.out.printf("%-34s every request failed (%d errors)%n", label, errors);
+                return;
+            }
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%-34s %9.0f req/s   p50 %8.2f ms   p99 %8.2f ms   max %8.2f ms   errors %d%n",
+                    label, samples.length / seconds, percentile(0.50), percentile(0.99),
+                    samples[samples.length - 1] / 1_000_000.0, errors);
+        }
+
+        private double percentile(double p) {
+            return samples[(int) Math.ceil(samples.length * p) - 1] / 1_000_000.0;
+        }
+    }
+}
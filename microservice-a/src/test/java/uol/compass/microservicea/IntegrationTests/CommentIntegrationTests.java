@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.validation.BindingResult;
@@ -679,7 +680,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         Comment commentData = PRE_SAVED_COMMENTS.get(commentId);
-        Mockito.when(commentClient.getCommentById(any(), any())).thenReturn(commentData);
+        Mockito.when(commentClient.getCommentById(any(), any())).thenReturn(ResponseEntity.ok(commentData));
 
         CommentResponseDTO responseBody = testClient
                 .get()
@@ -739,7 +740,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -765,7 +766,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -791,7 +792,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -817,7 +818,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -843,7 +844,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -869,7 +870,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -895,7 +896,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -921,7 +922,7 @@ public class CommentIntegrationTests {
         int postId = 1;
         int commentId = 1;
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -948,7 +949,7 @@ public class CommentIntegrationTests {
         int commentId = 1;
         String longString = "LongString".repeat(18 + 1); // LongString has 10 Chars; 10*19 = 190
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -975,7 +976,7 @@ public class CommentIntegrationTests {
         int commentId = 1;
         String longString = "LongString".repeat(108 + 1); // LongString has 10 Chars; 10*109 = 1090
         mockBindingResultWithErrors(bindingResult);
-        when(commentClient.updateCommentInPost(any(), any(), any())).thenThrow(
+        when(commentClient.updateCommentInPost(any(), any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -7,12 +7,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.validation.BindingResult;
 import uol.compass.microservicea.clients.PostClient;
 import uol.compass.microservicea.exceptions.EntityNotFoundException;
 import uol.compass.microservicea.exceptions.MethodArgumentNotValidException;
+import uol.compass.microservicea.exceptions.PreconditionFailedException;
 import uol.compass.microservicea.model.Post;
 import uol.compass.microservicea.web.dto.PostCreateDTO;
 import uol.compass.microservicea.web.dto.PostResponseDTO;
@@ -318,7 +320,7 @@ public class PostIntegrationTests {
 
     @Test
     public void getAllPosts_ReturnListOfPostResponseDTOWithStatus200(){
-        Mockito.when(postClient.getPosts()).thenReturn(PRE_SAVED_POSTS);
+        Mockito.when(postClient.getPostsPage(null, null)).thenReturn(ResponseEntity.ok(PRE_SAVED_POSTS));
 
         List<PostResponseDTO> responseBody = testClient
                 .get()
@@ -336,7 +338,7 @@ public class PostIntegrationTests {
     public void getPostById_WithValidId_ReturnPostResponseDTOWithStatus200(){
         int postId = 1;
         Post postData = PRE_SAVED_POSTS.get(postId);
-        Mockito.when(postClient.getPostById(any())).thenReturn(postData);
+        Mockito.when(postClient.getPostById(any())).thenReturn(ResponseEntity.ok(postData));
 
         PostResponseDTO responseBody = testClient
                 .get()
@@ -353,6 +355,19 @@ public class PostIntegrationTests {
         org.assertj.core.api.Assertions.assertThat(responseBody.getComments()).isEmpty();
     }
 
+    @Test
+    public void getPostById_WithETagFromMicroServiceB_ReturnTheETag(){
+        Post postData = PRE_SAVED_POSTS.get(1);
+        when(postClient.getPostById(any())).thenReturn(ResponseEntity.ok().eTag("\"2\"").body(postData));
+
+        testClient
+                .get()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"");
+    }
+
     @Test
     public void getPostById_WithInvalidId_ReturnErrorMessageWithStatus404(){
         when(postClient.getPostById(any())).thenThrow(
@@ -379,7 +394,7 @@ public class PostIntegrationTests {
         postData.setTitle(newTitle);
         postData.setBody(newBody);
 
-        Mockito.when(postClient.updatePost(any(), any())).thenReturn(postData);
+        Mockito.when(postClient.updatePost(any(), any(), any())).thenReturn(ResponseEntity.ok(postData));
 
         PostResponseDTO responseBody = testClient
                 .put()
@@ -398,9 +413,29 @@ public class PostIntegrationTests {
         org.assertj.core.api.Assertions.assertThat(responseBody.getComments()).isEmpty();
     }
 
+    @Test
+    public void updatePostById_WithStaleIfMatch_ReturnErrorMessageStatus412(){
+        when(postClient.updatePost(eq("1"), any(), eq("\"1\""))).thenThrow(
+                new PreconditionFailedException("Post 1 is at version 2, not the one in If-Match.")
+        );
+        ErrorMessage responseBody = testClient
+                .put()
+                .uri(BASE_URI + "/1")
+                .header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostUpdateDTO("A Normal Title", "A Normal Body"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getStatus()).isEqualTo(412);
+    }
+
     @Test
     public void updatePostById_WithInvalidIdAndValidData_ReturnErrorMessageStatus404(){
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new EntityNotFoundException("Not Found")
         );
         ErrorMessage responseBody = testClient
@@ -420,7 +455,7 @@ public class PostIntegrationTests {
     public void updatePostById_WithValidIdAndTitleNull_ReturnErrorMessageStatus422(){
         mockBindingResultWithErrors(bindingResult);
 
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -445,7 +480,7 @@ public class PostIntegrationTests {
     public void updatePostById_WithValidIdAndBodyNull_ReturnErrorMessageStatus422(){
         mockBindingResultWithErrors(bindingResult);
 
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -470,7 +505,7 @@ public class PostIntegrationTests {
     public void updatePostById_WithValidIdAndTitleBlank_ReturnErrorMessageStatus422(){
         mockBindingResultWithErrors(bindingResult);
 
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -495,7 +530,7 @@ public class PostIntegrationTests {
     public void updatePostById_WithValidIdAndBodyBlank_ReturnErrorMessageStatus422(){
         mockBindingResultWithErrors(bindingResult);
 
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -520,7 +555,7 @@ public class PostIntegrationTests {
     public void updatePostById_WithValidIdAndTitleWithLessThan3Chars_ReturnErrorMessageStatus422(){
         mockBindingResultWithErrors(bindingResult);
 
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -545,7 +580,7 @@ public class PostIntegrationTests {
     public void updatePostById_WithValidIdAndBodyWithLessThan3Chars_ReturnErrorMessageStatus422(){
         mockBindingResultWithErrors(bindingResult);
 
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -570,7 +605,7 @@ public class PostIntegrationTests {
     public void updatePostById_WithValidIdAndTitleWithMoreThan80Chars_ReturnErrorMessageStatus422(){
         mockBindingResultWithErrors(bindingResult);
 
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -597,7 +632,7 @@ public class PostIntegrationTests {
     public void updatePostById_WithValidIdAndBodyWithMoreThan1080Chars_ReturnErrorMessageStatus422(){
         mockBindingResultWithErrors(bindingResult);
 
-        when(postClient.updatePost(any(), any())).thenThrow(
+        when(postClient.updatePost(any(), any(), any())).thenThrow(
                 new MethodArgumentNotValidException(
                         "UNPROCESSABLE_ENTITY",
                         HttpStatus.UNPROCESSABLE_ENTITY,
@@ -0,0 +1,292 @@
+package uol.compass.microservicea.IntegrationTests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import uol.compass.microservicea.web.dto.PostCreateDTO;
+import uol.compass.microservicea.web.dto.PostResponseDTO;
+import uol.compass.microservicea.web.dto.PostUpdateDTO;
+import uol.compass.microservicea.web.exception.ErrorMessage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the reactive gateway mode against a local stand-in for Micro Service B.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "springdoc.api-docs.enabled=false"
+})
+public class ReactiveGatewayIntegrationTests {
+
+    private static final int SLOW_CALLS = 500;
+    private static final long SLOW_CALL_MILLIS = 1000;
+
+    private static final HttpServer MICROSERVICE_B;
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger PEAK_IN_FLIGHT = new AtomicInteger();
+
+    static {
+        try {
+            MICROSERVICE_B = HttpServer.create(new InetSocketAddress("localhost", 0), SLOW_CALLS * 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MICROSERVICE_B.setExecutor(Executors.newCachedThreadPool());
+        MICROSERVICE_B.createContext("/api/posts", ReactiveGatewayIntegrationTests::serve);
+        MICROSERVICE_B.start();
+    }
+
+    @Autowired
+    private WebTestClient testClient;
+
+    @LocalServerPort
+    private int port;
+
+    private final String BASE_URI = "api/posts";
+
+    @DynamicPropertySource
+    static void microserviceB(DynamicPropertyRegistry registry) {
+        registry.add("socialmedia.gateway.posts-url",
+                () -> "http://localhost:" + MICROSERVICE_B.getAddress().getPort() + "/api/posts");
+    }
+
+    @AfterAll
+    static void stopMicroserviceB() {
+        MICROSERVICE_B.stop(0);
+    }
+
+    @Test
+    public void getPostById_WithExistingId_ReturnPostResponseDTOWithStatus200() {
+        PostResponseDTO responseBody = testClient
+                .get()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"")
+                .expectBody(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getId()).isEqualTo("1");
+        assertThat(responseBody.getTitle()).isEqualTo("Title 1");
+        assertThat(responseBody.getComments()).hasSize(1);
+    }
+
+    @Test
+    public void getPostById_WithNonExistingId_ReturnErrorMessageWithStatus404() {
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri(BASE_URI + "/404")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(404);
+        assertThat(responseBody.getMessage()).isEqualTo("Post with ID 404 not found.");
+        assertThat(responseBody.getPath()).isEqualTo("/api/posts/404");
+    }
+
+    @Test
+    public void updatePost_WithCurrentIfMatch_ReturnPostResponseDTOWithNewETag() {
+        PostResponseDTO responseBody = testClient
+                .put()
+                .uri(BASE_URI + "/1")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostUpdateDTO("Title 2", "Body"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"")
+                .expectBody(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getTitle()).isEqualTo("Title 2");
+    }
+
+    @Test
+    public void updatePost_WithStaleIfMatch_ReturnErrorMessageWithStatus412() {
+        ErrorMessage responseBody = testClient
+                .put()
+                .uri(BASE_URI + "/1")
+                .header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostUpdateDTO("Title 2", "Body"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getMessage()).isEqualTo("Post 1 is at version 2, not the one in If-Match.");
+    }
+
+    @Test
+    public void getPosts_WithLimit_ReturnPageWithNextCursorHeader() {
+        testClient
+                .get()
+                .uri(BASE_URI + "?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "1")
+                .expectBodyList(PostResponseDTO.class).hasSize(1);
+    }
+
+    @Test
+    public void createPost_WithValidData_ReturnPostResponseDTOWithStatus201() {
+        PostResponseDTO responseBody = testClient
+                .post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostCreateDTO("Title 3", "Body 3"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value("Location", location -> assertThat(location).endsWith("/api/posts/3"))
+                .expectBody(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getId()).isEqualTo("3");
+    }
+
+    @Test
+    public void createPost_WithTitleNull_ReturnErrorMessageWithStatus422() {
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostCreateDTO(null, "Body 3"))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getErrors()).containsEntry("title", "Title cannot be blank.");
+    }
+
+    @Test
+    public void deletePost_WithExistingId_ReturnStatus204() {
+        testClient
+                .delete()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    public void getPostById_WithManyConcurrentSlowCalls_KeepsThemAllInFlight() {
+        ConnectionProvider connections = ConnectionProvider.builder("gateway-test")
+                .maxConnections(SLOW_CALLS)
+                .pendingAcquireTimeout(Duration.ofSeconds(30))
+                .build();
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port + "/api/posts")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        PEAK_IN_FLIGHT.set(0);
+
+        try {
+            List<ResponseEntity<PostResponseDTO>> responses = Flux.range(0, SLOW_CALLS)
+                    .flatMap(i -> client.get().uri("/slow").retrieve().toEntity(PostResponseDTO.class), SLOW_CALLS)
+                    .collectList()
+                    .block(Duration.ofSeconds(60));
+
+            assertThat(responses).hasSize(SLOW_CALLS);
+            assertThat(responses).allMatch(response -> response.getStatusCode().is2xxSuccessful());
+            // A thread per call would stop at the size of the server's thread pool (200 for Tomcat).
+            assertThat(PEAK_IN_FLIGHT.get()).isGreaterThan(200);
+        } finally {
+            connections.dispose();
+        }
+    }
+
+    private static void serve(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getQuery();
+
+            if (method.equals("GET") && path.equals("/api/posts/slow")) {
+                int inFlight = IN_FLIGHT.incrementAndGet();
+                PEAK_IN_FLIGHT.accumulateAndGet(inFlight, Math::max);
+                try {
+                    Thread.sleep(SLOW_CALL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    IN_FLIGHT.decrementAndGet();
+                }
+                respond(exchange, 200, post("slow", "Slow", "[]"));
+            } else if (method.equals("GET") && path.equals("/api/posts/1")) {
+                exchange.getResponseHeaders().add("ETag", "\"2\"");
+                respond(exchange, 200, post("1", "Title 1",
+                        "[{\"id\":\"10\",\"email\":\"a@email.com\",\"name\":\"A\",\"body\":\"Comment 10\"}]"));
+            } else if (method.equals("GET") && path.equals("/api/posts") && "limit=1".equals(query)) {
+                exchange.getResponseHeaders().add("X-Next-Cursor", "1");
+                respond(exchange, 200, "[" + post("1", "Title 1", "[]") + "]");
+            } else if (method.equals("POST") && path.equals("/api/posts")) {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                if (body.contains("\"title\":null")) {
+                    respond(exchange, 422, "{\"path\":\"/api/posts\",\"method\":\"POST\",\"status\":422," +
+                            "\"message\":\"Invalid Fields\",\"errors\":{\"title\":\"Title cannot be blank.\"}}");
+                } else {
+                    respond(exchange, 201, post("3", "Title 3", "[]"));
+                }
+            } else if (method.equals("PUT") && path.equals("/api/posts/1")) {
+                if ("\"2\"".equals(exchange.getRequestHeaders().getFirst("If-Match"))) {
+                    exchange.getResponseHeaders().add("ETag", "\"3\"");
+                    respond(exchange, 200, post("1", "Title 2", "[]"));
+                } else {
+                    respond(exchange, 412, "{\"path\":\"/api/posts/1\",\"method\":\"PUT\",\"status\":412," +
+                            "\"message\":\"Post 1 is at version 2, not the one in If-Match.\"}");
+                }
+            } else if (method.equals("DELETE") && path.equals("/api/posts/1")) {
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                respond(exchange, 404, "{\"path\":\"" + path + "\",\"method\":\"" + method + "\",\"status\":404," +
+                        "\"message\":\"Post with ID " + path.substring(path.lastIndexOf('/') + 1) + " not found.\"}");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String post(String id, String title, String comments) {
+        return "{\"id\":\"" + id + "\",\"title\":\"" + title + "\",\"body\":\"Body\",\"comments\":" + comments + "}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uol.compass.microservicea.exceptions.EntityNotFoundException;
 import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.model.ETagged;
 import uol.compass.microservicea.model.Post;
 import uol.compass.microservicea.services.CommentService;
 import uol.compass.microservicea.web.controller.CommentController;
@@ -26,6 +27,7 @@ import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -104,6 +106,16 @@ public class CommentControllerTests {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void commentService_shouldGetCommentByIdWithItsETag() throws Exception {
+        when(commentService.getCommentById(POST_ID, COMMENT_ID)).thenReturn(new ETagged<>(mockComment, "\"1\""));
+
+        mockMvc.perform(get("/api/posts/{postId}/comments/{commentId}", POST_ID, COMMENT_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.id").value(COMMENT_ID));
+    }
+
     @Test
     void commentService_shouldReturnNotFoundWhenCommentDoesNotExist() throws Exception {
         when(commentService.getCommentById(POST_ID, COMMENT_ID)).thenThrow(new EntityNotFoundException("Comment not found"));
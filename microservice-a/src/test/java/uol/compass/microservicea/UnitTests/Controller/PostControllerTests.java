@@ -11,10 +11,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uol.compass.microservicea.exceptions.EntityNotFoundException;
+import uol.compass.microservicea.exceptions.PreconditionFailedException;
+import uol.compass.microservicea.model.ETagged;
 import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.model.PostPage;
 import uol.compass.microservicea.services.PostService;
 import uol.compass.microservicea.web.controller.PostController;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
 import uol.compass.microservicea.web.dto.PostCreateDTO;
+import uol.compass.microservicea.web.dto.PostSummaryDTO;
 import uol.compass.microservicea.web.dto.PostUpdateDTO;
 import uol.compass.microservicea.web.exception.ApiExceptionHandler;
 
@@ -22,8 +27,10 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -58,28 +65,55 @@ public class PostControllerTests {
 
     @Test
     void postService_shouldGetAllPosts() throws Exception {
-        when(postService.getPosts()).thenReturn(List.of(mockPost));
+        when(postService.getPostsPage(null, null)).thenReturn(new PostPage<>(List.of(mockPost), POST_ID));
 
         mockMvc.perform(get("/api/posts"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PostPage.NEXT_CURSOR_HEADER, POST_ID))
                 .andExpect(jsonPath("$[0].id").value(POST_ID));
     }
 
     @Test
     void postService_shouldReturnEmptyListWhenNoPostsExist() throws Exception {
-        when(postService.getPosts()).thenReturn(Collections.emptyList());
+        when(postService.getPostsPage(null, null)).thenReturn(new PostPage<>(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/posts"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void postService_shouldGetPageOfPostsWithNextCursor() throws Exception {
+        when(postService.getPostsPage(null, 1)).thenReturn(new PostPage<>(List.of(mockPost), POST_ID));
+
+        mockMvc.perform(get("/api/posts").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PostPage.NEXT_CURSOR_HEADER, POST_ID))
+                .andExpect(jsonPath("$[0].id").value(POST_ID));
+    }
+
+    @Test
+    void postService_shouldGetPostSummaries() throws Exception {
+        PostSummaryDTO summary = new PostSummaryDTO(POST_ID, "Test Title", "Test Body", 3);
+        when(postService.getPostSummaries(null, null)).thenReturn(new PostPage<>(List.of(summary), null));
+
+        mockMvc.perform(get("/api/posts").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PostPage.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].id").value(POST_ID))
+                .andExpect(jsonPath("$[0].commentCount").value(3))
+                .andExpect(jsonPath("$[0].comments").doesNotExist());
+
+        verify(postService, never()).getPostsPage(any(), any());
+    }
+
     @Test
     void postService_shouldGetPostById() throws Exception {
-        when(postService.getPostById(POST_ID)).thenReturn(mockPost);
+        when(postService.getPostById(POST_ID)).thenReturn(new ETagged<>(mockPost, "\"1\""));
 
         mockMvc.perform(get("/api/posts/{id}", POST_ID))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
                 .andExpect(jsonPath("$.id").value(POST_ID));
     }
 
@@ -103,22 +137,50 @@ public class PostControllerTests {
                 .andExpect(jsonPath("$.id").value(POST_ID));
     }
 
+    @Test
+    void postService_shouldCreatePostsInBulk() throws Exception {
+        List<PostCreateDTO> posts = List.of(new PostCreateDTO("Test Title", "Test Body"));
+        when(postService.createPosts(anyList())).thenReturn(new BulkResultDTO(1, List.of(POST_ID), Collections.emptyList()));
+
+        mockMvc.perform(post("/api/posts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(posts)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.ids[0]").value(POST_ID));
+    }
+
     @Test
     void postService_shouldUpdatePostSuccessfully() throws Exception {
         PostUpdateDTO updateDTO = new PostUpdateDTO("Updated Title", "Updated Body");
-        when(postService.updatePost(eq(POST_ID), any(PostUpdateDTO.class))).thenReturn(mockPost);
+        when(postService.updatePost(eq(POST_ID), any(PostUpdateDTO.class), eq("\"1\"")))
+                .thenReturn(new ETagged<>(mockPost, "\"2\""));
 
         mockMvc.perform(put("/api/posts/{id}", POST_ID)
+                        .header("If-Match", "\"1\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.id").value(POST_ID));
+    }
+
+    @Test
+    void postService_shouldPatchPostSuccessfully() throws Exception {
+        when(postService.patchPost(eq(POST_ID), any(PostUpdateDTO.class), isNull()))
+                .thenReturn(new ETagged<>(mockPost, "\"2\""));
+
+        mockMvc.perform(patch("/api/posts/{id}", POST_ID)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\": \"Updated Title\"}"))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(POST_ID));
     }
 
     @Test
     void postService_shouldReturnNotFoundWhenUpdatingNonExistentPost() throws Exception {
         PostUpdateDTO updateDTO = new PostUpdateDTO("Updated Title", "Updated Body");
-        when(postService.updatePost(eq(POST_ID), any(PostUpdateDTO.class)))
+        when(postService.updatePost(eq(POST_ID), any(PostUpdateDTO.class), isNull()))
                 .thenThrow(new EntityNotFoundException("Post not found"));
 
         mockMvc.perform(put("/api/posts/{id}", POST_ID)
@@ -127,6 +189,19 @@ public class PostControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void postService_shouldReturnPreconditionFailedWhenIfMatchIsStale() throws Exception {
+        PostUpdateDTO updateDTO = new PostUpdateDTO("Updated Title", "Updated Body");
+        when(postService.updatePost(eq(POST_ID), any(PostUpdateDTO.class), eq("\"1\"")))
+                .thenThrow(new PreconditionFailedException("Post 123 is at version 2, not the one in If-Match."));
+
+        mockMvc.perform(put("/api/posts/{id}", POST_ID)
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void postService_shouldDeletePostSuccessfully() throws Exception {
         doNothing().when(postService).deletePost(POST_ID);
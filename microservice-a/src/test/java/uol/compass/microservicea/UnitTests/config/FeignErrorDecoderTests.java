@@ -0,0 +1,41 @@
+package uol.compass.microservicea.UnitTests.config;
+
+import org.junit.jupiter.api.Test;
+import uol.compass.microservicea.config.FeignErrorDecoder;
+import uol.compass.microservicea.exceptions.MethodArgumentNotValidException;
+import uol.compass.microservicea.web.dto.CommentUpdateDTO;
+import uol.compass.microservicea.web.dto.PostUpdateDTO;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeignErrorDecoderTests {
+
+    private final FeignErrorDecoder decoder = new FeignErrorDecoder();
+
+    @Test
+    public void decode_PatchOfPostUnprocessable_BindsToPostUpdateDTO() {
+        MethodArgumentNotValidException exception = decodeUnprocessable("PATCH", "/api/posts/1");
+
+        assertInstanceOf(PostUpdateDTO.class, exception.getBindingResult().getTarget());
+        assertEquals("Title must not be blank", exception.getBindingResult().getFieldError("title").getDefaultMessage());
+    }
+
+    @Test
+    public void decode_PatchOfCommentUnprocessable_BindsToCommentUpdateDTO() {
+        MethodArgumentNotValidException exception = decodeUnprocessable("PATCH", "/api/posts/1/comments/2");
+
+        assertInstanceOf(CommentUpdateDTO.class, exception.getBindingResult().getTarget());
+    }
+
+    private MethodArgumentNotValidException decodeUnprocessable(String method, String path) {
+        String body = "{\"message\":\"Invalid fields\",\"method\":\"" + method + "\",\"path\":\"" + path + "\"," +
+                "\"errors\":{\"title\":\"Title must not be blank\"}}";
+
+        Exception exception = decoder.decode(422, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        return assertInstanceOf(MethodArgumentNotValidException.class, exception);
+    }
+}
@@ -3,14 +3,20 @@ import org.junit.jupiter.api.*;
 import org.mockito.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
 import uol.compass.microservicea.clients.CommentClient;
 import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.model.ETagged;
 import uol.compass.microservicea.model.Post;
 import uol.compass.microservicea.services.CommentService;
+import uol.compass.microservicea.services.GatewayCache;
+import uol.compass.microservicea.services.SingleFlight;
+import uol.compass.microservicea.web.dto.BulkResultDTO;
 import uol.compass.microservicea.web.dto.CommentCreateDTO;
 import uol.compass.microservicea.web.dto.CommentResponseDTO;
 import uol.compass.microservicea.web.dto.CommentUpdateDTO;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +29,12 @@ class CommentServiceTests {
     @Mock
     private CommentClient commentClient;
 
+    @Spy
+    private GatewayCache cache = new GatewayCache(false, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+    @Spy
+    private SingleFlight flights = new SingleFlight();
+
     @InjectMocks
     private CommentService commentService;
 
@@ -51,6 +63,17 @@ class CommentServiceTests {
         verify(commentClient, times(1)).createCommentInPost("1", createDTO);
     }
 
+    @Test
+    void should_Create_Comments_In_Post_In_Bulk() {
+        BulkResultDTO result = new BulkResultDTO(1, List.of(comment.getId()), List.of());
+        when(commentClient.createCommentsInPost("1", List.of(createDTO))).thenReturn(result);
+
+        BulkResultDTO bulkResult = commentService.createCommentsInPost("1", List.of(createDTO));
+
+        assertEquals(1, bulkResult.getInserted());
+        verify(commentClient, times(1)).createCommentsInPost("1", List.of(createDTO));
+    }
+
     @Test
     void should_Get_Comments_By_Post_Id() {
         when(commentClient.getCommentsByPostId("1")).thenReturn(List.of(comment));
@@ -65,12 +88,27 @@ class CommentServiceTests {
 
     @Test
     void should_Update_Comment_In_Post() {
-        when(commentClient.updateCommentInPost("1", "1", updateDTO)).thenReturn(comment);
+        when(commentClient.updateCommentInPost("1", "1", updateDTO, "\"1\""))
+                .thenReturn(ResponseEntity.ok().eTag("\"2\"").body(comment));
+
+        ETagged<Comment> updatedComment = commentService.updateCommentInPost("1", "1", updateDTO, "\"1\"");
+
+        assertSame(comment, updatedComment.getBody());
+        assertEquals("\"2\"", updatedComment.getETag());
+        verify(commentClient, times(1)).updateCommentInPost("1", "1", updateDTO, "\"1\"");
+        verify(cache, times(1)).evictComment("1", "1");
+    }
+
+    @Test
+    void should_Patch_Comment_In_Post() {
+        CommentUpdateDTO patch = new CommentUpdateDTO(null, "This is an updated comment.");
+        when(commentClient.patchCommentInPost("1", "1", patch, null)).thenReturn(ResponseEntity.ok(comment));
 
-        Comment updatedComment = commentService.updateCommentInPost("1", "1", updateDTO);
+        ETagged<Comment> patchedComment = commentService.patchCommentInPost("1", "1", patch, null);
 
-        assertNotNull(updatedComment);
-        verify(commentClient, times(1)).updateCommentInPost("1", "1", updateDTO);
+        assertSame(comment, patchedComment.getBody());
+        assertNull(patchedComment.getETag());
+        verify(commentClient, times(1)).patchCommentInPost("1", "1", patch, null);
     }
 
     @Test
@@ -79,6 +117,7 @@ class CommentServiceTests {
 
         assertDoesNotThrow(() -> commentService.deleteCommentInPost("1", "1"));
         verify(commentClient, times(1)).deleteCommentInPost("1", "1");
+        verify(cache, times(1)).evictComment("1", "1");
     }
 }
 
@@ -0,0 +1,136 @@
+package uol.compass.microservicea.UnitTests.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import uol.compass.microservicea.exceptions.EntityNotFoundException;
+import uol.compass.microservicea.model.Comment;
+import uol.compass.microservicea.model.ETagged;
+import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.model.PostPage;
+import uol.compass.microservicea.services.GatewayCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GatewayCacheTests {
+
+    private final GatewayCache cache = new GatewayCache(true, 100, Duration.ofMinutes(1), Duration.ofMinutes(1),
+            Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Test
+    public void getPost_CallsMicroServiceBOnlyOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, ETagged<Post>> loader = id -> {
+            calls.incrementAndGet();
+            return new ETagged<>(new Post(id, "Title", "Body"), "\"1\"");
+        };
+
+        ETagged<Post> first = cache.getPost("1", loader);
+        ETagged<Post> second = cache.getPost("1", loader);
+
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void getPost_WhenNotFound_CachesNothing() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, ETagged<Post>> loader = id -> {
+            calls.incrementAndGet();
+            throw new EntityNotFoundException("Post not found");
+        };
+
+        assertThrows(EntityNotFoundException.class, () -> cache.getPost("99", loader));
+        assertThrows(EntityNotFoundException.class, () -> cache.getPost("99", loader));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void evictComment_EvictsTheCommentAndEveryEntryEmbeddingIt() {
+        AtomicInteger calls = new AtomicInteger();
+        loadAll(calls);
+
+        cache.evictComment("1", "10");
+        loadAll(calls);
+
+        assertEquals(9, calls.get());
+    }
+
+    @Test
+    public void evictPostList_KeepsThePostsAndComments() {
+        AtomicInteger calls = new AtomicInteger();
+        loadAll(calls);
+
+        cache.evictPostList();
+        loadAll(calls);
+
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    public void evictPostAndComments_EvictsOnlyTheCommentsOfThePost() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.getComment("1", "10", () -> comment("10", calls));
+        cache.getComment("2", "20", () -> comment("20", calls));
+
+        cache.evictPostAndComments("1");
+        cache.getComment("1", "10", () -> comment("10", calls));
+        cache.getComment("2", "20", () -> comment("20", calls));
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void bindTo_PublishesTheHitRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.getPost("1", id -> post(id));
+        cache.getPost("1", id -> post(id));
+
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", "gateway-post").gauge().value());
+    }
+
+    @Test
+    public void getPost_WhenDisabled_AlwaysCallsMicroServiceB() {
+        GatewayCache disabled = new GatewayCache(false, 100, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                Duration.ofMinutes(1), Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        disabled.getPost("1", id -> post(String.valueOf(calls.incrementAndGet())));
+        disabled.getPost("1", id -> post(String.valueOf(calls.incrementAndGet())));
+
+        assertEquals(2, calls.get());
+    }
+
+    // Reads every route once: the first page of posts, post 1, its comments, and comments 10 and 11 of it.
+    private void loadAll(AtomicInteger calls) {
+        cache.getFirstPostPage(() -> {
+            calls.incrementAndGet();
+            return new PostPage<>(List.of(new Post("1", "Title", "Body")), null);
+        });
+        cache.getPost("1", id -> {
+            calls.incrementAndGet();
+            return post(id);
+        });
+        cache.getComments("1", id -> {
+            calls.incrementAndGet();
+            return List.of();
+        });
+        cache.getComment("1", "10", () -> comment("10", calls));
+        cache.getComment("1", "11", () -> comment("11", calls));
+    }
+
+    private static ETagged<Post> post(String id) {
+        return new ETagged<>(new Post(id, "Title", "Body"), "\"1\"");
+    }
+
+    private static ETagged<Comment> comment(String id, AtomicInteger calls) {
+        calls.incrementAndGet();
+        return new ETagged<>(new Comment(id, "email@test.com", "Name", "Body"), "\"1\"");
+    }
+}
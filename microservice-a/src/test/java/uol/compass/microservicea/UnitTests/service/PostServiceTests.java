@@ -5,24 +5,34 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 
 import uol.compass.microservicea.clients.PostClient;
 import uol.compass.microservicea.exceptions.EntityNotFoundException;
+import uol.compass.microservicea.model.ETagged;
 import uol.compass.microservicea.model.Post;
+import uol.compass.microservicea.model.PostPage;
+import uol.compass.microservicea.services.GatewayCache;
+import uol.compass.microservicea.services.SingleFlight;
 import uol.compass.microservicea.services.PostService;
 import uol.compass.microservicea.web.dto.PostCreateDTO;
 import uol.compass.microservicea.web.dto.PostUpdateDTO;
@@ -36,6 +46,12 @@ public class PostServiceTests {
     @Mock
     private PostClient postClient;
 
+    @Spy
+    private GatewayCache cache = new GatewayCache(false, 0, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+    @Spy
+    private SingleFlight flights = new SingleFlight();
+
     private Post mockPost;
 
     @BeforeEach
@@ -75,12 +91,13 @@ public class PostServiceTests {
 
     @Test
     public void postService_ShouldGetPostById_ReturnSuccess() {
-        when(postClient.getPostById("1")).thenReturn(mockPost);
+        when(postClient.getPostById("1")).thenReturn(ResponseEntity.ok().eTag("\"1\"").body(mockPost));
 
-        Post post = postService.getPostById("1");
+        ETagged<Post> post = postService.getPostById("1");
 
         assertNotNull(post);
-        assertEquals("Test Title", post.getTitle());
+        assertEquals("Test Title", post.getBody().getTitle());
+        assertEquals("\"1\"", post.getETag());
         verify(postClient, times(1)).getPostById("1");
     }
 
@@ -97,61 +114,93 @@ public class PostServiceTests {
         verify(postClient, times(1)).getPostById("1");
     }
 
+    @Test
+    public void postService_ShouldGetPostsPage_ReturnNextCursorFromHeader() {
+        ResponseEntity<List<Post>> response = ResponseEntity.ok()
+                .header(PostPage.NEXT_CURSOR_HEADER, "1")
+                .body(List.of(mockPost));
+        when(postClient.getPostsPage("0", 1)).thenReturn(response);
+
+        PostPage<Post> page = postService.getPostsPage("0", 1);
+
+        assertEquals(1, page.getPosts().size());
+        assertEquals("1", page.getNextCursor());
+        verify(postClient, times(1)).getPostsPage("0", 1);
+    }
+
+    @Test
+    public void postService_ShouldGetFirstPostsPage_ThroughTheCache() {
+        ResponseEntity<List<Post>> response = ResponseEntity.ok()
+                .header(PostPage.NEXT_CURSOR_HEADER, "1")
+                .body(List.of(mockPost));
+        when(postClient.getPostsPage(null, null)).thenReturn(response);
+
+        PostPage<Post> page = postService.getPostsPage(null, null);
+
+        assertEquals("1", page.getNextCursor());
+        verify(cache, times(1)).getFirstPostPage(any());
+        verify(postClient, times(1)).getPostsPage(null, null);
+    }
+
     @Test
     public void postService_ShouldUpdatePost_ReturnSuccess() {
         PostUpdateDTO updateDTO = new PostUpdateDTO("Updated Title", "Updated Body");
-        when(postClient.updatePost(eq("1"), any(PostUpdateDTO.class))).thenReturn(mockPost);
+        when(postClient.updatePost(eq("1"), any(PostUpdateDTO.class), eq("\"1\"")))
+                .thenReturn(ResponseEntity.ok().eTag("\"2\"").body(mockPost));
 
-        Post updatedPost = postService.updatePost("1", updateDTO);
+        ETagged<Post> updatedPost = postService.updatePost("1", updateDTO, "\"1\"");
 
         assertNotNull(updatedPost);
-        assertEquals("Test Title", updatedPost.getTitle());
-        verify(postClient, times(1)).updatePost(eq("1"), any(PostUpdateDTO.class));
+        assertEquals("Test Title", updatedPost.getBody().getTitle());
+        assertEquals("\"2\"", updatedPost.getETag());
+        verify(postClient, times(1)).updatePost(eq("1"), any(PostUpdateDTO.class), eq("\"1\""));
+        verify(cache, times(1)).evictPost("1");
     }
 
     @Test
     public void postServiceUpdate_ShouldThrowEntityNotFoundException_WhenPostNotFound() {
         PostUpdateDTO updateDTO = new PostUpdateDTO("Updated Title", "Updated Body");
 
-        when(postClient.updatePost(eq("1"), any(PostUpdateDTO.class)))
+        when(postClient.updatePost(eq("1"), any(PostUpdateDTO.class), isNull()))
                 .thenThrow(new EntityNotFoundException("Post not found"));
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
-            postService.updatePost("1", updateDTO);
+            postService.updatePost("1", updateDTO, null);
         });
 
         assertEquals("Post not found", exception.getMessage());
-        verify(postClient, times(1)).updatePost(eq("1"), any(PostUpdateDTO.class));
+        verify(postClient, times(1)).updatePost(eq("1"), any(PostUpdateDTO.class), isNull());
+        verify(cache, times(1)).evictPost("1");
     }
 
     @Test
     public void postService_ShouldThrowHttpClientErrorException_WhenBadRequest() {
         PostUpdateDTO updateDTO = new PostUpdateDTO("", "");
 
-        when(postClient.updatePost(eq("1"), any(PostUpdateDTO.class)))
+        when(postClient.updatePost(eq("1"), any(PostUpdateDTO.class), isNull()))
                 .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
 
         HttpClientErrorException exception = assertThrows(HttpClientErrorException.class, () -> {
-            postService.updatePost("1", updateDTO);
+            postService.updatePost("1", updateDTO, null);
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
-        verify(postClient, times(1)).updatePost(eq("1"), any(PostUpdateDTO.class));
+        verify(postClient, times(1)).updatePost(eq("1"), any(PostUpdateDTO.class), isNull());
     }
 
     @Test
     public void postService_ShouldThrowHttpClientErrorException_WhenUnprocessableEntity() {
         PostUpdateDTO updateDTO = new PostUpdateDTO("Updated Title", null); // Corpo nulo pode ser inválido
 
-        when(postClient.updatePost(eq("1"), any(PostUpdateDTO.class)))
+        when(postClient.updatePost(eq("1"), any(PostUpdateDTO.class), isNull()))
                 .thenThrow(new HttpClientErrorException(HttpStatus.UNPROCESSABLE_ENTITY));
 
         HttpClientErrorException exception = assertThrows(HttpClientErrorException.class, () -> {
-            postService.updatePost("1", updateDTO);
+            postService.updatePost("1", updateDTO, null);
         });
 
         assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatusCode());
-        verify(postClient, times(1)).updatePost(eq("1"), any(PostUpdateDTO.class));
+        verify(postClient, times(1)).updatePost(eq("1"), any(PostUpdateDTO.class), isNull());
     }
 
     @Test
@@ -161,6 +210,7 @@ public class PostServiceTests {
         postService.deletePost("1");
 
         verify(postClient, times(1)).deletePost("1");
+        verify(cache, times(1)).evictPostAndComments("1");
     }
 
     @Test
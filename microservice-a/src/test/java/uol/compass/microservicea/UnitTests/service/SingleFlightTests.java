@@ -0,0 +1,126 @@
+package uol.compass.microservicea.UnitTests.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uol.compass.microservicea.exceptions.EntityNotFoundException;
+import uol.compass.microservicea.services.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTests {
+    private static final int CALLERS = 50;
+
+    private final SingleFlight flights = new SingleFlight();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        flights.bindTo(registry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void execute_ConcurrentCallsWithTheSameKey_ShareOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll("post:1", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "post 1";
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("post 1", result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0.0, registry.get("gateway.calls.in.flight").gauge().value());
+    }
+
+    @Test
+    public void execute_WhenTheCallFails_EveryWaiterGetsTheException() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll("post:99", () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw new EntityNotFoundException("Post not found");
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(EntityNotFoundException.class, exception.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void execute_AfterTheCallReturns_CallsAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        flights.execute("post:1", calls::incrementAndGet);
+        flights.execute("post:1", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+        assertEquals(0.0, registry.get("gateway.calls.coalesced").functionCounter().count());
+    }
+
+    @Test
+    public void execute_DifferentKeys_AreNotCoalesced() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String outer = flights.execute("post:1", () -> flights.execute("post:2", () -> "post " + calls.incrementAndGet()));
+
+        assertEquals("post 1", outer);
+        assertEquals(1, calls.get());
+    }
+
+    private List<Future<String>> submitAll(String key, Supplier<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flights.execute(key, call)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get("gateway.calls.coalesced").functionCounter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the call in flight");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package uol.compass.microserviceb.clients;
 
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
-import uol.compass.microserviceb.web.dto.FetchedPostDTO;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
-
-@FeignClient(value = "post-client", url = "https://jsonplaceholder.typicode.com/")
+@FeignClient(value = "post-client", url = "${socialmedia.sync.upstream-url:https://jsonplaceholder.typicode.com/}")
 public interface PostClient {
 
-    @GetMapping("/posts")
-    List<FetchedPostDTO> getPosts();
+    /**
+     * Raw page of a resource ({@code posts}, {@code comments}, {@code users}), parsed by the caller as it streams in.
+     * When the validators of the last fetch of the page are sent, an unchanged page is answered with {@code 304}.
+     */
+    @GetMapping("/{resource}")
+    Response getPage(@PathVariable("resource") String resource,
+                     @RequestParam("_page") int page, @RequestParam("_limit") int limit,
+                     @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                     @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince);
 
 }
@@ -0,0 +1,117 @@
+package uol.compass.microserviceb.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.model.SyncJobRecord;
+import uol.compass.microserviceb.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on the entities ({@code @Indexed}, {@code @CompoundIndex}) and checks
+ * that all of them exist, logging or failing the startup when one is missing. The indexes of an embedded
+ * document with a collection of its own, such as the comments of a post, are only created in that collection.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class MongoIndexInitializer {
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(Post.class, Comment.class, User.class, SyncJobRecord.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${socialmedia.mongodb.indexes.create:true}")
+    private boolean createIndexes;
+
+    @Value("${socialmedia.mongodb.indexes.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void initIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<String> missing = new ArrayList<>();
+
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            List<IndexDefinition> expected = resolveIndexes(resolver, entity);
+
+            if (createIndexes) {
+                for (IndexDefinition index : expected) {
+                    try {
+                        indexOps.ensureIndex(index);
+                    } catch (Exception e) {
+                        log.warn("Could not create index {} on {}", index.getIndexKeys(), entity.getSimpleName(), e);
+                    }
+                }
+            }
+
+            Set<String> existing = indexOps.getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .collect(Collectors.toSet());
+            for (IndexDefinition index : expected) {
+                String name = indexName(index);
+                if (!existing.contains(name)) {
+                    missing.add(mongoTemplate.getCollectionName(entity) + "." + name);
+                }
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+        if (failOnMissing) {
+            throw new IllegalStateException("Missing MongoDB indexes: " + missing);
+        }
+        log.error("Missing MongoDB indexes: {} - queries on these fields will scan the whole collection", missing);
+    }
+
+    // The resolver follows embedded documents, so it would also index "comments.externalId" on posts.
+    private List<IndexDefinition> resolveIndexes(IndexResolver resolver, Class<?> entity) {
+        List<String> embeddedDocuments = new ArrayList<>();
+        for (MongoPersistentProperty property : mappingContext.getRequiredPersistentEntity(entity)) {
+            if (property.isEntity() && property.getActualType().isAnnotationPresent(Document.class)) {
+                embeddedDocuments.add(property.getFieldName() + ".");
+            }
+        }
+
+        List<IndexDefinition> indexes = new ArrayList<>();
+        for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+            boolean embedded = index.getIndexKeys().keySet().stream()
+                    .anyMatch(key -> embeddedDocuments.stream().anyMatch(key::startsWith));
+            if (!embedded) {
+                indexes.add(index);
+            }
+        }
+        return indexes;
+    }
+
+    // Unnamed indexes get the name MongoDB generates by default, e.g. "postId_1__id_1".
+    private static String indexName(IndexDefinition index) {
+        String name = index.getIndexOptions().getString("name");
+        if (name != null) {
+            return name;
+        }
+        return index.getIndexKeys().entrySet().stream()
+                .map(key -> key.getKey() + "_" + key.getValue())
+                .collect(Collectors.joining("_"));
+    }
+}
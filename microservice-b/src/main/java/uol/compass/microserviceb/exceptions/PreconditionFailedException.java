@@ -0,0 +1,7 @@
+package uol.compass.microserviceb.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,158 @@
+package uol.compass.microserviceb.migrations;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Field;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import uol.compass.microserviceb.model.Post;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Moves documents written with the old {@code @DBRef} layout to the embedded one:
+ * {@code comments.post} (a DBRef) becomes a plain {@code postId} and the DBRef array in
+ * {@code posts.comments} is replaced with copies of the referenced comments. Posts written before
+ * {@code commentCount} was kept get it counted, and only their latest {@link Post#EMBEDDED_COMMENTS} stay embedded.
+ * Only documents still in the old layout are touched, so it is safe to run on every startup.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "socialmedia.migrations.embed-comments.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbedCommentsMigration implements ApplicationRunner {
+    private static final String POSTS = "posts";
+    private static final String COMMENTS = "comments";
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    public void migrate() {
+        long comments = migrateCommentReferences();
+        long posts = embedPostComments() + countPostComments();
+        if (comments > 0 || posts > 0) {
+            log.info("Embedded comments migration - {} comments and {} posts migrated", comments, posts);
+        }
+    }
+
+    private long migrateCommentReferences() {
+        MongoCollection<Document> comments = mongoTemplate.getCollection(COMMENTS);
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        long migrated = 0;
+
+        try (MongoCursor<Document> cursor = comments.find(Filters.exists("post"))
+                .projection(Projections.include("post")).iterator()) {
+            while (cursor.hasNext()) {
+                Document comment = cursor.next();
+                Object postId = referencedId(comment.get("post"));
+                batch.add(new UpdateOneModel<>(
+                        Filters.eq("_id", comment.get("_id")),
+                        Updates.combine(
+                                Updates.set("postId", postId == null ? null : postId.toString()),
+                                Updates.unset("post")
+                        )
+                ));
+                migrated++;
+                if (batch.size() == BATCH_SIZE) {
+                    comments.bulkWrite(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            comments.bulkWrite(batch);
+        }
+        return migrated;
+    }
+
+    private long embedPostComments() {
+        MongoCollection<Document> posts = mongoTemplate.getCollection(POSTS);
+        MongoCollection<Document> comments = mongoTemplate.getCollection(COMMENTS);
+        long migrated = 0;
+
+        try (MongoCursor<Document> cursor = posts.find(Filters.exists("comments.$ref"))
+                .projection(Projections.include("comments")).iterator()) {
+            while (cursor.hasNext()) {
+                Document post = cursor.next();
+                Object postId = post.get("_id");
+                List<Object> elements = post.getList("comments", Object.class);
+
+                List<Object> referencedIds = elements.stream()
+                        .map(EmbedCommentsMigration::referencedId)
+                        .filter(Objects::nonNull)
+                        .toList();
+                Map<Object, Document> referenced = new HashMap<>();
+                comments.find(Filters.in("_id", referencedIds))
+                        .forEach(comment -> referenced.put(comment.get("_id"), comment));
+
+                List<Document> embedded = new ArrayList<>();
+                for (Object element : elements) {
+                    Object commentId = referencedId(element);
+                    if (commentId == null && element instanceof Document document) {
+                        embedded.add(document);
+                    } else if (referenced.containsKey(commentId)) {
+                        embedded.add(embeddedCopy(referenced.get(commentId), postId));
+                    }
+                }
+
+                posts.updateOne(Filters.eq("_id", postId), Updates.combine(
+                        Updates.set("comments", embedded.subList(Math.max(0, embedded.size() - Post.EMBEDDED_COMMENTS), embedded.size())),
+                        Updates.set("commentCount", embedded.size())
+                ));
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    // A single pipeline update: the count and the trimmed comments are both computed from the comments stored.
+    private long countPostComments() {
+        Document comments = new Document("$ifNull", List.of("$comments", List.of()));
+        return mongoTemplate.getCollection(POSTS).updateMany(Filters.exists("commentCount", false), List.of(Aggregates.set(
+                new Field<>("commentCount", new Document("$size", comments)),
+                new Field<>("comments", new Document("$slice", List.of(comments, -Post.EMBEDDED_COMMENTS))),
+                new Field<>("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0)), 1)))
+        ))).getModifiedCount();
+    }
+
+    private static Document embeddedCopy(Document comment, Object postId) {
+        return new Document("_id", comment.get("_id"))
+                .append("postId", postId.toString())
+                .append("email", comment.get("email"))
+                .append("name", comment.get("name"))
+                .append("body", comment.get("body"));
+    }
+
+    // Depending on the codec, a DBRef is decoded either as DBRef or as a {$ref, $id} document.
+    private static Object referencedId(Object reference) {
+        if (reference instanceof DBRef dbRef) {
+            return dbRef.getId();
+        }
+        if (reference instanceof Document document && document.containsKey("$ref")) {
+            return document.get("$id");
+        }
+        return null;
+    }
+}
@@ -3,27 +3,38 @@ package uol.compass.microserviceb.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter @Setter @RequiredArgsConstructor @NoArgsConstructor
 @Document(collection = "comments")
+@CompoundIndex(name = "post_comment_idx", def = "{'postId': 1, '_id': 1}", background = true)
 public class Comment {
     @Id
     private String id;
-    @DBRef
     @JsonIgnore
-    private Post post;
+    private String postId;
+    @JsonIgnore
+    @Version
+    private Long version;
     @NonNull
     private String email;
     @NonNull
     private String name;
     @NonNull
     private String body;
+    // Id of the comment in JSONPlaceholder and hash of its synced content; null for comments created through the API.
+    @JsonIgnore
+    @Indexed(unique = true, sparse = true)
+    private Long externalId;
+    @JsonIgnore
+    private String contentHash;
 
-    public Comment(String id, Post post, @NonNull String email, @NonNull String name, @NonNull String body) {
+    public Comment(String id, String postId, @NonNull String email, @NonNull String name, @NonNull String body) {
         this.id = id;
-        this.post = post;
+        this.postId = postId;
         this.email = email;
         this.name = name;
         this.body = body;
@@ -2,9 +2,11 @@ package uol.compass.microserviceb.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,14 +14,31 @@ import java.util.List;
 
 @Document(collection = "posts")
 public class Post {
+    // Keeps the post far below MongoDB's 16 MB document limit however many comments it gets.
+    public static final int EMBEDDED_COMMENTS = 100;
+
     @Id
     private String id;
+    @Version
+    private Long version;
+    // Id of the post in JSONPlaceholder, the key of the sync; null for posts created through the API.
+    @Indexed(unique = true, sparse = true)
+    private Long externalId;
+    private Long userId;
+    // Hash of the content last synced from JSONPlaceholder, so an unchanged post is not written again.
+    private String contentHash;
     @NonNull
     private String title;
     @NonNull
     private String body;
-    @DBRef(lazy = true)
+    // Comments are embedded so a post (or a page of posts) is read in a single query. Only the latest
+    // EMBEDDED_COMMENTS are: the "comments" collection keeps a copy of every comment, referenced by postId.
     private List<Comment> comments = new ArrayList<>();
+    // Every comment of the post, embedded or not; EmbedCommentsMigration counts it for posts written before.
+    private Integer commentCount = 0;
+    // Set when the post is deleted; the post and its comments are removed later by DeletedPostReaper.
+    @Indexed(sparse = true)
+    private Instant deletedAt;
 
     public Post(String id, @NonNull String title, @NonNull String body) {
         this.id = id;
@@ -0,0 +1,38 @@
+package uol.compass.microserviceb.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a sync job, written by the instance that runs it so the job can be polled on any instance.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Document(collection = "sync_jobs")
+public class SyncJobRecord {
+    @Id
+    private String id;
+    private String status;
+    private Instant startedAt;
+    // Finished jobs are removed by MongoDB a week after they finish.
+    @Indexed(expireAfter = "7d")
+    private Instant finishedAt;
+    private String error;
+    private SyncResultDTO posts;
+    private SyncResultDTO comments;
+    private SyncResultDTO users;
+
+    public static SyncJobRecord from(SyncJobDTO job) {
+        return new SyncJobRecord(job.getId(), job.getStatus(), job.getStartedAt(), job.getFinishedAt(), job.getError(),
+                job.getPosts(), job.getComments(), job.getUsers());
+    }
+
+    public SyncJobDTO toDto() {
+        return new SyncJobDTO(id, status, startedAt, finishedAt, error, posts, comments, users);
+    }
+}
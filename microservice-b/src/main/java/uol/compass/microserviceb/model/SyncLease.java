@@ -0,0 +1,23 @@
+package uol.compass.microserviceb.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Single document that decides which instance runs the sync. The owner holds it until it releases it
+ * or stops renewing it and it expires, after which any other instance can take it over.
+ */
+@Getter @Setter @NoArgsConstructor
+@Document(collection = "sync_leases")
+public class SyncLease {
+    @Id
+    private String id;
+    private String owner;
+    // Job run under the lease; cleared when the lease is released.
+    private String jobId;
+    private Instant expiresAt;
+    private Instant succeededAt;
+}
@@ -0,0 +1,23 @@
+package uol.compass.microserviceb.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Author of the synced posts, linked to them by {@link Post#getUserId()}.
+ */
+@Getter @Setter @NoArgsConstructor
+@Document(collection = "users")
+public class User {
+    @Id
+    private String id;
+    // Id of the user in JSONPlaceholder, the key of the sync.
+    @Indexed(unique = true)
+    private Long externalId;
+    private String name;
+    private String username;
+    private String email;
+    private String contentHash;
+}
@@ -5,9 +5,10 @@ import org.springframework.stereotype.Repository;
 import uol.compass.microserviceb.model.Comment;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends MongoRepository<Comment, String> {
     List<Comment> findByPostId(String postId);
-    void deleteByPostId(String postId);
+    Optional<Comment> findByIdAndPostId(String id, String postId);
 }
@@ -1,9 +1,19 @@
 package uol.compass.microserviceb.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import uol.compass.microserviceb.model.Post;
 
+import java.util.List;
+import java.util.Optional;
+
+// Posts with deletedAt set are tombstones waiting for the reaper and are hidden from every read.
 @Repository
 public interface PostRepository extends MongoRepository<Post, String> {
-}
\ No newline at end of file
+    List<Post> findByDeletedAtIsNull();
+    List<Post> findByDeletedAtIsNull(Pageable pageable);
+    List<Post> findByIdGreaterThanAndDeletedAtIsNull(String id, Pageable pageable);
+    Optional<Post> findByIdAndDeletedAtIsNull(String id);
+    boolean existsByIdAndDeletedAtIsNull(String id);
+}
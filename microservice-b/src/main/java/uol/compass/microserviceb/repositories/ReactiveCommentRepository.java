@@ -0,0 +1,12 @@
+package uol.compass.microserviceb.repositories;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import uol.compass.microserviceb.model.Comment;
+
+// Reactive counterpart of CommentRepository, used when the app runs on WebFlux.
+@Repository
+public interface ReactiveCommentRepository extends ReactiveMongoRepository<Comment, String> {
+    Mono<Comment> findByIdAndPostId(String id, String postId);
+}
@@ -0,0 +1,17 @@
+package uol.compass.microserviceb.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uol.compass.microserviceb.model.Post;
+
+// Reactive counterpart of PostRepository, used when the app runs on WebFlux.
+@Repository
+public interface ReactivePostRepository extends ReactiveMongoRepository<Post, String> {
+    Flux<Post> findByDeletedAtIsNull();
+    Flux<Post> findByDeletedAtIsNull(Pageable pageable);
+    Flux<Post> findByIdGreaterThanAndDeletedAtIsNull(String id, Pageable pageable);
+    Mono<Boolean> existsByIdAndDeletedAtIsNull(String id);
+}
@@ -0,0 +1,104 @@
+package uol.compass.microserviceb.services;
+
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import uol.compass.microserviceb.web.dto.BulkItemErrorDTO;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Validates each item on its own and inserts the valid ones with a single unordered bulk write,
+ * so one bad item never aborts the rest. Ids are assigned up front to report them per item.
+ */
+final class BulkInsert<E> {
+    static final int MAX_ITEMS = 1000;
+
+    private final List<E> inserted;
+    private final BulkResultDTO result;
+
+    private BulkInsert(List<E> inserted, BulkResultDTO result) {
+        this.inserted = inserted;
+        this.result = result;
+    }
+
+    List<E> inserted() {
+        return inserted;
+    }
+
+    BulkResultDTO result() {
+        return result;
+    }
+
+    /**
+     * @param toEntity builds the entity of a valid item with the given id
+     */
+    static <D, E> BulkInsert<E> run(MongoTemplate mongoTemplate, Validator validator, Class<E> entityClass,
+                                    List<D> items, BiFunction<D, String, E> toEntity) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("At most " + MAX_ITEMS + " items can be created per request");
+        }
+
+        String[] ids = new String[items.size()];
+        List<BulkItemErrorDTO> errors = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<E> entities = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            D item = items.get(i);
+            if (item == null) {
+                errors.add(new BulkItemErrorDTO(i, "Item must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<D>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                errors.add(new BulkItemErrorDTO(i, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "))));
+                continue;
+            }
+            ids[i] = new ObjectId().toHexString();
+            entities.add(toEntity.apply(item, ids[i]));
+            positions.add(i);
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        if (!entities.isEmpty()) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass).insert(entities).execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    int position = positions.get(error.getIndex());
+                    failed.add(error.getIndex());
+                    ids[position] = null;
+                    errors.add(new BulkItemErrorDTO(position, error.getMessage()));
+                }
+            }
+        }
+
+        List<E> inserted = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            if (!failed.contains(i)) {
+                inserted.add(entities.get(i));
+            }
+        }
+        errors.sort(Comparator.comparingInt(BulkItemErrorDTO::getIndex));
+        return new BulkInsert<>(inserted, new BulkResultDTO(inserted.size(), Arrays.asList(ids), errors));
+    }
+}
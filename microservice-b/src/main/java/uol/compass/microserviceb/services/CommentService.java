@@ -1,75 +1,345 @@
 package uol.compass.microserviceb.services;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.exceptions.PreconditionFailedException;
 import uol.compass.microserviceb.model.Comment;
 import uol.compass.microserviceb.model.Post;
 import uol.compass.microserviceb.repositories.CommentRepository;
-import uol.compass.microserviceb.repositories.PostRepository;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
+import uol.compass.microserviceb.web.dto.CommentCreateDTO;
+import uol.compass.microserviceb.web.dto.CommentPatchDTO;
+import uol.compass.microserviceb.web.dto.CommentResponseDTO;
+import uol.compass.microserviceb.web.dto.FetchedCommentDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class CommentService {
     private final CommentRepository commentRepository;
-    private final PostRepository postRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final PostCache cache;
 
-    @Transactional
     public Comment save(Comment comment) {
+        Comment savedComment;
         try {
-            return commentRepository.save(comment);
+            savedComment = commentRepository.save(comment);
         } catch (Exception e) {
             throw new RuntimeException("Unexpected error occurred while saving the comment.", e);
         }
+        if (savedComment != null) {
+            cache.evictComment(savedComment.getId());
+        }
+        return savedComment;
     }
 
-    @Transactional(readOnly = true)
-    public void deleteById(String postId, String id) {
+    /**
+     * Saves the comment and appends it to the post with a single {@code $push}, so concurrent
+     * comments on the same post never overwrite each other. Appending commutes with other writes, so it
+     * bumps the post version without checking it. The post only keeps the latest {@link Post#EMBEDDED_COMMENTS}.
+     */
+    public Comment addToPost(String postId, Comment comment) {
+        comment.setPostId(postId);
+        Comment savedComment = save(comment);
+
+        // Whatever keeps the comment from reaching the post, it is removed again so it is not left orphaned.
         try {
-            if (!commentRepository.existsById(id)) {
-                throw new EntityNotFoundException("Comment with ID " + id + " not found.");
+            UpdateResult result = mongoTemplate.updateFirst(
+                    livePostQuery(postId),
+                    pushComments(savedComment),
+                    Post.class
+            );
+            if (result.getMatchedCount() == 0) {
+                throw new EntityNotFoundException("Post with ID " + postId + " not found.");
             }
+        } catch (RuntimeException e) {
+            commentRepository.deleteById(savedComment.getId());
+            cache.evictComment(savedComment.getId());
+            throw e;
+        }
+        cache.evictPost(postId);
+        return savedComment;
+    }
 
-            Post post = postRepository.findById(postId).orElseThrow(
-                    () -> new EntityNotFoundException("Post with ID " + postId + " not found.")
-            );
+    /**
+     * Inserts many comments with a single unordered bulk write and appends the ones that were
+     * inserted to the post with one {@code $push $each}. Failed items are reported in the result.
+     */
+    public BulkResultDTO addAllToPost(String postId, List<CommentCreateDTO> comments) {
+        Query postQuery = livePostQuery(postId);
+        if (!mongoTemplate.exists(postQuery, Post.class)) {
+            throw new EntityNotFoundException("Post with ID " + postId + " not found.");
+        }
+
+        BulkInsert<Comment> bulk = BulkInsert.run(mongoTemplate, validator, Comment.class, comments, (dto, id) -> {
+            Comment comment = dto.toComment();
+            comment.setId(id);
+            comment.setPostId(postId);
+            return comment;
+        });
+
+        if (!bulk.inserted().isEmpty()) {
+            mongoTemplate.updateFirst(postQuery, pushComments(bulk.inserted().toArray()), Post.class);
+            cache.evictPost(postId);
+        }
+        return bulk.result();
+    }
+
+    /**
+     * Upserts comments read from JSONPlaceholder keyed by their upstream id and links them to the posts synced
+     * from the same upstream. Changed comments are written with one unordered bulk write and, once that write went
+     * through, their embedded copies are updated in, or new comments appended to, their post with one more.
+     * Comments of posts that were not synced are skipped.
+     */
+    public SyncResultDTO syncBatch(List<FetchedCommentDTO> batch) {
+        Map<Long, FetchedCommentDTO> fetched = SyncUpsert.byExternalId(batch);
+        Set<Long> postExternalIds = fetched.values().stream().map(FetchedCommentDTO::getPostId).collect(Collectors.toSet());
+        Map<Long, Document> posts = SyncUpsert.findStored(mongoTemplate, Post.class,
+                Criteria.where(SyncUpsert.EXTERNAL_ID).in(postExternalIds).and("deletedAt").is(null));
+        Map<Long, Document> stored = SyncUpsert.findStored(mongoTemplate, Comment.class,
+                Criteria.where(SyncUpsert.EXTERNAL_ID).in(fetched.keySet()));
+
+        BulkOperations commentOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class);
+        // In the order of commentOps, so a failed upsert is matched to its comment by index.
+        List<Comment> changed = new ArrayList<>();
+        Set<String> newCommentIds = new HashSet<>();
+        int skipped = 0;
+        for (FetchedCommentDTO fetchedComment : fetched.values()) {
+            Document post = posts.get(fetchedComment.getPostId());
+            Document storedComment = stored.get(fetchedComment.getId());
+            String hash = fetchedComment.contentHash();
+            if (post == null) {
+                skipped++;
+                continue;
+            }
+            if (SyncUpsert.isUnchanged(storedComment, hash)) {
+                continue;
+            }
+
+            String postId = post.get("_id").toString();
+            ObjectId id = storedComment == null ? new ObjectId() : new ObjectId(storedComment.get("_id").toString());
+            Comment comment = fetchedComment.toComment();
+            comment.setId(id.toHexString());
+            comment.setPostId(postId);
+            comment.setExternalId(fetchedComment.getId());
+            comment.setContentHash(hash);
 
-            post.getComments().removeIf(comment -> comment.getId().equals(id));
+            commentOps.upsert(Query.query(Criteria.where(SyncUpsert.EXTERNAL_ID).is(fetchedComment.getId())), new Update()
+                    .set("postId", postId)
+                    .set("email", comment.getEmail())
+                    .set("name", comment.getName())
+                    .set("body", comment.getBody())
+                    .set(SyncUpsert.CONTENT_HASH, hash)
+                    .setOnInsert("_id", id)
+                    .inc(VersionCriteria.FIELD, 1));
+            changed.add(comment);
+            if (storedComment == null) {
+                newCommentIds.add(comment.getId());
+            }
+        }
 
-            postRepository.save(post);
+        SyncResultDTO result = new SyncResultDTO();
+        result.setFetched(fetched.size());
+        result.setSkipped(skipped);
+        if (!changed.isEmpty()) {
+            Set<Integer> failed = new HashSet<>();
+            BulkWriteResult written = SyncUpsert.execute(commentOps, failed);
+            result.setInserted(written.getUpserts().size());
+            result.setUpdated(written.getMatchedCount());
 
-            commentRepository.deleteById(id);
-        } catch (EntityNotFoundException e) {
-            throw new EntityNotFoundException(e.getMessage());
+            // Only comments whose upsert went through reach their post. A new comment is embedded at the version
+            // its upsert created; a stored one has the changed fields set and its version bumped, like the
+            // comment itself, and is left alone once newer comments pushed it out of the post.
+            BulkOperations postOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+            Set<String> changedPostIds = new HashSet<>();
+            for (int i = 0; i < changed.size(); i++) {
+                Comment comment = changed.get(i);
+                if (failed.contains(i)) {
+                    continue;
+                }
+                if (newCommentIds.contains(comment.getId())) {
+                    comment.setVersion(1L);
+                    postOps.updateOne(livePostQuery(comment.getPostId()).addCriteria(
+                            Criteria.where("comments._id").ne(comment.getId())), pushComments(comment));
+                } else {
+                    postOps.updateOne(embeddedPatchQuery(comment.getPostId(), comment.getId()), embeddedPatchUpdate(
+                            new CommentPatchDTO(comment.getName(), comment.getBody())).set("comments.$.email", comment.getEmail()));
+                }
+                cache.evictComment(comment.getId());
+                changedPostIds.add(comment.getPostId());
+            }
+            if (!changedPostIds.isEmpty()) {
+                postOps.execute();
+            }
+            changedPostIds.forEach(cache::evictPost);
         }
+        result.setUnchanged(fetched.size() - skipped - result.getInserted() - result.getUpdated());
+        return result;
     }
 
-    @Transactional
-    public Comment update(Comment updatedComment) {
+    /**
+     * Comments of a deleted post are gone as soon as the post is, even before {@link DeletedPostReaper} removes them.
+     */
+    public void deleteById(String postId, String id) {
+        Query commentQuery = Query.query(Criteria.where("_id").is(id).and("postId").is(postId));
+        if (!mongoTemplate.exists(livePostQuery(postId), Post.class)
+                || mongoTemplate.remove(commentQuery, Comment.class).getDeletedCount() == 0) {
+            throw new EntityNotFoundException("Comment with ID " + id + " not found.");
+        }
+
+        mongoTemplate.updateFirst(
+                livePostQuery(postId),
+                pullComment(id),
+                Post.class
+        );
+        cache.evictComment(id);
+        cache.evictPost(postId);
+    }
+
+    /**
+     * Writes only the fields present in the patch with {@code $set}, both in the comment and in its
+     * copy embedded in the post. When {@code expectedVersions} are given, the write only happens if the
+     * comment is still at one of them. Comments of a deleted post are not found.
+     */
+    public Comment update(String postId, String id, CommentPatchDTO patch, List<Long> expectedVersions) {
+        Update update = patchUpdate(patch);
+        Query query = patchQuery(postId, id, expectedVersions);
+        boolean changed = !update.getUpdateObject().isEmpty();
+        if (!mongoTemplate.exists(livePostQuery(postId), Post.class)) {
+            throw notUpdated(postId, id, expectedVersions, false);
+        }
+
+        Comment comment;
         try {
-            if (!commentRepository.existsById(updatedComment.getId())) {
-                throw new EntityNotFoundException("Comment with ID " + updatedComment.getId() + " not found.");
-            }
-            return commentRepository.save(updatedComment);
-        } catch (EntityNotFoundException e) {
-            throw new EntityNotFoundException("Comment with ID " + updatedComment.getId() + " not found.");
+            comment = changed
+                    ? mongoTemplate.findAndModify(query, update.inc(VersionCriteria.FIELD, 1),
+                            FindAndModifyOptions.options().returnNew(true), Comment.class)
+                    : mongoTemplate.findOne(query, Comment.class);
         } catch (Exception e) {
             throw new RuntimeException("Unexpected error occurred while updating the comment.", e);
         }
+        if (comment == null) {
+            throw notUpdated(postId, id, expectedVersions,
+                    expectedVersions != null && commentRepository.findByIdAndPostId(id, postId).isPresent());
+        }
+
+        if (changed) {
+            mongoTemplate.updateFirst(embeddedPatchQuery(postId, id), embeddedPatchUpdate(patch), Post.class);
+            cache.evictComment(id);
+            cache.evictPost(postId);
+        }
+        return comment;
     }
 
-    @Transactional(readOnly = true)
     public Comment findById(String id) {
-        return commentRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("Comment with ID " + id + " not found.")
-        );
+        return cache.getComment(id, commentId -> commentRepository.findById(commentId).orElseThrow(
+                () -> new EntityNotFoundException("Comment with ID " + commentId + " not found.")
+        ));
+    }
+
+    /**
+     * Looks the comment up by {@code (postId, _id)} through post_comment_idx, without loading the post; only
+     * whether the post is deleted is checked. Cached comments are shared with {@link #findById} and checked
+     * against {@code postId}.
+     */
+    public Comment findByPostIdAndId(String postId, String id) {
+        Comment comment = cache.getComment(id, commentId -> mongoTemplate.exists(livePostQuery(postId), Post.class)
+                ? commentRepository.findByIdAndPostId(commentId, postId).orElse(null)
+                : null);
+        if (comment == null || !postId.equals(comment.getPostId())) {
+            throw new EntityNotFoundException("Comment with ID " + id + " not found in Post with ID " + postId + ".");
+        }
+        return comment;
+    }
+
+    /**
+     * {@link #findByPostIdAndId} already rendered to JSON, once per version of the comment.
+     */
+    public PostCache.Rendered findResponseJsonByPostIdAndId(String postId, String id) {
+        Comment comment = findByPostIdAndId(postId, id);
+        return cache.renderComment(comment, () -> CommentResponseDTO.toDto(comment));
+    }
+
+    // The helpers below are shared with ReactiveCommentService, so both serving modes write the same way.
+
+    // Appends to the embedded comments, keeping only the latest Post.EMBEDDED_COMMENTS, and counts every comment.
+    static Update pushComments(Object... comments) {
+        return new Update().push("comments").slice(-Post.EMBEDDED_COMMENTS).each(comments)
+                .inc("commentCount", comments.length)
+                .inc(VersionCriteria.FIELD, 1);
+    }
+
+    static Update pullComment(String id) {
+        return new Update().pull("comments", Query.query(Criteria.where("_id").is(id)))
+                .inc("commentCount", -1)
+                .inc(VersionCriteria.FIELD, 1);
+    }
+
+    static Update patchUpdate(CommentPatchDTO patch) {
+        Update update = new Update();
+        if (patch.getName() != null) {
+            update.set("name", patch.getName());
+        }
+        if (patch.getBody() != null) {
+            update.set("body", patch.getBody());
+        }
+        return update;
+    }
+
+    static Query patchQuery(String postId, String id, List<Long> expectedVersions) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("postId").is(postId));
+        if (expectedVersions != null) {
+            query.addCriteria(VersionCriteria.in(expectedVersions));
+        }
+        return query;
     }
 
-    @Transactional(readOnly = true)
-    public List<Comment> findByPostId(String postId) {
-        return commentRepository.findByPostId(postId);
+    // The copy embedded in the post, matched by the positional "comments.$"; bumps both versions.
+    static Update embeddedPatchUpdate(CommentPatchDTO patch) {
+        Update update = new Update();
+        if (patch.getName() != null) {
+            update.set("comments.$.name", patch.getName());
+        }
+        if (patch.getBody() != null) {
+            update.set("comments.$.body", patch.getBody());
+        }
+        return update.inc("comments.$." + VersionCriteria.FIELD, 1).inc(VersionCriteria.FIELD, 1);
+    }
+
+    static Query embeddedPatchQuery(String postId, String id) {
+        return livePostQuery(postId).addCriteria(Criteria.where("comments._id").is(id));
+    }
+
+    // The post, unless it is deleted.
+    static Query livePostQuery(String postId) {
+        return Query.query(Criteria.where("_id").is(postId).and("deletedAt").is(null));
+    }
+
+    // No comment matched the patch query: 412 when it is still there at another version, 404 otherwise.
+    static RuntimeException notUpdated(String postId, String id, List<Long> expectedVersions, boolean stillThere) {
+        if (expectedVersions != null && stillThere) {
+            return new PreconditionFailedException("Comment with ID " + id + " is no longer at version " + expectedVersions + ".");
+        }
+        return new EntityNotFoundException("Comment with ID " + id + " not found in Post with ID " + postId + ".");
     }
 }
@@ -0,0 +1,69 @@
+package uol.compass.microserviceb.services;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removes posts tombstoned by {@link PostService#deletePostById} together with their comments.
+ * Comments are deleted in batches of {@code socialmedia.reaper.batch-size}, so a post with a huge
+ * thread never turns into one long-running delete. The post goes last, so an interrupted run is
+ * picked up again on the next one.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "socialmedia.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class DeletedPostReaper {
+    private static final String POSTS = "posts";
+    private static final String COMMENTS = "comments";
+    private static final int POSTS_PER_RUN = 100;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${socialmedia.reaper.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${socialmedia.reaper.interval:PT10S}")
+    public void reap() {
+        MongoCollection<Document> posts = mongoTemplate.getCollection(POSTS);
+        List<Object> deletedPostIds = posts.find(Filters.exists("deletedAt"))
+                .projection(Projections.include("_id"))
+                .limit(POSTS_PER_RUN)
+                .map(post -> post.get("_id"))
+                .into(new ArrayList<>());
+
+        for (Object postId : deletedPostIds) {
+            long comments = reapComments(postId.toString());
+            posts.deleteOne(Filters.eq("_id", postId));
+            log.info("Reaped deleted post {} and {} comments", postId, comments);
+        }
+    }
+
+    private long reapComments(String postId) {
+        MongoCollection<Document> comments = mongoTemplate.getCollection(COMMENTS);
+        long removed = 0;
+        while (true) {
+            List<Object> ids = comments.find(Filters.eq("postId", postId))
+                    .projection(Projections.include("_id"))
+                    .limit(batchSize)
+                    .map(comment -> comment.get("_id"))
+                    .into(new ArrayList<>());
+            if (ids.isEmpty()) {
+                return removed;
+            }
+            removed += comments.deleteMany(Filters.in("_id", ids)).getDeletedCount();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package uol.compass.microserviceb.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import uol.compass.microserviceb.web.dto.FetchedRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the resources from local dumps in JSONPlaceholder format ({@code posts.json}, {@code comments.json},
+ * {@code users.json} in {@code socialmedia.sync.dir}), for environments without access to the upstream.
+ * Each file is memory-mapped and parsed one record at a time, so only the current batch is ever on the heap.
+ * A resource without a dump file is skipped.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "socialmedia.sync.source", havingValue = "file")
+public class DumpFileSyncSource implements SyncSource {
+    private final ObjectMapper objectMapper;
+
+    @Value("${socialmedia.sync.dir}")
+    private Path dir;
+
+    @Value("${socialmedia.sync.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public <T extends FetchedRecord> void read(SyncResource<T> resource, Consumer<List<T>> batchConsumer) {
+        Path file = dir.resolve(resource.getName() + ".json");
+        if (!Files.exists(file)) {
+            log.info("No dump file {}, skipping {}", file, resource);
+            return;
+        }
+        try (InputStream in = new MappedFileInputStream(file)) {
+            JsonArrayReader.read(objectMapper, in, resource.getType(), batchSize, batchConsumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading sync file " + file, e);
+        }
+    }
+}
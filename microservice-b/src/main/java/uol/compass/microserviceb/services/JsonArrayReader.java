@@ -0,0 +1,48 @@
+package uol.compass.microserviceb.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a JSON array of objects one element at a time with Jackson's streaming parser, handing the
+ * elements over in batches, so only the current batch is ever on the heap.
+ */
+final class JsonArrayReader {
+
+    private JsonArrayReader() {
+    }
+
+    /**
+     * @return the number of elements read
+     */
+    static <T> int read(ObjectMapper objectMapper, InputStream in, Class<T> type, int batchSize,
+                        Consumer<List<T>> batchConsumer) throws IOException {
+        int count = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Expected a JSON array of " + type.getSimpleName());
+            }
+
+            List<T> batch = new ArrayList<>(batchSize);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batch.add(objectMapper.readValue(parser, type));
+                count++;
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(batch);
+            }
+        }
+        return count;
+    }
+}
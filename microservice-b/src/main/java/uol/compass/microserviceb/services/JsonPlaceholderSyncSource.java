@@ -0,0 +1,107 @@
+package uol.compass.microserviceb.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import uol.compass.microserviceb.clients.PostClient;
+import uol.compass.microserviceb.web.dto.FetchedRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Reads a resource from JSONPlaceholder one page at a time with {@code _page}/{@code _limit}, each page
+ * being one batch, and stops at the first page shorter than the batch size. Pages are parsed straight
+ * from the response stream.
+ * <p>
+ * The {@code ETag} and {@code Last-Modified} of every page are remembered and sent back on the next sync,
+ * so a page that did not change is answered with {@code 304} and neither parsed nor written. They are only
+ * remembered once the sync that read the page succeeded, so a page whose batch failed to be written is
+ * fetched in full again.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "socialmedia.sync.source", havingValue = "upstream", matchIfMissing = true)
+public class JsonPlaceholderSyncSource implements SyncSource {
+    private static final int NOT_MODIFIED = 304;
+
+    private final PostClient postClient;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, PageValidators> validators = new ConcurrentHashMap<>();
+    private final Map<String, PageValidators> pendingValidators = new ConcurrentHashMap<>();
+
+    @Value("${socialmedia.sync.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public <T extends FetchedRecord> void read(SyncResource<T> resource, Consumer<List<T>> batchConsumer) {
+        int pageNumber = 1;
+        int read;
+        do {
+            String pageKey = resource + "?_page=" + pageNumber + "&_limit=" + batchSize;
+            PageValidators known = validators.get(pageKey);
+            try (Response page = postClient.getPage(resource.getName(), pageNumber++, batchSize,
+                    known == null ? null : known.etag, known == null ? null : known.lastModified)) {
+                if (page.status() == NOT_MODIFIED && known != null) {
+                    log.debug("{} not modified upstream", pageKey);
+                    read = known.count;
+                    continue;
+                }
+                if (page.status() != 200 || page.body() == null) {
+                    throw new IllegalStateException("JSONPlaceholder answered " + page.status() + " for " + resource);
+                }
+                try (InputStream in = page.body().asInputStream()) {
+                    read = JsonArrayReader.read(objectMapper, in, resource.getType(), batchSize, batchConsumer);
+                }
+                PageValidators received = new PageValidators(header(page, "ETag"), header(page, "Last-Modified"), read);
+                if (received.etag != null || received.lastModified != null) {
+                    pendingValidators.put(pageKey, received);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading " + resource + " from JSONPlaceholder", e);
+            }
+        } while (read == batchSize);
+    }
+
+    @Override
+    public void syncFinished(boolean succeeded) {
+        if (succeeded) {
+            validators.putAll(pendingValidators);
+        }
+        pendingValidators.clear();
+    }
+
+    private static String header(Response response, String name) {
+        return response.headers().entrySet().stream()
+                .filter(header -> header.getKey().equalsIgnoreCase(name))
+                .map(Map.Entry::getValue)
+                .flatMap(Collection::stream)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static final class PageValidators {
+        private final String etag;
+        private final String lastModified;
+        // Records in the page, to know whether a next page exists without reading this one again.
+        private final int count;
+
+        private PageValidators(String etag, String lastModified, int count) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.count = count;
+        }
+    }
+}
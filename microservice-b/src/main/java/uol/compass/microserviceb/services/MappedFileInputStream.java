@@ -0,0 +1,63 @@
+package uol.compass.microserviceb.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through read-only memory mappings of {@code REGION_SIZE} bytes, mapped one after the
+ * other, so files larger than a single mapping (2 GB) can be read and the OS pages them in on demand.
+ */
+final class MappedFileInputStream extends InputStream {
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private long regionStart;
+    private MappedByteBuffer region;
+
+    MappedFileInputStream(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextRegionIfNeeded() ? region.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextRegionIfNeeded()) {
+            return -1;
+        }
+        int read = Math.min(length, region.remaining());
+        region.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+
+    private boolean nextRegionIfNeeded() throws IOException {
+        if (region != null && region.hasRemaining()) {
+            return true;
+        }
+        long next = region == null ? 0 : regionStart + region.capacity();
+        if (next >= size) {
+            return false;
+        }
+        regionStart = next;
+        region = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(REGION_SIZE, size - next));
+        return true;
+    }
+}
@@ -0,0 +1,212 @@
+package uol.compass.microserviceb.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.web.dto.CommentResponseDTO;
+import uol.compass.microserviceb.web.dto.PostResponseDTO;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of posts (with their embedded comments) and comments, in front of MongoDB. Both caches are
+ * bounded by {@code socialmedia.cache.maximum-size} and evict with W-TinyLFU, so a burst of one-off reads does not
+ * push out the hot posts. {@link PostService} and {@link CommentService} evict the entries a write touches right
+ * after it; writes made by other instances are only seen once {@code socialmedia.cache.expire-after-write} passes.
+ * <p>
+ * A third cache keeps the JSON the read endpoints send, rendered once per entity version, so a hit is written to
+ * the response as it is instead of being serialized again. It is bounded by
+ * {@code socialmedia.cache.rendered.maximum-bytes}.
+ * <p>
+ * The ids of the cached comments are also kept by post, so a deleted post evicts its comments without scanning
+ * the whole comment cache.
+ * <p>
+ * Hits, misses and evictions are published as the {@code cache.*} metrics, tagged
+ * {@code cache=posts|comments|rendered}. Cached values are shared between requests and must not be modified.
+ */
+@Component
+public class PostCache implements MeterBinder {
+    private static final String POST = "post:";
+    private static final String POST_COMMENTS = "post-comments:";
+    private static final String COMMENT = "comment:";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, PostResponseDTO> posts;
+    private final Cache<String, Comment> comments;
+    private final Cache<String, Rendered> rendered;
+    // Comment ids by post id, only changed inside compute so each set is guarded by the map.
+    private final ConcurrentMap<String, Set<String>> commentIdsByPost = new ConcurrentHashMap<>();
+
+    /**
+     * JSON of a response body together with the version of the entity it was rendered from.
+     */
+    public record Rendered(Long version, byte[] json) {
+    }
+
+    public PostCache(@Value("${socialmedia.cache.enabled:false}") boolean enabled,
+                     @Value("${socialmedia.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${socialmedia.cache.rendered.maximum-bytes:67108864}") long maximumBytes,
+                     @Value("${socialmedia.cache.expire-after-write:PT1M}") Duration expireAfterWrite,
+                     ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.posts = enabled ? newCache(maximumSize, expireAfterWrite) : null;
+        this.comments = enabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(expireAfterWrite)
+                        .<String, Comment>evictionListener((id, comment, cause) -> unindex(id, comment))
+                        .recordStats()
+                        .build()
+                : null;
+        this.rendered = enabled
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maximumBytes)
+                        .<String, Rendered>weigher((key, value) -> value.json().length)
+                        .expireAfterWrite(expireAfterWrite)
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    private static <V> Cache<String, V> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param loader reads the post from the database; an exception it throws is passed on and nothing is cached
+     */
+    public PostResponseDTO getPost(String id, Function<String, PostResponseDTO> loader) {
+        return posts == null ? loader.apply(id) : posts.get(id, loader);
+    }
+
+    public Comment getComment(String id, Function<String, Comment> loader) {
+        return comments == null ? loader.apply(id) : comments.get(id, key -> index(key, loader.apply(key)));
+    }
+
+    private Comment index(String id, Comment comment) {
+        if (comment != null && comment.getPostId() != null) {
+            commentIdsByPost.compute(comment.getPostId(), (postId, ids) -> {
+                Set<String> updated = ids == null ? new HashSet<>() : ids;
+                updated.add(id);
+                return updated;
+            });
+        }
+        return comment;
+    }
+
+    private void unindex(String id, Comment comment) {
+        if (comment != null && comment.getPostId() != null) {
+            commentIdsByPost.computeIfPresent(comment.getPostId(), (postId, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public Rendered renderPost(PostResponseDTO post) {
+        return render(POST + post.getId(), post.getVersion(), () -> post);
+    }
+
+    /**
+     * Only comments embedded in the post are rendered once per version; when the post has more comments than it
+     * embeds, {@code allComments} reads them and they are rendered on every call.
+     */
+    public Rendered renderPostComments(PostResponseDTO post, Supplier<List<CommentResponseDTO>> allComments) {
+        if (!post.embedsAllComments()) {
+            return render(null, post.getVersion(), allComments::get);
+        }
+        return render(POST_COMMENTS + post.getId(), post.getVersion(),
+                () -> post.getComments() == null ? List.of() : post.getComments());
+    }
+
+    public Rendered renderComment(Comment comment, Supplier<Object> response) {
+        return render(COMMENT + comment.getId(), comment.getVersion(), response);
+    }
+
+    // Keyed by id and checked against the version, so JSON rendered from an older read is never served.
+    // Without a key the JSON is rendered but not cached.
+    private Rendered render(String key, Long version, Supplier<Object> response) {
+        Rendered cached = rendered == null || key == null ? null : rendered.getIfPresent(key);
+        if (cached != null && Objects.equals(cached.version(), version)) {
+            return cached;
+        }
+        Rendered fresh;
+        try {
+            fresh = new Rendered(version, objectMapper.writeValueAsBytes(response.get()));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error rendering response: " + e.getMessage(), e);
+        }
+        if (rendered != null && key != null) {
+            rendered.put(key, fresh);
+        }
+        return fresh;
+    }
+
+    public void evictPost(String id) {
+        if (posts != null && id != null) {
+            posts.invalidate(id);
+            rendered.invalidate(POST + id);
+            rendered.invalidate(POST_COMMENTS + id);
+        }
+    }
+
+    /**
+     * Evicts a deleted post together with every cached comment of it.
+     */
+    public void evictPostAndComments(String id) {
+        evictPost(id);
+        if (comments != null && id != null) {
+            Set<String> ids = commentIdsByPost.remove(id);
+            if (ids != null) {
+                ids.forEach(commentId -> {
+                    comments.invalidate(commentId);
+                    rendered.invalidate(COMMENT + commentId);
+                });
+            }
+        }
+    }
+
+    public void evictComment(String id) {
+        if (comments != null && id != null) {
+            unindex(id, comments.asMap().remove(id));
+            rendered.invalidate(COMMENT + id);
+        }
+    }
+
+    public void evictAll() {
+        if (posts != null) {
+            posts.invalidateAll();
+            comments.invalidateAll();
+            commentIdsByPost.clear();
+            rendered.invalidateAll();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (posts != null) {
+            CaffeineCacheMetrics.monitor(registry, posts, "posts");
+            CaffeineCacheMetrics.monitor(registry, comments, "comments");
+            CaffeineCacheMetrics.monitor(registry, rendered, "rendered");
+        }
+    }
+}
@@ -1,59 +1,152 @@
 package uol.compass.microserviceb.services;
 
+import com.mongodb.client.result.UpdateResult;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import uol.compass.microserviceb.clients.PostClient;
 import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.exceptions.PreconditionFailedException;
+import uol.compass.microserviceb.model.Comment;
 import uol.compass.microserviceb.model.Post;
-import uol.compass.microserviceb.repositories.CommentRepository;
+import uol.compass.microserviceb.model.PostPage;
 import uol.compass.microserviceb.repositories.PostRepository;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
+import uol.compass.microserviceb.web.dto.CommentResponseDTO;
 import uol.compass.microserviceb.web.dto.FetchedPostDTO;
+import uol.compass.microserviceb.web.dto.PostCreateDTO;
+import uol.compass.microserviceb.web.dto.PostPatchDTO;
+import uol.compass.microserviceb.web.dto.PostResponseDTO;
+import uol.compass.microserviceb.web.dto.PostSummaryDTO;
 import uol.compass.microserviceb.web.dto.PostUpdateDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 @Service
 public class PostService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int EXCERPT_LENGTH = 120;
+    static final int EXPORT_BATCH_SIZE = 500;
+    static final String[] RESPONSE_FIELDS = {"title", "body", "comments", "version", "commentCount"};
+
     private final PostRepository repository;
-    private final CommentRepository commentRepository;
 
-    private final PostClient postClient;
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final PostCache cache;
 
-    @Transactional
-    public List<Post> syncData() {
-        try {
-            List<Post> posts = postClient.getPosts().stream().map(FetchedPostDTO::toPost).toList();
-            return repository.saveAll(posts);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * Upserts posts read from JSONPlaceholder keyed by their upstream id; see {@link SyncUpsert}.
+     */
+    public SyncResultDTO syncBatch(List<FetchedPostDTO> batch) {
+        return SyncUpsert.run(mongoTemplate, Post.class, batch, post -> new Update()
+                .set("userId", post.getUserId())
+                .set("title", post.getTitle())
+                .set("body", post.getBody())
+                .setOnInsert("comments", Collections.emptyList())
+                .setOnInsert("commentCount", 0)
+                .inc(VersionCriteria.FIELD, 1), cache::evictPost);
     }
 
-    @Transactional
     public Post save(Post post) {
+        Post savedPost;
         try {
-            return repository.save(post);
+            savedPost = repository.save(post);
         } catch (Exception e) {
             throw new RuntimeException("Error saving post: " + e.getMessage());
         }
+        if (savedPost != null) {
+            cache.evictPost(savedPost.getId());
+        }
+        return savedPost;
+    }
+
+    /**
+     * Creates many posts with a single unordered bulk write. Invalid items, and items the database
+     * rejects, are reported in the result without aborting the others.
+     */
+    public BulkResultDTO saveAll(List<PostCreateDTO> posts) {
+        return BulkInsert.run(mongoTemplate, validator, Post.class, posts, (dto, id) -> {
+            Post post = dto.toPost();
+            post.setId(id);
+            return post;
+        }).result();
     }
 
-    @Transactional(readOnly = true)
     public List<Post> findAll() {
         try {
-            return repository.findAll();
+            return repository.findByDeletedAtIsNull();
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving posts: " + e.getMessage());
+        }
+    }
+
+    public PostPage<Post> findPage(String after, Integer limit) {
+        int pageSize = pageSize(limit);
+
+        // One extra post is read to know whether there is a next page; the range scan on _id
+        // keeps the cost of every page the same, no matter how deep the cursor is.
+        Pageable pageable = pageRequest(pageSize);
+        try {
+            List<Post> posts = after == null
+                    ? repository.findByDeletedAtIsNull(pageable)
+                    : repository.findByIdGreaterThanAndDeletedAtIsNull(after, pageable);
+
+            return toPage(posts, pageSize, Post::getId);
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving posts: " + e.getMessage());
+        }
+    }
+
+    public PostPage<PostSummaryDTO> findSummaryPage(String after, Integer limit) {
+        int pageSize = pageSize(limit);
+
+        try {
+            List<PostSummaryDTO> summaries = mongoTemplate
+                    .aggregate(summaryAggregation(after, pageSize + 1), Post.class, PostSummaryDTO.class)
+                    .getMappedResults();
+
+            return toPage(summaries, pageSize, PostSummaryDTO::getId);
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving posts: " + e.getMessage());
         }
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Hands every post to {@code action} as it is read from the database cursor, so only one
+     * batch of posts is held in memory at a time. Callers must not keep references to the posts.
+     */
+    public void forEachPost(Consumer<Post> action) {
+        Query query = new Query(notDeleted()).cursorBatchSize(EXPORT_BATCH_SIZE);
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(action);
+        }
+    }
+
     public Post findById(String id) {
         try {
-            return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + id));
+            return repository.findByIdAndDeletedAtIsNull(id).orElseThrow(() -> new EntityNotFoundException("Post not found with ID: " + id));
         } catch (EntityNotFoundException e) {
             throw new EntityNotFoundException(e.getMessage());
         } catch (Exception e) {
@@ -61,36 +154,187 @@ public class PostService {
         }
     }
 
-    @Transactional
-    public void deletePostById(String id) {
-        if (!repository.existsById(id)) {
-            throw new EntityNotFoundException("Post not found with ID: " + id);
+    /**
+     * Reads a post and its embedded comments in a single query, mapped straight to the response DTO,
+     * through {@link PostCache}.
+     */
+    public PostResponseDTO findResponseById(String id) {
+        return cache.getPost(id, postId -> findPostResponse(postId, RESPONSE_FIELDS));
+    }
+
+    /**
+     * Reads the embedded comments of a post from the same cached entry as {@link #findResponseById}. A post with
+     * more comments than {@link Post#EMBEDDED_COMMENTS} has them all read from the comments collection instead.
+     */
+    public List<CommentResponseDTO> findCommentResponsesByPostId(String postId) {
+        PostResponseDTO post = findResponseById(postId);
+        if (!post.embedsAllComments()) {
+            return findAllComments(postId);
         }
+        return post.getComments() == null ? List.of() : post.getComments();
+    }
+
+    /**
+     * {@link #findResponseById} already rendered to JSON, once per version of the post.
+     */
+    public PostCache.Rendered findResponseJsonById(String id) {
+        return cache.renderPost(findResponseById(id));
+    }
+
+    /**
+     * {@link #findCommentResponsesByPostId} already rendered to JSON, once per version of the post.
+     */
+    public PostCache.Rendered findCommentResponsesJsonByPostId(String postId) {
+        return cache.renderPostComments(findResponseById(postId), () -> findAllComments(postId));
+    }
+
+    private List<CommentResponseDTO> findAllComments(String postId) {
+        try {
+            return mongoTemplate.find(allCommentsQuery(postId), Comment.class).stream().map(CommentResponseDTO::toDto).toList();
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving comments: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tombstones the post in a single write. From then on it is hidden from every read, and
+     * {@link DeletedPostReaper} removes it together with its comments in the background.
+     */
+    public void deletePostById(String id) {
+        UpdateResult result;
         try {
-            commentRepository.deleteByPostId(id);
-            repository.deleteById(id);
+            Query query = Query.query(Criteria.where("id").is(id)).addCriteria(notDeleted());
+            Update tombstone = new Update().currentDate("deletedAt").inc(VersionCriteria.FIELD, 1);
+            result = mongoTemplate.updateFirst(query, tombstone, Post.class);
         } catch (Exception e) {
             throw new RuntimeException("Error deleting post: " + e.getMessage());
         }
+        if (result.getMatchedCount() == 0) {
+            throw new EntityNotFoundException("Post not found with ID: " + id);
+        }
+        cache.evictPostAndComments(id);
+    }
+
+    public Post updatePost(String id, PostUpdateDTO dto, List<Long> expectedVersions) {
+        return patchPost(id, new PostPatchDTO(dto.getTitle(), dto.getBody()), expectedVersions);
     }
 
-    @Transactional
-    public Post updatePost(String id, PostUpdateDTO dto) {
+    /**
+     * Writes only the fields present in the patch with {@code $set}; the embedded comments are left untouched.
+     * When {@code expectedVersions} are given, the write only happens if the post is still at one of them.
+     */
+    public Post patchPost(String id, PostPatchDTO patch, List<Long> expectedVersions) {
         if (id == null || id.isBlank()) {
             throw new IllegalArgumentException("Post ID cannot be null or empty");
         }
 
-        Post post = repository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("Post not found with ID: " + id)
-        );
-
-        post.setTitle(dto.getTitle());
-        post.setBody(dto.getBody());
-
+        Update update = patchUpdate(patch);
+        Query query = patchQuery(id, expectedVersions);
+        Post post;
         try {
-            return repository.save(post);
+            post = update.getUpdateObject().isEmpty()
+                    ? mongoTemplate.findOne(query, Post.class)
+                    : mongoTemplate.findAndModify(query, update.inc(VersionCriteria.FIELD, 1),
+                            FindAndModifyOptions.options().returnNew(true), Post.class);
         } catch (Exception e) {
             throw new RuntimeException("Error updating post: " + e.getMessage());
         }
+        if (post == null) {
+            if (expectedVersions != null && repository.existsByIdAndDeletedAtIsNull(id)) {
+                throw new PreconditionFailedException("Post with ID " + id + " is no longer at version " + expectedVersions + ".");
+            }
+            throw new EntityNotFoundException("Post not found with ID: " + id);
+        }
+        cache.evictPost(id);
+        return post;
+    }
+
+    private PostResponseDTO findPostResponse(String id, String... fields) {
+        PostResponseDTO post;
+        try {
+            post = mongoTemplate.findOne(responseQuery(id, fields), PostResponseDTO.class, mongoTemplate.getCollectionName(Post.class));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving post: " + e.getMessage());
+        }
+        if (post == null) {
+            throw new EntityNotFoundException("Post not found with ID: " + id);
+        }
+        return post;
+    }
+
+    // The helpers below are shared with ReactivePostService, so both serving modes read and write the same way.
+
+    static int pageSize(Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+
+    static Pageable pageRequest(int pageSize) {
+        return PageRequest.of(0, pageSize + 1, Sort.by("id"));
+    }
+
+    // The query reads one item more than the page holds; when it is there, the page has a next one.
+    static <T> PostPage<T> toPage(List<T> items, int pageSize, Function<T, String> id) {
+        if (items.size() > pageSize) {
+            List<T> page = items.subList(0, pageSize);
+            return new PostPage<>(page, id.apply(page.get(pageSize - 1)));
+        }
+        return new PostPage<>(items, null);
+    }
+
+    static Update patchUpdate(PostPatchDTO patch) {
+        Update update = new Update();
+        if (patch.getTitle() != null) {
+            update.set("title", patch.getTitle());
+        }
+        if (patch.getBody() != null) {
+            update.set("body", patch.getBody());
+        }
+        return update;
+    }
+
+    static Query patchQuery(String id, List<Long> expectedVersions) {
+        Query query = Query.query(Criteria.where("id").is(id)).addCriteria(notDeleted());
+        if (expectedVersions != null) {
+            query.addCriteria(VersionCriteria.in(expectedVersions));
+        }
+        return query;
+    }
+
+    // Every comment of the post in the order they were added, through post_comment_idx.
+    static Query allCommentsQuery(String postId) {
+        return Query.query(Criteria.where("postId").is(postId)).with(Sort.by("id"));
+    }
+
+    static Query responseQuery(String id, String... fields) {
+        Query query = Query.query(Criteria.where("id").is(id)).addCriteria(notDeleted());
+        query.fields().include(fields);
+        return query;
+    }
+
+    // Projects only what a summary needs: the comments are never sent over the wire. Posts that predate the stored
+    // commentCount have their embedded comments counted by the database.
+    static Aggregation summaryAggregation(String after, int limit) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        Criteria criteria = notDeleted();
+        if (after != null) {
+            criteria = criteria.and("id").gt(after);
+        }
+        operations.add(Aggregation.match(criteria));
+        operations.add(Aggregation.sort(Sort.by("id")));
+        operations.add(Aggregation.limit(limit));
+        operations.add(Aggregation.project("title")
+                .and(StringOperators.valueOf("body").substringCP(0, EXCERPT_LENGTH)).as("excerpt")
+                .and(ConditionalOperators.ifNull("commentCount").thenValueOf(ArrayOperators.Size.lengthOfArray(
+                        ConditionalOperators.ifNull("comments").then(Collections.emptyList())
+                ))).as("commentCount"));
+        return Aggregation.newAggregation(Post.class, operations);
+    }
+
+    static Criteria notDeleted() {
+        return Criteria.where("deletedAt").is(null);
     }
 }
@@ -0,0 +1,112 @@
+package uol.compass.microserviceb.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.repositories.ReactiveCommentRepository;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
+import uol.compass.microserviceb.web.dto.CommentCreateDTO;
+import uol.compass.microserviceb.web.dto.CommentPatchDTO;
+
+import java.util.List;
+
+/**
+ * Non-blocking version of {@link CommentService} over the reactive MongoDB driver, with the same writes,
+ * errors and messages. Bulk creation keeps its blocking implementation on the bounded elastic scheduler.
+ */
+@RequiredArgsConstructor
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCommentService {
+    private final ReactiveCommentRepository commentRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final CommentService commentService;
+
+    /**
+     * See {@link CommentService#addToPost}.
+     */
+    public Mono<Comment> addToPost(String postId, Comment comment) {
+        comment.setPostId(postId);
+        return commentRepository.save(comment)
+                .onErrorMap(e -> new RuntimeException("Unexpected error occurred while saving the comment.", e))
+                .flatMap(savedComment -> mongoTemplate.updateFirst(
+                                CommentService.livePostQuery(postId),
+                                CommentService.pushComments(savedComment),
+                                Post.class)
+                        .flatMap(result -> result.getMatchedCount() > 0
+                                ? Mono.just(savedComment)
+                                : Mono.error(new EntityNotFoundException("Post with ID " + postId + " not found.")))
+                        .onErrorResume(e -> commentRepository.deleteById(savedComment.getId()).then(Mono.error(e))));
+    }
+
+    public Mono<BulkResultDTO> addAllToPost(String postId, List<CommentCreateDTO> comments) {
+        return Mono.fromCallable(() -> commentService.addAllToPost(postId, comments)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * See {@link CommentService#deleteById}.
+     */
+    public Mono<Void> deleteById(String postId, String id) {
+        Query commentQuery = Query.query(Criteria.where("_id").is(id).and("postId").is(postId));
+        return mongoTemplate.exists(CommentService.livePostQuery(postId), Post.class)
+                .flatMap(live -> !live ? Mono.just(false)
+                        : mongoTemplate.remove(commentQuery, Comment.class).map(result -> result.getDeletedCount() > 0))
+                .flatMap(deleted -> !deleted
+                        ? Mono.error(new EntityNotFoundException("Comment with ID " + id + " not found."))
+                        : mongoTemplate.updateFirst(
+                                CommentService.livePostQuery(postId),
+                                CommentService.pullComment(id),
+                                Post.class))
+                .then();
+    }
+
+    /**
+     * See {@link CommentService#update}.
+     */
+    public Mono<Comment> update(String postId, String id, CommentPatchDTO patch, List<Long> expectedVersions) {
+        Update update = CommentService.patchUpdate(patch);
+        Query query = CommentService.patchQuery(postId, id, expectedVersions);
+        boolean changed = !update.getUpdateObject().isEmpty();
+        Mono<Comment> comment = changed
+                ? mongoTemplate.findAndModify(query, update.inc(VersionCriteria.FIELD, 1),
+                        FindAndModifyOptions.options().returnNew(true), Comment.class)
+                : mongoTemplate.findOne(query, Comment.class);
+
+        return mongoTemplate.exists(CommentService.livePostQuery(postId), Post.class)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> CommentService.notUpdated(postId, id, expectedVersions, false)))
+                .then(comment.onErrorMap(e -> new RuntimeException("Unexpected error occurred while updating the comment.", e)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    Mono<Boolean> exists = expectedVersions == null
+                            ? Mono.just(false)
+                            : commentRepository.findByIdAndPostId(id, postId).hasElement();
+                    return exists.flatMap(stillThere -> Mono.error(
+                            CommentService.notUpdated(postId, id, expectedVersions, stillThere)));
+                }))
+                .flatMap(updated -> !changed ? Mono.just(updated) : mongoTemplate.updateFirst(
+                                CommentService.embeddedPatchQuery(postId, id),
+                                CommentService.embeddedPatchUpdate(patch), Post.class)
+                        .thenReturn(updated));
+    }
+
+    /**
+     * See {@link CommentService#findByPostIdAndId}.
+     */
+    public Mono<Comment> findByPostIdAndId(String postId, String id) {
+        return mongoTemplate.exists(CommentService.livePostQuery(postId), Post.class)
+                .filter(Boolean::booleanValue)
+                .flatMap(live -> commentRepository.findByIdAndPostId(id, postId))
+                .switchIfEmpty(Mono.error(() ->
+                        new EntityNotFoundException("Comment with ID " + id + " not found in Post with ID " + postId + ".")));
+    }
+}
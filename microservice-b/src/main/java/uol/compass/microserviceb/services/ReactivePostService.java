@@ -0,0 +1,160 @@
+package uol.compass.microserviceb.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.exceptions.PreconditionFailedException;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.model.PostPage;
+import uol.compass.microserviceb.repositories.ReactivePostRepository;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
+import uol.compass.microserviceb.web.dto.CommentResponseDTO;
+import uol.compass.microserviceb.web.dto.PostCreateDTO;
+import uol.compass.microserviceb.web.dto.PostPatchDTO;
+import uol.compass.microserviceb.web.dto.PostResponseDTO;
+import uol.compass.microserviceb.web.dto.PostSummaryDTO;
+import uol.compass.microserviceb.web.dto.PostUpdateDTO;
+
+import java.util.List;
+
+/**
+ * Non-blocking version of {@link PostService} over the reactive MongoDB driver, with the same queries,
+ * errors and messages. Bulk creation is rare and keeps its blocking implementation, moved off the event
+ * loop onto the bounded elastic scheduler.
+ */
+@RequiredArgsConstructor
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePostService {
+    private final ReactivePostRepository repository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final PostService postService;
+
+    public Mono<Post> save(Post post) {
+        return repository.save(post)
+                .onErrorMap(ReactivePostService::isUnexpected, e -> new RuntimeException("Error saving post: " + e.getMessage()));
+    }
+
+    public Mono<BulkResultDTO> saveAll(List<PostCreateDTO> posts) {
+        return Mono.fromCallable(() -> postService.saveAll(posts)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Flux<Post> findAll() {
+        return repository.findByDeletedAtIsNull()
+                .onErrorMap(ReactivePostService::isUnexpected, e -> new RuntimeException("Error retrieving posts: " + e.getMessage()));
+    }
+
+    public Mono<PostPage<Post>> findPage(String after, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = PostService.pageSize(limit);
+            Pageable pageable = PostService.pageRequest(pageSize);
+            Flux<Post> posts = after == null
+                    ? repository.findByDeletedAtIsNull(pageable)
+                    : repository.findByIdGreaterThanAndDeletedAtIsNull(after, pageable);
+            return posts.collectList()
+                    .map(page -> PostService.toPage(page, pageSize, Post::getId))
+                    .onErrorMap(ReactivePostService::isUnexpected, e -> new RuntimeException("Error retrieving posts: " + e.getMessage()));
+        });
+    }
+
+    public Mono<PostPage<PostSummaryDTO>> findSummaryPage(String after, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = PostService.pageSize(limit);
+            return mongoTemplate.aggregate(PostService.summaryAggregation(after, pageSize + 1), Post.class, PostSummaryDTO.class)
+                    .collectList()
+                    .map(summaries -> PostService.toPage(summaries, pageSize, PostSummaryDTO::getId))
+                    .onErrorMap(ReactivePostService::isUnexpected, e -> new RuntimeException("Error retrieving posts: " + e.getMessage()));
+        });
+    }
+
+    /**
+     * Emits every post as it is read from the database cursor; the subscriber's demand decides how many
+     * batches are fetched, so a slow client never makes the whole collection pile up in memory.
+     */
+    public Flux<Post> streamAll() {
+        Query query = new Query(PostService.notDeleted()).cursorBatchSize(PostService.EXPORT_BATCH_SIZE);
+        return mongoTemplate.find(query, Post.class);
+    }
+
+    public Mono<PostResponseDTO> findResponseById(String id) {
+        return findPostResponse(id, PostService.RESPONSE_FIELDS);
+    }
+
+    /**
+     * See {@link PostService#findCommentResponsesByPostId}.
+     */
+    public Mono<List<CommentResponseDTO>> findCommentResponsesByPostId(String postId) {
+        return findPostResponse(postId, "comments", "commentCount")
+                .flatMap(post -> !post.embedsAllComments()
+                        ? mongoTemplate.find(PostService.allCommentsQuery(postId), Comment.class)
+                                .map(CommentResponseDTO::toDto)
+                                .collectList()
+                                .onErrorMap(e -> new RuntimeException("Error retrieving comments: " + e.getMessage()))
+                        : Mono.just(post.getComments() == null ? List.<CommentResponseDTO>of() : post.getComments()));
+    }
+
+    public Mono<Void> deletePostById(String id) {
+        Query query = Query.query(Criteria.where("id").is(id)).addCriteria(PostService.notDeleted());
+        Update tombstone = new Update().currentDate("deletedAt").inc(VersionCriteria.FIELD, 1);
+        return mongoTemplate.updateFirst(query, tombstone, Post.class)
+                .onErrorMap(ReactivePostService::isUnexpected, e -> new RuntimeException("Error deleting post: " + e.getMessage()))
+                .flatMap(result -> result.getMatchedCount() == 0
+                        ? Mono.error(new EntityNotFoundException("Post not found with ID: " + id))
+                        : Mono.empty());
+    }
+
+    public Mono<Post> updatePost(String id, PostUpdateDTO dto, List<Long> expectedVersions) {
+        return patchPost(id, new PostPatchDTO(dto.getTitle(), dto.getBody()), expectedVersions);
+    }
+
+    /**
+     * See {@link PostService#patchPost}.
+     */
+    public Mono<Post> patchPost(String id, PostPatchDTO patch, List<Long> expectedVersions) {
+        if (id == null || id.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Post ID cannot be null or empty"));
+        }
+
+        Update update = PostService.patchUpdate(patch);
+        Query query = PostService.patchQuery(id, expectedVersions);
+        Mono<Post> post = update.getUpdateObject().isEmpty()
+                ? mongoTemplate.findOne(query, Post.class)
+                : mongoTemplate.findAndModify(query, update.inc(VersionCriteria.FIELD, 1),
+                        FindAndModifyOptions.options().returnNew(true), Post.class);
+
+        return post
+                .onErrorMap(ReactivePostService::isUnexpected, e -> new RuntimeException("Error updating post: " + e.getMessage()))
+                .switchIfEmpty(Mono.defer(() -> {
+                    Mono<Boolean> exists = expectedVersions == null
+                            ? Mono.just(false)
+                            : repository.existsByIdAndDeletedAtIsNull(id);
+                    return exists.flatMap(stillThere -> Mono.error(stillThere
+                            ? new PreconditionFailedException("Post with ID " + id + " is no longer at version " + expectedVersions + ".")
+                            : new EntityNotFoundException("Post not found with ID: " + id)));
+                }));
+    }
+
+    private Mono<PostResponseDTO> findPostResponse(String id, String... fields) {
+        return mongoTemplate.findOne(PostService.responseQuery(id, fields), PostResponseDTO.class,
+                        mongoTemplate.getCollectionName(Post.class))
+                .onErrorMap(ReactivePostService::isUnexpected, e -> new RuntimeException("Error retrieving post: " + e.getMessage()))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Post not found with ID: " + id)));
+    }
+
+    // Errors the API maps to a status of their own pass through; anything else becomes a 500 with the usual message.
+    static boolean isUnexpected(Throwable e) {
+        return !(e instanceof EntityNotFoundException || e instanceof PreconditionFailedException
+                || e instanceof IllegalArgumentException);
+    }
+}
@@ -0,0 +1,60 @@
+package uol.compass.microserviceb.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import uol.compass.microserviceb.model.SyncLease;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts a sync every {@code socialmedia.sync.schedule.interval}, plus a random delay of up to
+ * {@code socialmedia.sync.schedule.jitter} so the replicas don't all wake up at the same moment.
+ * Every replica runs the schedule; the one that finds a sync succeeded within the interval, by any
+ * instance, skips its turn, and {@link SyncJobService} makes sure only the lease holder syncs.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "socialmedia.sync.schedule.enabled", havingValue = "true")
+public class ScheduledSync implements SchedulingConfigurer {
+    private final SyncJobService syncJobService;
+    private final SyncLeaseService leaseService;
+
+    @Value("${socialmedia.sync.schedule.interval:PT1H}")
+    private Duration interval;
+
+    @Value("${socialmedia.sync.schedule.jitter:PT5M}")
+    private Duration jitter;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addTriggerTask(this::sync, this::nextRun);
+    }
+
+    public void sync() {
+        SyncLease lease = leaseService.find();
+        if (lease != null && lease.getSucceededAt() != null
+                && lease.getSucceededAt().isAfter(Instant.now().minus(interval))) {
+            log.debug("Skipping scheduled sync, the last one succeeded at {}", lease.getSucceededAt());
+            return;
+        }
+        SyncJobDTO job = syncJobService.start();
+        log.info("Scheduled sync: job {} is {}", job.getId(), job.getStatus());
+    }
+
+    public Instant nextRun(TriggerContext context) {
+        Instant last = context.lastCompletion();
+        Instant from = last != null ? last : context.getClock().instant();
+        long jitterMillis = ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        return from.plus(interval).plusMillis(jitterMillis);
+    }
+}
@@ -0,0 +1,87 @@
+package uol.compass.microserviceb.services;
+
+import lombok.Getter;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
+import uol.compass.microserviceb.web.dto.SyncReportDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A sync started by {@link SyncJobService}. The counters are updated by the sync writers as batches
+ * are written and read by whoever polls the job, so every access is synchronized.
+ */
+public class SyncJob {
+
+    public enum Status { RUNNING, SUCCEEDED, FAILED }
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    private final Instant startedAt = Instant.now();
+    private Instant finishedAt;
+    private Status status = Status.RUNNING;
+    private String error;
+    private boolean cancelled;
+    private SyncReportDTO report = new SyncReportDTO(new SyncResultDTO(), new SyncResultDTO(), new SyncResultDTO());
+
+    public synchronized boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Fails the job at once and tells the sync to stop before its next batch.
+     */
+    synchronized void cancel(String message) {
+        cancelled = true;
+        fail(message);
+    }
+
+    synchronized void addProgress(SyncResource<?> resource, SyncResultDTO batchResult) {
+        if (resource == SyncResource.POSTS) {
+            report.getPosts().add(batchResult);
+        } else if (resource == SyncResource.COMMENTS) {
+            report.getComments().add(batchResult);
+        } else if (resource == SyncResource.USERS) {
+            report.getUsers().add(batchResult);
+        }
+    }
+
+    // A sync that returns after its job was cancelled does not change the outcome.
+    synchronized void succeed(SyncReportDTO finalReport) {
+        if (isRunning()) {
+            report = finalReport;
+            finish(Status.SUCCEEDED);
+        }
+    }
+
+    synchronized void fail(String message) {
+        if (isRunning()) {
+            error = message;
+            finish(Status.FAILED);
+        }
+    }
+
+    public synchronized SyncJobDTO toDto() {
+        return new SyncJobDTO(id, status.name(), startedAt, finishedAt, error,
+                copy(report.getPosts()), copy(report.getComments()), copy(report.getUsers()));
+    }
+
+    private void finish(Status finalStatus) {
+        status = finalStatus;
+        finishedAt = Instant.now();
+    }
+
+    private static SyncResultDTO copy(SyncResultDTO result) {
+        return new SyncResultDTO(result.getFetched(), result.getInserted(), result.getUpdated(), result.getUnchanged(),
+                result.getSkipped(), result.getDurationMillis(), result.getRecordsPerSecond());
+    }
+}
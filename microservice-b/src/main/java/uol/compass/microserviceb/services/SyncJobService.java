@@ -0,0 +1,184 @@
+package uol.compass.microserviceb.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.model.SyncJobRecord;
+import uol.compass.microserviceb.model.SyncLease;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs syncs as background jobs on a dedicated thread, so the request that triggers one returns at once.
+ * Only one sync runs at a time across all instances: the one holding the {@link SyncLeaseService lease}.
+ * A trigger that arrives while a sync is running, here or on another instance, gets the running job.
+ * Jobs are stored in MongoDB, so they can be polled on any instance.
+ * <p>
+ * The lease is renewed on a thread of its own, so no other scheduled task can hold renewals back past the
+ * lease duration. If a renewal fails anyway, another instance may already be syncing, so the job is cancelled:
+ * its sync is interrupted and writes no further batch, and the job is marked failed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SyncJobService {
+    // Another instance may release the lease between our attempt and the lookup of its job.
+    private static final int ACQUIRE_ATTEMPTS = 3;
+
+    private final SyncService syncService;
+    private final SyncLeaseService leaseService;
+    private final MongoTemplate mongoTemplate;
+
+    // Owner of the lease while this instance runs a sync.
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sync-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sync-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private SyncJob runningJob;
+    private Future<?> runningTask;
+
+    @Value("${socialmedia.sync.lease.renew-interval:PT5S}")
+    private Duration renewInterval;
+
+    @PostConstruct
+    public void startHeartbeat() {
+        leaseRenewer.scheduleWithFixedDelay(() -> {
+            // An exception would cancel every later run.
+            try {
+                heartbeat();
+            } catch (RuntimeException e) {
+                log.error("Sync lease heartbeat failed", e);
+            }
+        }, renewInterval.toMillis(), renewInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized SyncJobDTO start() {
+        if (runningJob != null && runningJob.isRunning()) {
+            return runningJob.toDto();
+        }
+        SyncJob job = new SyncJob();
+        // Stored before taking the lease, so whoever finds the job on the lease can read it.
+        save(job);
+        for (int attempt = 0; attempt < ACQUIRE_ATTEMPTS; attempt++) {
+            if (leaseService.tryAcquire(instanceId, job.getId())) {
+                runningJob = job;
+                runningTask = executor.submit(() -> run(job));
+                return job.toDto();
+            }
+            SyncJobRecord runningElsewhere = findRunningElsewhere();
+            if (runningElsewhere != null) {
+                mongoTemplate.remove(Query.query(Criteria.where("_id").is(job.getId())), SyncJobRecord.class);
+                return runningElsewhere.toDto();
+            }
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(job.getId())), SyncJobRecord.class);
+        throw new RuntimeException("Could not acquire the sync lease, try again later.");
+    }
+
+    public SyncJobDTO findById(String id) {
+        synchronized (this) {
+            if (runningJob != null && runningJob.getId().equals(id)) {
+                return runningJob.toDto();
+            }
+        }
+        SyncJobRecord job = mongoTemplate.findById(id, SyncJobRecord.class);
+        if (job == null) {
+            throw new EntityNotFoundException("Sync job not found with ID: " + id);
+        }
+        // A job still running without the lease was left behind by an instance that stopped.
+        if (SyncJob.Status.RUNNING.name().equals(job.getStatus()) && !leaseService.isHeldFor(id)) {
+            job.setStatus(SyncJob.Status.FAILED.name());
+            job.setError("Sync abandoned: the instance running it stopped before it finished.");
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Keeps the lease while the sync runs and publishes its progress to the other instances. Runs every
+     * {@code socialmedia.sync.lease.renew-interval}.
+     */
+    public void heartbeat() {
+        SyncJob job;
+        synchronized (this) {
+            job = runningJob;
+        }
+        if (job == null || !job.isRunning()) {
+            return;
+        }
+        if (!leaseService.renew(instanceId, job.getId())) {
+            log.error("Sync job {} lost its lease, cancelling it since another instance may start a sync",
+                    job.getId());
+            cancel(job);
+            return;
+        }
+        save(job);
+    }
+
+    private void cancel(SyncJob job) {
+        job.cancel("Sync cancelled: the lease was lost, so another instance may be syncing.");
+        synchronized (this) {
+            if (runningJob == job) {
+                runningJob = null;
+                runningTask.cancel(true);
+            }
+        }
+        save(job);
+    }
+
+    private void run(SyncJob job) {
+        try {
+            job.succeed(syncService.syncAll(job::addProgress, job::isCancelled));
+        } catch (Exception e) {
+            log.error("Sync job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            // A cancelled job is interrupted; the flag would make the MongoDB calls below fail.
+            Thread.interrupted();
+            // Saved before the lease is released, so the job is never seen running without it.
+            save(job);
+            leaseService.release(instanceId, job.getId(), job.getStatus() == SyncJob.Status.SUCCEEDED);
+        }
+    }
+
+    private SyncJobRecord findRunningElsewhere() {
+        SyncLease lease = leaseService.find();
+        if (lease == null || lease.getJobId() == null) {
+            return null;
+        }
+        return mongoTemplate.findById(lease.getJobId(), SyncJobRecord.class);
+    }
+
+    // The heartbeat and the end of the job both save it; the lock keeps a stale snapshot from landing last.
+    private void save(SyncJob job) {
+        synchronized (job) {
+            mongoTemplate.save(SyncJobRecord.from(job.toDto()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewer.shutdownNow();
+        executor.shutdownNow();
+    }
+}
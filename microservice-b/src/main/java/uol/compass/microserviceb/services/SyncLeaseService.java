@@ -0,0 +1,88 @@
+package uol.compass.microserviceb.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import uol.compass.microserviceb.model.SyncLease;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Lease that lets a single instance run the sync at a time. It is taken with one atomic findAndModify that
+ * only matches an expired lease; when the lease is still held the upsert collides on its {@code _id} and
+ * the caller loses. The owner renews it while the sync runs, so an instance that dies without releasing it
+ * only blocks the others for {@code socialmedia.sync.lease.duration}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SyncLeaseService {
+    static final String LEASE_ID = "sync";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${socialmedia.sync.lease.duration:PT1M}")
+    private Duration leaseDuration;
+
+    /**
+     * @return whether {@code owner} now holds the lease for {@code jobId}
+     */
+    public boolean tryAcquire(String owner, String jobId) {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(LEASE_ID).and("expiresAt").lte(now));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("jobId", jobId)
+                .set("expiresAt", now.plus(leaseDuration));
+        try {
+            SyncLease previous = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true), SyncLease.class);
+            if (previous != null && previous.getJobId() != null) {
+                log.warn("Took over the sync lease of {}, which stopped renewing it while running job {}",
+                        previous.getOwner(), previous.getJobId());
+            }
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return false when the lease expired and was taken over by another instance
+     */
+    public boolean renew(String owner, String jobId) {
+        return mongoTemplate.updateFirst(heldBy(owner, jobId),
+                new Update().set("expiresAt", Instant.now().plus(leaseDuration)),
+                SyncLease.class).getModifiedCount() > 0;
+    }
+
+    public void release(String owner, String jobId, boolean succeeded) {
+        Instant now = Instant.now();
+        Update update = new Update().set("expiresAt", now).unset("jobId");
+        if (succeeded) {
+            update.set("succeededAt", now);
+        }
+        mongoTemplate.updateFirst(heldBy(owner, jobId), update, SyncLease.class);
+    }
+
+    public SyncLease find() {
+        return mongoTemplate.findById(LEASE_ID, SyncLease.class);
+    }
+
+    public boolean isHeldFor(String jobId) {
+        SyncLease lease = find();
+        return lease != null && jobId.equals(lease.getJobId()) && lease.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private static Query heldBy(String owner, String jobId) {
+        return Query.query(Criteria.where("_id").is(LEASE_ID).and("owner").is(owner).and("jobId").is(jobId));
+    }
+}
@@ -0,0 +1,28 @@
+package uol.compass.microserviceb.services;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import uol.compass.microserviceb.web.dto.FetchedCommentDTO;
+import uol.compass.microserviceb.web.dto.FetchedPostDTO;
+import uol.compass.microserviceb.web.dto.FetchedRecord;
+import uol.compass.microserviceb.web.dto.FetchedUserDTO;
+
+/**
+ * A JSONPlaceholder resource the sync reads, named as in its URL ({@code /posts}) and dump file ({@code posts.json}).
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SyncResource<T extends FetchedRecord> {
+    public static final SyncResource<FetchedPostDTO> POSTS = new SyncResource<>("posts", FetchedPostDTO.class);
+    public static final SyncResource<FetchedCommentDTO> COMMENTS = new SyncResource<>("comments", FetchedCommentDTO.class);
+    public static final SyncResource<FetchedUserDTO> USERS = new SyncResource<>("users", FetchedUserDTO.class);
+
+    private final String name;
+    private final Class<T> type;
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,165 @@
+package uol.compass.microserviceb.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uol.compass.microserviceb.web.dto.FetchedCommentDTO;
+import uol.compass.microserviceb.web.dto.FetchedPostDTO;
+import uol.compass.microserviceb.web.dto.FetchedRecord;
+import uol.compass.microserviceb.web.dto.FetchedUserDTO;
+import uol.compass.microserviceb.web.dto.SyncReportDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Syncs posts, comments and users from the {@link SyncSource} at the same time. Each resource has a
+ * fetcher that reads and parses batches and a writer that upserts them, connected by a queue of
+ * {@value #QUEUE_CAPACITY} batches: when the database is slower than the source the fetcher blocks on
+ * the full queue instead of buffering the whole resource. Comments are linked to their posts, so their
+ * writer starts once every post is written.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SyncService {
+    static final int QUEUE_CAPACITY = 4;
+
+    private final SyncSource syncSource;
+    private final PostService postService;
+    private final CommentService commentService;
+    private final UserService userService;
+
+    public SyncReportDTO syncAll() {
+        return syncAll((resource, batchResult) -> { });
+    }
+
+    public SyncReportDTO syncAll(BiConsumer<SyncResource<?>, SyncResultDTO> progress) {
+        return syncAll(progress, () -> false);
+    }
+
+    /**
+     * @param progress  called from the writers with the result of every batch as soon as it is written
+     * @param cancelled checked by the writers before every batch; once it returns true no further batch is
+     *                  written and the sync fails
+     */
+    public SyncReportDTO syncAll(BiConsumer<SyncResource<?>, SyncResultDTO> progress, BooleanSupplier cancelled) {
+        Pipeline<FetchedPostDTO> posts = new Pipeline<>(SyncResource.POSTS, postService::syncBatch, null,
+                progress, cancelled);
+        Pipeline<FetchedCommentDTO> comments = new Pipeline<>(SyncResource.COMMENTS, commentService::syncBatch,
+                posts.written, progress, cancelled);
+        Pipeline<FetchedUserDTO> users = new Pipeline<>(SyncResource.USERS, userService::syncBatch, null,
+                progress, cancelled);
+        List<Pipeline<?>> pipelines = List.of(posts, comments, users);
+
+        // Virtual threads: the tasks spend most of their time blocked on I/O or on a queue.
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<Void> tasks = new ExecutorCompletionService<>(executor);
+            for (Pipeline<?> pipeline : pipelines) {
+                tasks.submit(pipeline::fetch, null);
+                tasks.submit(pipeline::write, null);
+            }
+            // The first failure cancels the other tasks, which may be blocked on a queue waiting for it.
+            for (int i = 0; i < pipelines.size() * 2; i++) {
+                tasks.take().get();
+            }
+            syncSource.syncFinished(true);
+        } catch (ExecutionException e) {
+            syncSource.syncFinished(false);
+            throw new RuntimeException("Sync failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            syncSource.syncFinished(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Sync interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        pipelines.forEach(pipeline -> log.info("Synced {}: {} records in {} ms ({} records/s)", pipeline.resource,
+                pipeline.result.getFetched(), pipeline.result.getDurationMillis(),
+                String.format("%.1f", pipeline.result.getRecordsPerSecond())));
+        return new SyncReportDTO(posts.result, comments.result, users.result);
+    }
+
+    private final class Pipeline<T extends FetchedRecord> {
+        private final SyncResource<T> resource;
+        private final Function<List<T>, SyncResultDTO> writer;
+        private final CountDownLatch writeAfter;
+        private final BiConsumer<SyncResource<?>, SyncResultDTO> progress;
+        private final BooleanSupplier cancelled;
+        private final CountDownLatch written = new CountDownLatch(1);
+        private final BlockingQueue<List<T>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        // Compared by identity: tells the writer that the fetcher is done.
+        private final List<T> end = new ArrayList<>();
+        private final SyncResultDTO result = new SyncResultDTO();
+        private final long startNanos = System.nanoTime();
+
+        private Pipeline(SyncResource<T> resource, Function<List<T>, SyncResultDTO> writer, CountDownLatch writeAfter,
+                         BiConsumer<SyncResource<?>, SyncResultDTO> progress, BooleanSupplier cancelled) {
+            this.resource = resource;
+            this.writer = writer;
+            this.writeAfter = writeAfter;
+            this.progress = progress;
+            this.cancelled = cancelled;
+        }
+
+        private void fetch() {
+            try {
+                syncSource.read(resource, batch -> {
+                    try {
+                        queue.put(batch);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Sync of " + resource + " interrupted", e);
+                    }
+                });
+            } finally {
+                try {
+                    queue.put(end);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void write() {
+            try {
+                if (writeAfter != null) {
+                    writeAfter.await();
+                }
+                for (List<T> batch = queue.take(); batch != end; batch = queue.take()) {
+                    if (cancelled.getAsBoolean()) {
+                        throw new CancellationException("Sync of " + resource + " cancelled");
+                    }
+                    SyncResultDTO batchResult = writer.apply(batch);
+                    result.add(batchResult);
+                    progress.accept(resource, batchResult);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Sync of " + resource + " interrupted", e);
+            } finally {
+                written.countDown();
+            }
+
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            result.setDurationMillis(durationMillis);
+            result.setRecordsPerSecond(result.getFetched() * 1000.0 / Math.max(durationMillis, 1));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package uol.compass.microserviceb.services;
+
+import uol.compass.microserviceb.web.dto.FetchedRecord;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Where {@link SyncService} reads JSONPlaceholder resources from. Records are handed over in batches of
+ * {@code socialmedia.sync.batch-size} as they are read, so a resource is never held in memory at once.
+ */
+public interface SyncSource {
+
+    <T extends FetchedRecord> void read(SyncResource<T> resource, Consumer<List<T>> batchConsumer);
+
+    /**
+     * Called once every batch read by a sync has been written, or the sync failed.
+     */
+    default void syncFinished(boolean succeeded) {
+    }
+}
@@ -0,0 +1,131 @@
+package uol.compass.microserviceb.services;
+
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uol.compass.microserviceb.web.dto.FetchedRecord;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Upserts a batch of records read from JSONPlaceholder keyed by their upstream id ({@code externalId}),
+ * with a single unordered bulk write. Records whose stored content hash did not change are skipped,
+ * so running the sync again writes only what changed.
+ */
+final class SyncUpsert {
+    static final String EXTERNAL_ID = "externalId";
+    static final String CONTENT_HASH = "contentHash";
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private SyncUpsert() {
+    }
+
+    /**
+     * @param toUpdate the fields to write for a changed record; the content hash is added to it
+     */
+    static <T extends FetchedRecord> SyncResultDTO run(MongoTemplate mongoTemplate, Class<?> entityClass,
+                                                       List<T> batch, Function<T, Update> toUpdate) {
+        return run(mongoTemplate, entityClass, batch, toUpdate, id -> {
+        });
+    }
+
+    /**
+     * @param onUpdated called after the write with the {@code _id} of every changed record that was already
+     *                  stored, e.g. to evict it from a cache
+     */
+    static <T extends FetchedRecord> SyncResultDTO run(MongoTemplate mongoTemplate, Class<?> entityClass,
+                                                       List<T> batch, Function<T, Update> toUpdate,
+                                                       Consumer<String> onUpdated) {
+        Map<Long, T> fetched = byExternalId(batch);
+        Map<Long, Document> stored = findStored(mongoTemplate, entityClass,
+                Criteria.where(EXTERNAL_ID).in(fetched.keySet()));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        List<String> updatedIds = new ArrayList<>();
+        int changed = 0;
+        for (T record : fetched.values()) {
+            String hash = record.contentHash();
+            Document storedRecord = stored.get(record.getId());
+            if (isUnchanged(storedRecord, hash)) {
+                continue;
+            }
+            if (storedRecord != null) {
+                updatedIds.add(storedRecord.get("_id").toString());
+            }
+            bulk.upsert(Query.query(Criteria.where(EXTERNAL_ID).is(record.getId())),
+                    toUpdate.apply(record).set(CONTENT_HASH, hash));
+            changed++;
+        }
+
+        SyncResultDTO result = new SyncResultDTO();
+        result.setFetched(fetched.size());
+        if (changed > 0) {
+            BulkWriteResult written = execute(bulk);
+            result.setInserted(written.getUpserts().size());
+            result.setUpdated(written.getMatchedCount());
+            updatedIds.forEach(onUpdated);
+        }
+        result.setUnchanged(fetched.size() - result.getInserted() - result.getUpdated());
+        return result;
+    }
+
+    /**
+     * Keeps the last record of each upstream id, so one bulk write never upserts the same id twice.
+     */
+    static <T extends FetchedRecord> Map<Long, T> byExternalId(List<T> batch) {
+        Map<Long, T> fetched = new LinkedHashMap<>();
+        batch.forEach(record -> fetched.put(record.getId(), record));
+        return fetched;
+    }
+
+    /**
+     * Reads the {@code _id}, upstream id and content hash of the matching documents, keyed by upstream id.
+     */
+    static Map<Long, Document> findStored(MongoTemplate mongoTemplate, Class<?> entityClass, Criteria criteria) {
+        Query query = Query.query(criteria);
+        query.fields().include("_id", EXTERNAL_ID, CONTENT_HASH);
+        Map<Long, Document> stored = new HashMap<>();
+        mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(entityClass))
+                .forEach(document -> stored.put(((Number) document.get(EXTERNAL_ID)).longValue(), document));
+        return stored;
+    }
+
+    static boolean isUnchanged(Document stored, String hash) {
+        return stored != null && hash.equals(stored.getString(CONTENT_HASH));
+    }
+
+    static BulkWriteResult execute(BulkOperations bulk) {
+        return execute(bulk, new HashSet<>());
+    }
+
+    /**
+     * @param failed gets the index of every write that was rejected because the record is already there
+     */
+    static BulkWriteResult execute(BulkOperations bulk, Set<Integer> failed) {
+        try {
+            return bulk.execute();
+        } catch (BulkOperationException e) {
+            // A sync running at the same time inserted the same record first and the unique index
+            // rejected the second copy; the record is already there, so only other errors are fatal.
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY_ERROR)) {
+                throw e;
+            }
+            e.getErrors().forEach(error -> failed.add(error.getIndex()));
+            return e.getResult();
+        }
+    }
+}
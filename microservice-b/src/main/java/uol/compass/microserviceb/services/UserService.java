@@ -0,0 +1,27 @@
+package uol.compass.microserviceb.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import uol.compass.microserviceb.model.User;
+import uol.compass.microserviceb.web.dto.FetchedUserDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+public class UserService {
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Upserts users read from JSONPlaceholder keyed by their upstream id, which is what {@code Post.userId} holds.
+     */
+    public SyncResultDTO syncBatch(List<FetchedUserDTO> batch) {
+        return SyncUpsert.run(mongoTemplate, User.class, batch, user -> new Update()
+                .set("name", user.getName())
+                .set("username", user.getUsername())
+                .set("email", user.getEmail()));
+    }
+}
@@ -0,0 +1,32 @@
+package uol.compass.microserviceb.services;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compare-and-set conditions on the {@code @Version} field of a document.
+ */
+final class VersionCriteria {
+    static final String FIELD = "version";
+
+    private VersionCriteria() {
+    }
+
+    // Documents written before the field existed have no version and are treated as version 0.
+    static Criteria in(List<Long> versions) {
+        List<Long> matching = new ArrayList<>(versions);
+        if (matching.contains(0L)) {
+            matching.add(null);
+        }
+        return matching.size() == 1
+                ? Criteria.where(FIELD).is(matching.get(0))
+                : Criteria.where(FIELD).in(matching);
+    }
+
+    static String describe(List<Long> versions) {
+        return versions.stream().map(String::valueOf).collect(Collectors.joining(" or "));
+    }
+}
@@ -9,18 +9,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
-import uol.compass.microserviceb.exceptions.EntityNotFoundException;
 import uol.compass.microserviceb.model.Comment;
-import uol.compass.microserviceb.model.Post;
 import uol.compass.microserviceb.services.CommentService;
+import uol.compass.microserviceb.services.PostCache;
 import uol.compass.microserviceb.services.PostService;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
 import uol.compass.microserviceb.web.dto.CommentCreateDTO;
+import uol.compass.microserviceb.web.dto.CommentPatchDTO;
 import uol.compass.microserviceb.web.dto.CommentResponseDTO;
 import uol.compass.microserviceb.web.dto.CommentUpdateDTO;
-import uol.compass.microserviceb.web.dto.mapper.CommentMapper;
 import uol.compass.microserviceb.web.exception.ErrorMessage;
 
 import java.net.URI;
@@ -30,7 +33,10 @@ import java.util.List;
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CommentController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final CommentService commentService;
     private final PostService postService;
 
@@ -75,19 +81,60 @@ public class CommentController {
             @Parameter(description = "Comment data to be created", required = true)
             @Valid @RequestBody CommentCreateDTO createdComment
     ) {
-        Post relatedPost = postService.findById(postId);
-        Comment comment = createdComment.toComment();
-        comment.setPost(relatedPost);
-        comment = commentService.save(comment);
-        relatedPost.getComments().add(comment);
-        postService.save(relatedPost);
+        Comment comment = commentService.addToPost(postId, createdComment.toComment());
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest().path("/{id}")
                 .buildAndExpand(comment.getId())
                 .toUri();
 
         CommentResponseDTO commentResponse = CommentResponseDTO.toDto(comment);
-        return ResponseEntity.created(location).body(commentResponse);
+        return ResponseEntity.created(location).eTag(ETags.of(comment.getVersion())).body(commentResponse);
+    }
+
+    @Operation(
+            summary = "Create comments in bulk",
+            description = "Adds up to 1000 comments to the post identified by `postId` with a single unordered bulk write. " +
+                    "Every item is validated on its own; the ones that are invalid or rejected by the database are " +
+                    "reported in `errors` by their index without aborting the others.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Comments to be created.",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CommentCreateDTO.class))
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Ids of the created comments and the items that failed",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkResultDTO.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request - Empty list or more than 1000 items",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not Found - Post ID does not exist",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            }
+    )
+    @PostMapping(value = "/posts/{postId}/comments/bulk")
+    public ResponseEntity<BulkResultDTO> createAll(
+            @Parameter(description = "ID of the post to which the comments will be added", required = true)
+            @PathVariable String postId,
+            @Parameter(description = "Comments to be created", required = true)
+            @RequestBody List<CommentCreateDTO> comments
+    ) {
+        return ResponseEntity.ok(commentService.addAllToPost(postId, comments));
     }
 
     @Operation(
@@ -115,15 +162,13 @@ public class CommentController {
             }
     )
     @GetMapping(value = "/posts/{postId}/comments")
-    public ResponseEntity<List<CommentResponseDTO>> getAllComments(
+    public ResponseEntity<byte[]> getAllComments(
             @Parameter(description = "ID of the post whose comments should be retrieved", required = true)
             @PathVariable String postId
     ) {
-        Post relatedPost = postService.findById(postId);
-        List<Comment> commentsFromPost = relatedPost.getComments();
-        List<CommentResponseDTO> commentsFromPostDto = CommentMapper.fromListCommentToListDto(commentsFromPost);
+        PostCache.Rendered commentsFromPost = postService.findCommentResponsesJsonByPostId(postId);
 
-        return ResponseEntity.ok(commentsFromPostDto);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(commentsFromPost.json());
     }
 
     @Operation(
@@ -148,18 +193,16 @@ public class CommentController {
             }
     )
     @GetMapping(value = "/posts/{postId}/comments/{commentId}")
-    public ResponseEntity<CommentResponseDTO> getCommentById(
+    public ResponseEntity<byte[]> getCommentById(
             @Parameter(description = "ID of the post containing the comment", required = true)
             @PathVariable String postId,
             @Parameter(description = "ID of the comment to retrieve", required = true)
             @PathVariable String commentId
     ) {
-        Post relatedPost = postService.findById(postId);
-        Comment comment = findCommentInPost(relatedPost.getComments(), commentId);
-        if (comment == null) {
-            throw new EntityNotFoundException("Comment with ID " + commentId + " not found in Post with ID " + postId + ".");
-        }
-        return ResponseEntity.ok(CommentResponseDTO.toDto(comment));
+        PostCache.Rendered comment = commentService.findResponseJsonByPostIdAndId(postId, commentId);
+        return ResponseEntity.ok().eTag(ETags.of(comment.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(comment.json());
     }
 
     @Operation(
@@ -208,6 +251,11 @@ public class CommentController {
                             description = "Not Found - The post or comment does not exist",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Precondition Failed - The If-Match header does not match the current version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
                     @ApiResponse(
                             responseCode = "422",
                             description = "Unprocessable Entity - Invalid Arguments",
@@ -227,27 +275,65 @@ public class CommentController {
             @Parameter(description = "ID of the comment to update", required = true)
             @PathVariable String commentId,
             @Parameter(description = "Updated comment data", required = true)
-            @Valid @RequestBody CommentUpdateDTO updatedComment
+            @Valid @RequestBody CommentUpdateDTO updatedComment,
+            @Parameter(description = "ETag of the comment the update is based on. The update is rejected with 412 if the comment changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        List<Comment> commentsInPost = postService.findById(postId).getComments();
-        Comment comment = findCommentInPost(commentsInPost, commentId);
-        if (comment == null) {
-            throw new EntityNotFoundException("Comment with ID " + commentId + " not found in Post with ID " + postId + ".");
-        }
-        comment.setName(updatedComment.getName());
-        comment.setBody(updatedComment.getBody());
-        comment = commentService.update(comment);
+        CommentPatchDTO patch = new CommentPatchDTO(updatedComment.getName(), updatedComment.getBody());
+        Comment comment = commentService.update(postId, commentId, patch, ETags.expectedVersions(ifMatch));
 
         CommentResponseDTO commentResponse = CommentResponseDTO.toDto(comment);
-        return ResponseEntity.ok().body(commentResponse);
+        return ResponseEntity.ok().eTag(ETags.of(comment.getVersion())).body(commentResponse);
     }
 
-    private Comment findCommentInPost(List<Comment> commentsInPost, String commentId) {
-        for (Comment comment : commentsInPost) {
-            if (comment.getId().equals(commentId)) {
-                return comment;
+    @Operation(
+            summary = "Patch a comment by ID",
+            description = "Applies a JSON Merge Patch to the comment identified by `postId` and `commentId`. Only the fields sent are written.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Fields of the comment that will be changed.",
+                    required = true,
+                    content = @Content(mediaType = MERGE_PATCH_JSON, schema = @Schema(implementation = CommentPatchDTO.class))
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Comment updated successfully",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentResponseDTO.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not Found - The post or comment does not exist",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Precondition Failed - The If-Match header does not match the current version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity - Invalid Arguments",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
             }
-        }
-        return null;
+    )
+    @PatchMapping(value = "/posts/{postId}/comments/{commentId}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<CommentResponseDTO> patch(
+            @Parameter(description = "ID of the post containing the comment", required = true)
+            @PathVariable String postId,
+            @Parameter(description = "ID of the comment to patch", required = true)
+            @PathVariable String commentId,
+            @Parameter(description = "Merge patch with the fields of the comment that will be changed", required = true)
+            @Valid @RequestBody CommentPatchDTO patch,
+            @Parameter(description = "ETag of the comment the patch is based on. The patch is rejected with 412 if the comment changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Comment comment = commentService.update(postId, commentId, patch, ETags.expectedVersions(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(comment.getVersion())).body(CommentResponseDTO.toDto(comment));
     }
 }
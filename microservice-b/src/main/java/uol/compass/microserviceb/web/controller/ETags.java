@@ -0,0 +1,54 @@
+package uol.compass.microserviceb.web.controller;
+
+import uol.compass.microserviceb.exceptions.PreconditionFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps the {@code @Version} of a document to a strong ETag and back from an {@code If-Match} header.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Returns the versions a conditional request accepts, or {@code null} when the write is unconditional
+     * (no header or {@code If-Match: *}). The header may list several tags and the write goes ahead when the
+     * document is at any of them. {@code If-Match} uses the strong comparison (RFC 9110), so weak tags and tags
+     * that are not one of our versions never match; when no tag can match the write fails with 412.
+     */
+    static List<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            Long version = strongVersion(tag.trim());
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("No ETag in If-Match can match: " + ifMatch);
+        }
+        return versions;
+    }
+
+    // The version in a strong tag such as "3", or null for a weak or foreign tag.
+    private static Long strongVersion(String tag) {
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package uol.compass.microserviceb.web.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,27 +13,55 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import io.swagger.v3.oas.annotations.Parameter;
 import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.model.PostPage;
+import uol.compass.microserviceb.services.PostCache;
 import uol.compass.microserviceb.services.PostService;
 import uol.compass.microserviceb.web.dto.*;
 import uol.compass.microserviceb.web.dto.mapper.PostMapper;
 import uol.compass.microserviceb.web.exception.ErrorMessage;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @Tag(name = "Posts", description = "Endpoints for managing posts")
-@RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/posts")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PostController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private static final String EXPORT_TIMEOUT = PostController.class.getName() + ".exportTimeout";
+
     private final PostService service;
+    private final ObjectWriter exportWriter;
+    private final Duration exportTimeout;
+
+    public PostController(PostService service, ObjectMapper objectMapper,
+                          @Value("${socialmedia.export.timeout:PT1H}") Duration exportTimeout) {
+        this.service = service;
+        // Closing the export's generator must not close the response stream; the servlet container does that.
+        this.exportWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.exportTimeout = exportTimeout;
+    }
 
     @Operation(
             summary = "Create a new post",
@@ -72,12 +104,53 @@ public class PostController {
                                 .fromCurrentRequestUri().path("/{id}")
                                 .buildAndExpand(createdPost.getId())
                                 .toUri();
-                return ResponseEntity.created(location).body(postResponse);
+                return ResponseEntity.created(location).eTag(ETags.of(createdPost.getVersion())).body(postResponse);
+    }
+
+    @Operation(
+            summary = "Create posts in bulk",
+            description = "Creates up to 1000 posts with a single unordered bulk write. Every item is validated on its own; " +
+                    "the ones that are invalid or rejected by the database are reported in `errors` by their index " +
+                    "without aborting the others.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Posts to be created.",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PostCreateDTO.class))
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Ids of the created posts and the items that failed",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkResultDTO.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request - Empty list or more than 1000 items",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            }
+    )
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDTO> createAll(
+            @Parameter(description = "Posts that will be created.", required = true)
+            @RequestBody List<PostCreateDTO> posts
+    ) {
+        return ResponseEntity.ok(service.saveAll(posts));
     }
 
     @Operation(
             summary = "List all posts",
-            description = "Endpoint to retrieve all posts from the database.",
+            description = "Endpoint to retrieve all posts from the database, one page at a time ordered by ID. " +
+                    "Without `limit` a page holds 20 posts; the cursor of the next page is sent in the " +
+                    "`X-Next-Cursor` header.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -87,6 +160,11 @@ public class PostController {
                                     array = @ArraySchema(schema = @Schema(implementation = PostResponseDTO.class))
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request - Invalid limit",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal Server Error",
@@ -95,16 +173,111 @@ public class PostController {
             }
     )
     @GetMapping
-    public ResponseEntity<List<PostResponseDTO>> getAll() {
-            List<Post> listPost = service.findAll();
-            List<PostResponseDTO> listPostResponse = PostMapper.fromListPostToListDto(listPost);
+    public ResponseEntity<List<PostResponseDTO>> getAll(
+            @Parameter(description = "Cursor of the page, as returned in the `X-Next-Cursor` header of the previous page.")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of posts in the page (1 to 100, default 20).")
+            @RequestParam(required = false) Integer limit
+    ) {
+            PostPage<Post> page = service.findPage(after, limit);
+            List<PostResponseDTO> listPostResponse = PostMapper.fromListPostToListDto(page.getPosts());
 
-            return ResponseEntity.ok().body(listPostResponse);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(PostPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(listPostResponse);
+    }
+
+    @Operation(
+            summary = "List post summaries",
+            description = "Endpoint selected with `view=summary`. Returns only the ID, title, a body excerpt and the " +
+                    "number of comments of each post, without loading the comments. Supports the same `after` and " +
+                    "`limit` pagination as the full listing.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Post summaries successfully retrieved.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = PostSummaryDTO.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request - Invalid limit",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            }
+    )
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<PostSummaryDTO>> getAllSummaries(
+            @Parameter(description = "Cursor of the page, as returned in the `X-Next-Cursor` header of the previous page.")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of posts in the page (1 to 100, default 20).")
+            @RequestParam(required = false) Integer limit
+    ) {
+        PostPage<PostSummaryDTO> page = service.findSummaryPage(after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PostPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getPosts());
+    }
+
+    @Operation(
+            summary = "Export all posts",
+            description = "Streams every post, with its latest 100 comments, as newline-delimited JSON (one post per line). " +
+                    "Posts are written as they are read from the database, so the export size is not limited by memory.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Posts successfully exported.",
+                            content = @Content(
+                                    mediaType = "application/x-ndjson",
+                                    schema = @Schema(implementation = PostResponseDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(HttpServletRequest request) {
+        // The body is written asynchronously, so it would otherwise be cut off by the default async timeout of
+        // the container (30 s on Tomcat). The timeout can only be set before the async processing starts.
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_TIMEOUT, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                ((AsyncWebRequest) asyncRequest).setTimeout(exportTimeout.toMillis());
+            }
+        });
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = exportWriter.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                service.forEachPost(post -> writeLine(generator, PostResponseDTO.toDTO(post)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @Operation(
             summary = "Retrieve a post by ID",
-            description = "Endpoint to retrieve a specific post from the database by its unique identifier.",
+            description = "Endpoint to retrieve a specific post from the database by its unique identifier. " +
+                    "The post embeds its latest 100 comments; `GET /api/posts/{postId}/comments` lists them all.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -124,14 +297,15 @@ public class PostController {
             }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<PostResponseDTO> getById(
+    public ResponseEntity<byte[]> getById(
             @Parameter(description = "Id of the post.", required = true)
             @PathVariable String id
     ) {
-        Post post = service.findById(id);
-        PostResponseDTO postResponse = PostResponseDTO.toDTO(post);
+        PostCache.Rendered postResponse = service.findResponseJsonById(id);
 
-        return ResponseEntity.ok().body(postResponse);
+        return ResponseEntity.ok().eTag(ETags.of(postResponse.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(postResponse.json());
     }
 
     @Operation(
@@ -182,6 +356,11 @@ public class PostController {
                             description = "Not found - Post not found",
                             content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Precondition Failed - The If-Match header does not match the current version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
                     @ApiResponse(
                             responseCode = "422",
                             description = "Unprocessable Entity - Invalid Arguments",
@@ -198,11 +377,71 @@ public class PostController {
             @Parameter(description = "Id of the post.", required = true)
             @PathVariable String id,
             @Parameter(description = "Body with the data of the post that will be updated.", required = true)
-            @Valid @RequestBody PostUpdateDTO dto
+            @Valid @RequestBody PostUpdateDTO dto,
+            @Parameter(description = "ETag of the post the update is based on. The update is rejected with 412 if the post changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Post post = service.updatePost(id, dto);
+        Post post = service.updatePost(id, dto, ETags.expectedVersions(ifMatch));
         PostResponseDTO response = PostResponseDTO.toDTO(post);
-        return ResponseEntity.ok().body(response);
+        return ResponseEntity.ok().eTag(ETags.of(post.getVersion())).body(response);
     }
 
+    @Operation(
+            summary = "Patch a post by ID",
+            description = "Applies a JSON Merge Patch to an existing post. Only the fields sent are written.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Fields of the post that will be changed.",
+                    required = true,
+                    content = @Content(mediaType = MERGE_PATCH_JSON, schema = @Schema(implementation = PostPatchDTO.class)
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Post updated successfully",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostResponseDTO.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not found - Post not found",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "Precondition Failed - The If-Match header does not match the current version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity - Invalid Arguments",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<PostResponseDTO> patchPost(
+            @Parameter(description = "Id of the post.", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Merge patch with the fields of the post that will be changed.", required = true)
+            @Valid @RequestBody PostPatchDTO patch,
+            @Parameter(description = "ETag of the post the patch is based on. The patch is rejected with 412 if the post changed since.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Post post = service.patchPost(id, patch, ETags.expectedVersions(ifMatch));
+        PostResponseDTO response = PostResponseDTO.toDTO(post);
+        return ResponseEntity.ok().eTag(ETags.of(post.getVersion())).body(response);
+    }
+
+    private static void writeLine(JsonGenerator generator, PostResponseDTO post) {
+        try {
+            generator.writeObject(post);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
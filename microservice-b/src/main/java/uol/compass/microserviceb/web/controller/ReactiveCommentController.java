@@ -0,0 +1,103 @@
+package uol.compass.microserviceb.web.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import uol.compass.microserviceb.services.ReactiveCommentService;
+import uol.compass.microserviceb.services.ReactivePostService;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
+import uol.compass.microserviceb.web.dto.CommentCreateDTO;
+import uol.compass.microserviceb.web.dto.CommentPatchDTO;
+import uol.compass.microserviceb.web.dto.CommentResponseDTO;
+import uol.compass.microserviceb.web.dto.CommentUpdateDTO;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * {@link CommentController} for the reactive mode ({@code spring.main.web-application-type=reactive}).
+ */
+@Tag(name = "Comments", description = "Endpoints for managing comments on posts")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCommentController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final ReactiveCommentService commentService;
+    private final ReactivePostService postService;
+
+    @PostMapping(value = "/posts/{postId}/comments")
+    public Mono<ResponseEntity<CommentResponseDTO>> create(
+            @PathVariable String postId,
+            @Valid @RequestBody CommentCreateDTO createdComment,
+            UriComponentsBuilder uriBuilder
+    ) {
+        return commentService.addToPost(postId, createdComment.toComment()).map(comment -> {
+            URI location = uriBuilder.path("/api/posts/{postId}/comments/{id}")
+                    .buildAndExpand(postId, comment.getId())
+                    .toUri();
+            return ResponseEntity.created(location).eTag(ETags.of(comment.getVersion())).body(CommentResponseDTO.toDto(comment));
+        });
+    }
+
+    @PostMapping(value = "/posts/{postId}/comments/bulk")
+    public Mono<ResponseEntity<BulkResultDTO>> createAll(
+            @PathVariable String postId,
+            @RequestBody List<CommentCreateDTO> comments
+    ) {
+        return commentService.addAllToPost(postId, comments).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/posts/{postId}/comments")
+    public Mono<ResponseEntity<List<CommentResponseDTO>>> getAllComments(@PathVariable String postId) {
+        return postService.findCommentResponsesByPostId(postId).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/posts/{postId}/comments/{commentId}")
+    public Mono<ResponseEntity<CommentResponseDTO>> getCommentById(
+            @PathVariable String postId,
+            @PathVariable String commentId
+    ) {
+        return commentService.findByPostIdAndId(postId, commentId)
+                .map(comment -> ResponseEntity.ok().eTag(ETags.of(comment.getVersion())).body(CommentResponseDTO.toDto(comment)));
+    }
+
+    @DeleteMapping(value = "/posts/{postId}/comments/{commentId}")
+    public Mono<ResponseEntity<Void>> deleteById(
+            @PathVariable String postId,
+            @PathVariable String commentId
+    ) {
+        return commentService.deleteById(postId, commentId).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PutMapping(value = "/posts/{postId}/comments/{commentId}")
+    public Mono<ResponseEntity<CommentResponseDTO>> update(
+            @PathVariable String postId,
+            @PathVariable String commentId,
+            @Valid @RequestBody CommentUpdateDTO updatedComment,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        CommentPatchDTO patch = new CommentPatchDTO(updatedComment.getName(), updatedComment.getBody());
+        return commentService.update(postId, commentId, patch, ETags.expectedVersions(ifMatch))
+                .map(comment -> ResponseEntity.ok().eTag(ETags.of(comment.getVersion())).body(CommentResponseDTO.toDto(comment)));
+    }
+
+    @PatchMapping(value = "/posts/{postId}/comments/{commentId}", consumes = MERGE_PATCH_JSON)
+    public Mono<ResponseEntity<CommentResponseDTO>> patch(
+            @PathVariable String postId,
+            @PathVariable String commentId,
+            @Valid @RequestBody CommentPatchDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return commentService.update(postId, commentId, patch, ETags.expectedVersions(ifMatch))
+                .map(comment -> ResponseEntity.ok().eTag(ETags.of(comment.getVersion())).body(CommentResponseDTO.toDto(comment)));
+    }
+}
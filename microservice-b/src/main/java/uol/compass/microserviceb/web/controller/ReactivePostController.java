@@ -0,0 +1,109 @@
+package uol.compass.microserviceb.web.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uol.compass.microserviceb.model.PostPage;
+import uol.compass.microserviceb.services.ReactivePostService;
+import uol.compass.microserviceb.web.dto.*;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * {@link PostController} for the reactive mode ({@code spring.main.web-application-type=reactive}): the same
+ * paths, status codes, headers and bodies, served by WebFlux without blocking a thread per request.
+ */
+@Tag(name = "Posts", description = "Endpoints for managing posts")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/posts")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePostController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final ReactivePostService service;
+
+    @PostMapping
+    public Mono<ResponseEntity<PostResponseDTO>> create(@RequestBody @Valid PostCreateDTO post, UriComponentsBuilder uriBuilder) {
+        return service.save(post.toPost()).map(createdPost -> {
+            URI location = uriBuilder.path("/api/posts/{id}").buildAndExpand(createdPost.getId()).toUri();
+            return ResponseEntity.created(location).eTag(ETags.of(createdPost.getVersion())).body(PostResponseDTO.toDTO(createdPost));
+        });
+    }
+
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<BulkResultDTO>> createAll(@RequestBody List<PostCreateDTO> posts) {
+        return service.saveAll(posts).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<PostResponseDTO>>> getAll(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return service.findPage(after, limit)
+                .map(page -> withNextCursor(page).body(Flux.fromIterable(page.getPosts()).map(PostResponseDTO::toDTO)));
+    }
+
+    @GetMapping(params = "view=summary")
+    public Mono<ResponseEntity<Flux<PostSummaryDTO>>> getAllSummaries(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return service.findSummaryPage(after, limit)
+                .map(page -> withNextCursor(page).body(Flux.fromIterable(page.getPosts())));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PostResponseDTO> export() {
+        return service.streamAll().map(PostResponseDTO::toDTO);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PostResponseDTO>> getById(@PathVariable String id) {
+        return service.findResponseById(id)
+                .map(post -> ResponseEntity.ok().eTag(ETags.of(post.getVersion())).body(post));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteById(@PathVariable String id) {
+        return service.deletePostById(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<PostResponseDTO>> updatePost(
+            @PathVariable String id,
+            @Valid @RequestBody PostUpdateDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return service.updatePost(id, dto, ETags.expectedVersions(ifMatch))
+                .map(post -> ResponseEntity.ok().eTag(ETags.of(post.getVersion())).body(PostResponseDTO.toDTO(post)));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public Mono<ResponseEntity<PostResponseDTO>> patchPost(
+            @PathVariable String id,
+            @Valid @RequestBody PostPatchDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return service.patchPost(id, patch, ETags.expectedVersions(ifMatch))
+                .map(post -> ResponseEntity.ok().eTag(ETags.of(post.getVersion())).body(PostResponseDTO.toDTO(post)));
+    }
+
+    private static ResponseEntity.BodyBuilder withNextCursor(PostPage<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(PostPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response;
+    }
+}
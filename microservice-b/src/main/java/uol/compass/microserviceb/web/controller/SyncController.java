@@ -1,42 +1,45 @@
 package uol.compass.microserviceb.web.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import uol.compass.microserviceb.model.Post;
-import uol.compass.microserviceb.services.PostService;
-import uol.compass.microserviceb.web.dto.PostResponseDTO;
-import uol.compass.microserviceb.web.dto.mapper.PostMapper;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import uol.compass.microserviceb.services.SyncJobService;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
 import uol.compass.microserviceb.web.exception.ErrorMessage;
 
-import java.util.List;
+import java.net.URI;
 
 @Tag(name = "Synchronization", description = "Synchronize data from JSONPlaceholder to the local database.")
 @AllArgsConstructor
 @RestController
 @RequestMapping(value = "/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SyncController {
-    private final PostService service;
+    private final SyncJobService service;
 
     @Operation(
             summary = "Sync JsonPlaceholder data with MongoDB",
-            description = "Endpoint to sync JsonPlaceHolder data with system data base.",
+            description = "Endpoint to start a sync of JsonPlaceHolder posts, comments and users with system data base. " +
+                    "The sync runs in the background and its progress is polled at the returned `Location`. Records " +
+                    "are matched by their JsonPlaceHolder ID, so running the sync again only writes what changed " +
+                    "upstream. If a sync is already running, on this or on another instance, the running job is " +
+                    "returned instead of starting another.",
             responses = {
                     @ApiResponse(
-                            responseCode = "200",
-                            description = "Ok - Successfully Synced.",
-                            content = @Content(
-                                    mediaType = "application/json",
-                                    array = @ArraySchema(schema = @Schema(implementation = PostResponseDTO.class))
-                            )
+                            responseCode = "202",
+                            description = "Accepted - Sync started, or already running.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SyncJobDTO.class))
                     ),
                     @ApiResponse(
                             responseCode = "500",
@@ -46,10 +49,41 @@ public class SyncController {
             }
     )
     @PostMapping("/sync")
-    public ResponseEntity<List<PostResponseDTO>> syncData() {
-        List<Post> listPost = service.syncData();
-        List<PostResponseDTO> listDto = PostMapper.fromListPostToListDto(listPost);
+    public ResponseEntity<SyncJobDTO> syncData() {
+        SyncJobDTO job = service.start();
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest().path("/{jobId}")
+                .buildAndExpand(job.getId())
+                .toUri();
 
-        return ResponseEntity.ok().body(listDto);
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Operation(
+            summary = "Retrieve a sync job",
+            description = "Endpoint to poll a sync job. While it runs, the number of inserted, updated, unchanged and " +
+                    "skipped records grows per resource; the duration and throughput are reported when it finishes.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ok - Sync job successfully retrieved.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SyncJobDTO.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not found - Sync job not found.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            }
+    )
+    @GetMapping("/sync/{jobId}")
+    public ResponseEntity<SyncJobDTO> getSyncJob(@PathVariable String jobId) {
+        return ResponseEntity.ok().body(service.findById(jobId));
     }
 }
@@ -0,0 +1,14 @@
+package uol.compass.microserviceb.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class BulkItemErrorDTO {
+    private int index;
+    private String message;
+}
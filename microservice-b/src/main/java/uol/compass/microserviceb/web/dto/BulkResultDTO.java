@@ -0,0 +1,21 @@
+package uol.compass.microserviceb.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk create. {@code ids} has one entry per submitted item, in the same order,
+ * and is {@code null} where the item failed; the reason is in {@code errors}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class BulkResultDTO {
+    private int inserted;
+    private List<String> ids;
+    private List<BulkItemErrorDTO> errors;
+}
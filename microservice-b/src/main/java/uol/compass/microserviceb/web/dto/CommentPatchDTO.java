@@ -0,0 +1,24 @@
+package uol.compass.microserviceb.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * JSON Merge Patch for a comment. Absent or {@code null} fields are left unchanged.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommentPatchDTO {
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Size(min = 2, max = 180)
+    private String name;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    @Size(min = 3, max = 1080)
+    private String body;
+}
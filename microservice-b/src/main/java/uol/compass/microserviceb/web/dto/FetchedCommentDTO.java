@@ -0,0 +1,27 @@
+package uol.compass.microserviceb.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uol.compass.microserviceb.model.Comment;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class FetchedCommentDTO implements FetchedRecord {
+    private long id;
+    private long postId;
+    private String name;
+    private String email;
+    private String body;
+
+    @Override
+    public String contentHash() {
+        return FetchedRecord.sha256(postId, name, email, body);
+    }
+
+    public Comment toComment() {
+        return new Comment(email, name, body);
+    }
+}
@@ -4,18 +4,18 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import uol.compass.microserviceb.model.Post;
 
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter @Setter
-public class FetchedPostDTO {
+public class FetchedPostDTO implements FetchedRecord {
     private long id;
     private long userId;
     private String title;
     private String body;
 
-    public Post toPost() {
-        return new Post(this.title, this.body);
+    @Override
+    public String contentHash() {
+        return FetchedRecord.sha256(userId, title, body);
     }
 }
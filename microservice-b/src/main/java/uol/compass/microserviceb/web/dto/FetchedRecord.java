@@ -0,0 +1,32 @@
+package uol.compass.microserviceb.web.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A record read from JSONPlaceholder, identified by its upstream id.
+ */
+public interface FetchedRecord {
+
+    long getId();
+
+    /**
+     * Hash of the fields copied from JSONPlaceholder; equal hashes mean the record did not change upstream.
+     */
+    String contentHash();
+
+    static String sha256(Object... fields) {
+        StringBuilder content = new StringBuilder();
+        for (Object field : fields) {
+            content.append(field).append('\0');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
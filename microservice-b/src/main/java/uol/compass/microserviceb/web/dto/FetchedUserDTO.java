@@ -0,0 +1,21 @@
+package uol.compass.microserviceb.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class FetchedUserDTO implements FetchedRecord {
+    private long id;
+    private String name;
+    private String username;
+    private String email;
+
+    @Override
+    public String contentHash() {
+        return FetchedRecord.sha256(name, username, email);
+    }
+}
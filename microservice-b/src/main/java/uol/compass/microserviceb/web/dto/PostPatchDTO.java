@@ -0,0 +1,23 @@
+package uol.compass.microserviceb.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * JSON Merge Patch for a post. Absent fields are left unchanged; {@code null} is treated the same way
+ * because a post always needs a title and a body.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostPatchDTO {
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Size(min = 3, max = 80)
+    private String title;
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    @Size(min = 3, max = 2080)
+    private String body;
+}
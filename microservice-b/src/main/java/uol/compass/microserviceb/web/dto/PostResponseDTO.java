@@ -1,5 +1,6 @@
 package uol.compass.microserviceb.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,9 +17,23 @@ public class PostResponseDTO {
     private String title;
     private String body;
     private List<CommentResponseDTO> comments;
+    // Sent as the ETag header, not in the body.
+    @JsonIgnore
+    private Long version;
+    // Every comment of the post; "comments" only holds the latest Post.EMBEDDED_COMMENTS of them.
+    @JsonIgnore
+    private Integer commentCount;
 
     public static PostResponseDTO toDTO(Post post) {
         List<CommentResponseDTO> commentResponseDTO = post.getComments().stream().map(CommentResponseDTO::toDto).toList();
-        return new PostResponseDTO(post.getId(), post.getTitle(), post.getBody(), commentResponseDTO);
+        return new PostResponseDTO(post.getId(), post.getTitle(), post.getBody(), commentResponseDTO, post.getVersion(),
+                post.getCommentCount());
+    }
+
+    /**
+     * Whether {@code comments} holds every comment of the post, so they need not be read from the comments collection.
+     */
+    public boolean embedsAllComments() {
+        return commentCount == null || commentCount <= (comments == null ? 0 : comments.size());
     }
 }
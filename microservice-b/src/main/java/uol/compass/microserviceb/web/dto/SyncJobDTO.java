@@ -0,0 +1,26 @@
+package uol.compass.microserviceb.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * State of a sync job. While it runs, the counters of each resource grow as batches are written;
+ * the duration and throughput are filled in when it finishes.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class SyncJobDTO {
+    private String id;
+    private String status;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+    private SyncResultDTO posts;
+    private SyncResultDTO comments;
+    private SyncResultDTO users;
+}
@@ -0,0 +1,15 @@
+package uol.compass.microserviceb.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class SyncReportDTO {
+    private SyncResultDTO posts;
+    private SyncResultDTO comments;
+    private SyncResultDTO users;
+}
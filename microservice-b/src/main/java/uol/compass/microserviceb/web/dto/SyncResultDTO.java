@@ -0,0 +1,31 @@
+package uol.compass.microserviceb.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of the sync of one resource. {@code skipped} counts records that could not be linked,
+ * like comments of a post that was not synced.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+public class SyncResultDTO {
+    private int fetched;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int skipped;
+    private long durationMillis;
+    private double recordsPerSecond;
+
+    public void add(SyncResultDTO other) {
+        this.fetched += other.fetched;
+        this.inserted += other.inserted;
+        this.updated += other.updated;
+        this.unchanged += other.unchanged;
+        this.skipped += other.skipped;
+    }
+}
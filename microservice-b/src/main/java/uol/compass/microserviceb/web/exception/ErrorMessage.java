@@ -6,6 +6,7 @@ import java.util.Map;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 
@@ -47,6 +48,20 @@ public class ErrorMessage {
         this.addErrors(result);
     }
 
+    public ErrorMessage(ServerHttpRequest request, HttpStatus status, String message) {
+        super();
+        this.path = request.getPath().value();
+        this.method = request.getMethod().name();
+        this.status = status.value();
+        this.statusMessage = status.getReasonPhrase();
+        this.message = message;
+    }
+
+    public ErrorMessage(ServerHttpRequest request, HttpStatus status, String message, BindingResult result) {
+        this(request, status, message);
+        this.addErrors(result);
+    }
+
     private void addErrors(BindingResult result) {
         this.errors = new HashMap<>();
         for (FieldError fieldError : result.getFieldErrors()) {
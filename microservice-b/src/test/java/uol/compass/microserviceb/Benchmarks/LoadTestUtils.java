@@ -0,0 +1,97 @@
+package uol.compass.microserviceb.Benchmarks;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Load generator shared by the benchmarks: keeps a fixed number of requests in flight against a running app,
+ * each over its own keep-alive connection, and records the latency of every one.
+ */
+public class LoadTestUtils {
+
+    public static WebClient client(ConnectionProvider connections, String port) {
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + port + "/api/posts")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+    }
+
+    public static Result load(WebClient client, int requests, int concurrency, IntFunction<String> uri) {
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Long> latencies = Flux.range(0, requests)
+                .flatMap(i -> timed(client.get().uri(uri.apply(i)).retrieve().bodyToMono(byte[].class), errors),
+                        concurrency)
+                .collectList()
+                .block(Duration.ofMinutes(10));
+        long elapsed = System.nanoTime() - start;
+
+        long[] samples = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(samples);
+        return new Result(samples, elapsed, errors.get());
+    }
+
+    private static Mono<Long> timed(Mono<byte[]> request, AtomicInteger errors) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request
+                    .map(body -> System.nanoTime() - start)
+                    .onErrorResume(e -> {
+                        errors.incrementAndGet();
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    public static void insertPosts(MongoTemplate mongoTemplate, int posts, int commentsPerPost) {
+        mongoTemplate.dropCollection("posts");
+        List<Document> documents = new ArrayList<>();
+        for (int p = 0; p < posts; p++) {
+            String postId = postId(p);
+            List<Document> comments = new ArrayList<>();
+            for (int c = 0; c < commentsPerPost; c++) {
+                comments.add(new Document("_id", postId + "-comment-" + c).append("postId", postId)
+                        .append("email", "bench@email.com").append("name", "Bench").append("body", "Comment " + c));
+            }
+            documents.add(new Document("_id", postId).append("title", "Post " + p).append("body", "Body " + p)
+                    .append("comments", comments).append("version", 0L));
+        }
+        mongoTemplate.getCollection("posts").insertMany(documents);
+    }
+
+    public static String postId(int p) {
+        return String.format("post-%05d", p);
+    }
+
+    public record Result(long[] samples, long elapsedNanos, int errors) {
+        public void report(String label) {
+            if (samples.length == 0) {
+                System.out.printf("%-34s every request failed (%d errors)%n", label, errors);
+                return;
+            }
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%-34s %9.0f req/s   p50 %8.2f ms   p99 %8.2f ms   max %8.2f ms   errors %d%n",
+                    label, samples.length / seconds, percentile(0.50), percentile(0.99),
+                    samples[samples.length - 1] / 1_000_000.0, errors);
+        }
+
+        private double percentile(double p) {
+            return samples[(int) Math.ceil(samples.length * p) - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package uol.compass.microserviceb.Benchmarks;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import uol.compass.microserviceb.migrations.EmbedCommentsMigration;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares the cost of listing posts with the old {@code @DBRef} layout (one query for the posts
+ * plus one per referenced comment) against the embedded layout (a single query).
+ * Run with {@code mvn test -Pbenchmark}; sizes can be changed with
+ * {@code -Dbenchmark.posts}, {@code -Dbenchmark.comments} and {@code -Dbenchmark.iterations}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PostListBenchmarkTests {
+    private static final int POSTS = Integer.getInteger("benchmark.posts", 100);
+    private static final int COMMENTS_PER_POST = Integer.getInteger("benchmark.comments", 20);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+
+    @Autowired
+    private WebTestClient testClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EmbedCommentsMigration migration;
+
+    @AfterEach
+    public void cleanUp() {
+        mongoTemplate.dropCollection(Post.class);
+        mongoTemplate.dropCollection(Comment.class);
+    }
+
+    @Test
+    public void listPosts_ReferencedVersusEmbeddedComments() {
+        insertLegacyData();
+        MongoCollection<Document> posts = mongoTemplate.getCollection("posts");
+        MongoCollection<Document> comments = mongoTemplate.getCollection("comments");
+
+        long[] referenced = measure(() -> {
+            for (Document post : posts.find()) {
+                for (Object reference : post.getList("comments", Object.class)) {
+                    Object id = reference instanceof DBRef dbRef ? dbRef.getId() : ((Document) reference).get("$id");
+                    comments.find(new Document("_id", id)).first();
+                }
+            }
+        });
+
+        migration.migrate();
+
+        long[] embedded = measure(() -> posts.find().into(new ArrayList<>()));
+        long[] endpoint = measure(() -> testClient.get().uri("api/posts").exchange().expectStatus().isOk());
+
+        System.out.printf("%n%d posts x %d comments, %d iterations%n", POSTS, COMMENTS_PER_POST, ITERATIONS);
+        report("Referenced (before)", referenced);
+        report("Embedded (after)", embedded);
+        report("GET /api/posts (after)", endpoint);
+    }
+
+    private void insertLegacyData() {
+        List<Document> posts = new ArrayList<>();
+        List<Document> comments = new ArrayList<>();
+        for (int p = 0; p < POSTS; p++) {
+            String postId = "post-" + p;
+            List<DBRef> references = new ArrayList<>();
+            for (int c = 0; c < COMMENTS_PER_POST; c++) {
+                String commentId = postId + "-comment-" + c;
+                references.add(new DBRef("comments", commentId));
+                comments.add(new Document("_id", commentId).append("post", new DBRef("posts", postId))
+                        .append("email", "bench@email.com").append("name", "Bench").append("body", "Comment " + c));
+            }
+            posts.add(new Document("_id", postId).append("title", "Post " + p).append("body", "Body " + p)
+                    .append("comments", references));
+        }
+        mongoTemplate.getCollection("posts").insertMany(posts);
+        if (!comments.isEmpty()) {
+            mongoTemplate.getCollection("comments").insertMany(comments);
+        }
+    }
+
+    private static long[] measure(Runnable action) {
+        action.run();
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static void report(String label, long[] samples) {
+        double median = samples[samples.length / 2] / 1_000_000.0;
+        double p95 = samples[(int) Math.ceil(samples.length * 0.95) - 1] / 1_000_000.0;
+        System.out.printf("%-24s median %8.2f ms   p95 %8.2f ms%n", label, median, p95);
+    }
+}
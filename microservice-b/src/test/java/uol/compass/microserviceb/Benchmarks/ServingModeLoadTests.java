@@ -0,0 +1,83 @@
+package uol.compass.microserviceb.Benchmarks;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import uol.compass.microserviceb.Benchmarks.LoadTestUtils.Result;
+import uol.compass.microserviceb.MicroserviceBApplication;
+
+/**
+ * Load test of the two serving modes. Starts the app once on the servlet stack and once on the reactive
+ * stack, then fires the same mix of {@code GET /api/posts/{id}} and paged {@code GET /api/posts} at each
+ * with a fixed number of requests in flight, and prints throughput and latency percentiles.
+ * Run with {@code mvn test -Pbenchmark}; the load can be changed with {@code -Dbenchmark.concurrency},
+ * {@code -Dbenchmark.requests}, {@code -Dbenchmark.posts} and {@code -Dbenchmark.comments}.
+ */
+@Tag("benchmark")
+public class ServingModeLoadTests {
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 512);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 50_000);
+    private static final int POSTS = Integer.getInteger("benchmark.posts", 1_000);
+    private static final int COMMENTS_PER_POST = Integer.getInteger("benchmark.comments", 10);
+
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+    private static ConnectionProvider connections;
+
+    @BeforeAll
+    static void startBothModes() {
+        servlet = start("servlet");
+        reactive = start("reactive");
+        LoadTestUtils.insertPosts(servlet.getBean(MongoTemplate.class), POSTS, COMMENTS_PER_POST);
+        connections = ConnectionProvider.builder("load-test").maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1).build();
+    }
+
+    @AfterAll
+    static void stop() {
+        servlet.getBean(MongoTemplate.class).dropCollection("posts");
+        connections.dispose();
+        servlet.close();
+        reactive.close();
+    }
+
+    @Test
+    public void readPosts_ServletVersusReactive() {
+        // Warm-up runs let both stacks JIT-compile and open their connection pools before they are measured.
+        load(servlet, REQUESTS / 10);
+        load(reactive, REQUESTS / 10);
+
+        Result servletResult = load(servlet, REQUESTS);
+        Result reactiveResult = load(reactive, REQUESTS);
+
+        System.out.printf("%n%d requests, %d in flight, %d posts x %d comments%n",
+                REQUESTS, CONCURRENCY, POSTS, COMMENTS_PER_POST);
+        servletResult.report("Servlet (MVC, Tomcat)");
+        reactiveResult.report("Reactive (WebFlux, Netty)");
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        return new SpringApplicationBuilder(MicroserviceBApplication.class)
+                .properties("spring.main.web-application-type=" + mode, "server.port=0",
+                        "socialmedia.reaper.enabled=false")
+                .run();
+    }
+
+    private static Result load(ConfigurableApplicationContext app, int requests) {
+        WebClient client = LoadTestUtils.client(connections, app.getEnvironment().getProperty("local.server.port"));
+        return LoadTestUtils.load(client, requests, CONCURRENCY, ServingModeLoadTests::uri);
+    }
+
+    // Nine single-post reads for every page of 20 posts.
+    private static String uri(int i) {
+        return i % 10 == 0
+                ? "?limit=20&after=" + LoadTestUtils.postId((i / 10) % Math.max(POSTS - 20, 1))
+                : "/" + LoadTestUtils.postId(i % POSTS);
+    }
+}
@@ -0,0 +1,90 @@
+package uol.compass.microserviceb.Benchmarks;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import uol.compass.microserviceb.Benchmarks.LoadTestUtils.Result;
+import uol.compass.microserviceb.MicroserviceBApplication;
+
+import java.util.Arrays;
+
+/**
+ * Load test of the servlet mode on platform threads and on virtual threads
+ * ({@code spring.threads.virtual.enabled}). Each level of {@code -Dbenchmark.connections} (1k and 10k by
+ * default) keeps that many connections open, each with one {@code GET /api/posts/{id}} in flight, and prints
+ * throughput and latency percentiles for both modes.
+ * Run with {@code mvn test -Pbenchmark -Dtest=ThreadingModeLoadTests}. 10k connections need a file descriptor
+ * limit of at least 25k ({@code ulimit -n}).
+ */
+@Tag("benchmark")
+public class ThreadingModeLoadTests {
+    private static final int[] CONNECTIONS = Arrays.stream(System.getProperty("benchmark.connections", "1000,10000")
+            .split(",")).mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+    private static final int REQUESTS_PER_CONNECTION = Integer.getInteger("benchmark.requestsPerConnection", 20);
+    private static final int POSTS = Integer.getInteger("benchmark.posts", 1_000);
+    private static final int COMMENTS_PER_POST = Integer.getInteger("benchmark.comments", 10);
+
+    private static ConfigurableApplicationContext platform;
+    private static ConfigurableApplicationContext virtual;
+
+    @BeforeAll
+    static void startBothModes() {
+        platform = start(false);
+        virtual = start(true);
+        LoadTestUtils.insertPosts(platform.getBean(MongoTemplate.class), POSTS, COMMENTS_PER_POST);
+    }
+
+    @AfterAll
+    static void stop() {
+        platform.getBean(MongoTemplate.class).dropCollection("posts");
+        platform.close();
+        virtual.close();
+    }
+
+    @Test
+    public void readPosts_PlatformVersusVirtualThreads() {
+        for (int connections : CONNECTIONS) {
+            ConnectionProvider provider = ConnectionProvider.builder("load-test-" + connections)
+                    .maxConnections(connections).pendingAcquireMaxCount(-1).build();
+            try {
+                int requests = connections * REQUESTS_PER_CONNECTION;
+                // Warm-up runs open the connections and let both modes JIT-compile before they are measured.
+                load(platform, provider, connections, requests / 10);
+                Result platformResult = load(platform, provider, connections, requests);
+                load(virtual, provider, connections, requests / 10);
+                Result virtualResult = load(virtual, provider, connections, requests);
+
+                System.out.printf("%n%d requests over %d connections, %d posts x %d comments%n",
+                        requests, connections, POSTS, COMMENTS_PER_POST);
+                platformResult.report("Platform threads (Tomcat pool)");
+                virtualResult.report("Virtual threads");
+            } finally {
+                provider.dispose();
+            }
+        }
+    }
+
+    // Both modes accept every benchmark connection, so they differ only in the threads serving them.
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        int maxConnections = Arrays.stream(CONNECTIONS).max().orElse(0) + 1_000;
+        return new SpringApplicationBuilder(MicroserviceBApplication.class)
+                .properties("spring.main.web-application-type=servlet", "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=" + maxConnections,
+                        "server.tomcat.accept-count=" + maxConnections,
+                        "socialmedia.reaper.enabled=false")
+                .run();
+    }
+
+    private static Result load(ConfigurableApplicationContext app, ConnectionProvider provider,
+            int connections, int requests) {
+        WebClient client = LoadTestUtils.client(provider, app.getEnvironment().getProperty("local.server.port"));
+        return LoadTestUtils.load(client, requests, connections, i -> "/" + LoadTestUtils.postId(i % POSTS));
+    }
+}
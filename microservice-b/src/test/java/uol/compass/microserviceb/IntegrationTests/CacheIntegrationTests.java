@@ -0,0 +1,157 @@
+package uol.compass.microserviceb.IntegrationTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.services.PostCache;
+import uol.compass.microserviceb.web.dto.CommentCreateDTO;
+import uol.compass.microserviceb.web.dto.CommentResponseDTO;
+import uol.compass.microserviceb.web.dto.CommentUpdateDTO;
+import uol.compass.microserviceb.web.dto.PostResponseDTO;
+import uol.compass.microserviceb.web.dto.PostUpdateDTO;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Writes made straight to MongoDB bypass the cache, so a read that still returns the old value proves it was cached.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "socialmedia.cache.enabled=true",
+        "management.endpoints.web.exposure.include=metrics"
+})
+public class CacheIntegrationTests {
+
+    @Autowired
+    private WebTestClient testClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PostCache cache;
+
+    private final String BASE_URI = "api/posts";
+
+    @BeforeEach
+    public void insertTestPost() {
+        mongoTemplate.insert(new Post("1", "Título do Post 1", "Conteúdo do Post 1"));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        mongoTemplate.dropCollection(Post.class);
+        mongoTemplate.dropCollection(Comment.class);
+        cache.evictAll();
+    }
+
+    @Test
+    public void getPostById_ReadTwice_ServesTheSecondReadFromTheCache() {
+        getPost("1");
+        renameInDatabase("1", "Changed behind the cache");
+
+        assertThat(getPost("1").getTitle()).isEqualTo("Título do Post 1");
+    }
+
+    @Test
+    public void getPostById_AfterUpdate_ReturnsTheUpdatedPost() {
+        getPost("1");
+
+        testClient.put()
+                .uri(BASE_URI + "/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostUpdateDTO("Updated title", "Updated body"))
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(getPost("1").getTitle()).isEqualTo("Updated title");
+    }
+
+    @Test
+    public void getPostById_AfterDelete_ReturnStatus404() {
+        getPost("1");
+
+        testClient.delete().uri(BASE_URI + "/1").exchange().expectStatus().isNoContent();
+
+        testClient.get().uri(BASE_URI + "/1").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    public void getComments_AfterCommentCreatedAndUpdated_ReturnsTheCurrentComments() {
+        assertThat(getComments("1")).isEmpty();
+
+        CommentResponseDTO created = testClient.post()
+                .uri(BASE_URI + "/1/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CommentCreateDTO("email@test.com", "Test Name", "Test Body"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CommentResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(created).isNotNull();
+        assertThat(getComments("1")).extracting(CommentResponseDTO::getBody).containsExactly("Test Body");
+        getComment("1", created.getId());
+
+        testClient.put()
+                .uri(BASE_URI + "/1/comments/" + created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CommentUpdateDTO("Test Name", "Updated Body"))
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(getComment("1", created.getId()).getBody()).isEqualTo("Updated Body");
+        assertThat(getComments("1")).extracting(CommentResponseDTO::getBody).containsExactly("Updated Body");
+    }
+
+    @Test
+    public void cacheMetrics_AfterHitAndMiss_AreExposed() {
+        getPost("1");
+        getPost("1");
+
+        testClient.get()
+                .uri("actuator/metrics/cache.gets?tag=cache:posts&tag=result:hit")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.measurements[0].value").value(hits -> assertThat(((Number) hits).doubleValue()).isPositive());
+    }
+
+    private PostResponseDTO getPost(String id) {
+        return testClient.get()
+                .uri(BASE_URI + "/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    private List<CommentResponseDTO> getComments(String postId) {
+        return testClient.get()
+                .uri("api/posts/" + postId + "/comments")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CommentResponseDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    private CommentResponseDTO getComment(String postId, String commentId) {
+        return testClient.get()
+                .uri("api/posts/" + postId + "/comments/" + commentId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CommentResponseDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    private void renameInDatabase(String id, String title) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), new Update().set("title", title), Post.class);
+    }
+}
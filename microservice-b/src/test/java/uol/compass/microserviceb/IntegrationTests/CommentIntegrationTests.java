@@ -13,8 +13,12 @@ import uol.compass.microserviceb.model.Post;
 import uol.compass.microserviceb.web.dto.*;
 import uol.compass.microserviceb.web.exception.ErrorMessage;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static uol.compass.microserviceb.utils.IntegrationTestsUtils.PRE_SAVED_COMMENTS;
 import static uol.compass.microserviceb.utils.IntegrationTestsUtils.PRE_SAVED_POSTS;
@@ -42,11 +46,11 @@ public class CommentIntegrationTests {
         );
 
         PRE_SAVED_POSTS.forEach(
-                (key, post) -> mongoTemplate.save(post)
+                (key, post) -> mongoTemplate.insert(post)
         );
 
         PRE_SAVED_COMMENTS.forEach(
-                (key, comment) -> mongoTemplate.save(comment)
+                (key, comment) -> mongoTemplate.insert(comment)
         );
     }
 
@@ -82,6 +86,69 @@ public class CommentIntegrationTests {
 
     }
 
+    @Test
+    public void createComment_Concurrently_KeepsEveryCommentInPost() throws Exception {
+        String postId = "1";
+        int oldNumberOfComments = mongoTemplate.findById(postId, Post.class).getComments().size();
+        int newComments = 20;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> requests = new ArrayList<>();
+        for (int i = 0; i < newComments; i++) {
+            requests.add(executor.submit(() -> testClient
+                    .post()
+                    .uri(BASE_URI + "/" + postId + "/comments")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new CommentCreateDTO("valid@email.com", "John Doe", "A Normal Body"))
+                    .exchange()
+                    .expectStatus().isCreated()));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+        executor.shutdown();
+
+        Integer newNumberOfComments = mongoTemplate.findById(postId, Post.class).getComments().size();
+        org.assertj.core.api.Assertions.assertThat(newNumberOfComments).isEqualTo(oldNumberOfComments + newComments);
+    }
+
+    @Test
+    public void createComments_InBulk_PushesEveryInsertedCommentIntoPost() {
+        String postId = "1";
+        int oldNumberOfComments = mongoTemplate.findById(postId, Post.class).getComments().size();
+
+        BulkResultDTO responseBody = testClient
+                .post()
+                .uri(BASE_URI + "/" + postId + "/comments/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        new CommentCreateDTO("valid@email.com", "John Doe", "A Normal Body"),
+                        new CommentCreateDTO("invalid-email", "John Doe", "A Normal Body"),
+                        new CommentCreateDTO("other@email.com", "Jane Doe", "Another Body")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BulkResultDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getInserted()).isEqualTo(2);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getErrors()).extracting(BulkItemErrorDTO::getIndex).containsExactly(1);
+
+        Integer newNumberOfComments = mongoTemplate.findById(postId, Post.class).getComments().size();
+        org.assertj.core.api.Assertions.assertThat(newNumberOfComments).isEqualTo(oldNumberOfComments + 2);
+    }
+
+    @Test
+    public void createComments_InBulk_ForNonExistentPost_ReturnStatus404() {
+        testClient
+                .post()
+                .uri(BASE_URI + "/999/comments/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(new CommentCreateDTO("valid@email.com", "John Doe", "A Normal Body")))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     public void createComment_WithEmailNull_ReturnErrorMessageWithStatus422() {
         String postId = "1";
@@ -616,6 +683,22 @@ public class CommentIntegrationTests {
         org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
     }
 
+    @Test
+    public void getCommentById_WithCommentFromAnotherPost_ReturnErrorMessageWithStatus404(){
+        int postId = 1;
+        int commentId = 3;
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri(BASE_URI + "/" + postId + "/comments" + "/" + commentId)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+    }
+
     @Test
     public void updateCommentById_WithValidIdAndNameNull_ReturnErrorMessageWithStatus422(){
         int postId = 1;
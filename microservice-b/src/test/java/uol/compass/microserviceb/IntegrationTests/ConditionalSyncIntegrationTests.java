@@ -0,0 +1,179 @@
+package uol.compass.microserviceb.IntegrationTests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.model.User;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static uol.compass.microserviceb.utils.IntegrationTestsUtils.awaitSyncJob;
+import static uol.compass.microserviceb.utils.IntegrationTestsUtils.startSync;
+
+// Runs the sync against a local stand-in for JSONPlaceholder that honours If-None-Match.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "socialmedia.sync.batch-size=2")
+public class ConditionalSyncIntegrationTests {
+
+    private static final HttpServer UPSTREAM;
+    private static final AtomicInteger VERSION = new AtomicInteger();
+    private static final AtomicInteger NOT_MODIFIED = new AtomicInteger();
+    private static final AtomicInteger FULL_RESPONSES = new AtomicInteger();
+    private static final List<String> POSTS = new ArrayList<>();
+
+    static {
+        try {
+            UPSTREAM = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        UPSTREAM.createContext("/", ConditionalSyncIntegrationTests::serve);
+        UPSTREAM.start();
+    }
+
+    @Autowired
+    private WebTestClient testClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("socialmedia.sync.upstream-url",
+                () -> "http://localhost:" + UPSTREAM.getAddress().getPort() + "/");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.stop(0);
+    }
+
+    @BeforeEach
+    public void cleanUpBefore() {
+        // A new version invalidates whatever validators a previous test left in the source.
+        VERSION.incrementAndGet();
+        POSTS.clear();
+        for (int id = 1; id <= 3; id++) {
+            POSTS.add(post(id, "Title " + id));
+        }
+        NOT_MODIFIED.set(0);
+        FULL_RESPONSES.set(0);
+        dropCollections();
+    }
+
+    @AfterEach
+    public void cleanUpAfter() {
+        dropCollections();
+    }
+
+    @Test
+    public void sync_WhenUpstreamIsNotModified_SkipsThePagesWithoutWriting() {
+        sync();
+        // Changed without touching the content hash: a write would overwrite it.
+        mongoTemplate.updateFirst(Query.query(Criteria.where("externalId").is(1L)),
+                new Update().set("title", "Changed locally"), Post.class);
+        FULL_RESPONSES.set(0);
+
+        SyncJobDTO responseBody = sync();
+
+        org.assertj.core.api.Assertions.assertThat(NOT_MODIFIED.get()).isPositive();
+        org.assertj.core.api.Assertions.assertThat(FULL_RESPONSES.get()).isZero();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getFetched()).isZero();
+        Post post = mongoTemplate.findOne(Query.query(Criteria.where("externalId").is(1L)), Post.class);
+        org.assertj.core.api.Assertions.assertThat(post.getTitle()).isEqualTo("Changed locally");
+    }
+
+    @Test
+    public void sync_WhenUpstreamChanged_FetchesThePagesAgain() {
+        sync();
+        VERSION.incrementAndGet();
+        POSTS.set(2, post(3, "Changed upstream"));
+        NOT_MODIFIED.set(0);
+
+        SyncJobDTO responseBody = sync();
+
+        org.assertj.core.api.Assertions.assertThat(NOT_MODIFIED.get()).isZero();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getFetched()).isEqualTo(3);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getUpdated()).isEqualTo(1);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getUnchanged()).isEqualTo(2);
+        Post post = mongoTemplate.findOne(Query.query(Criteria.where("externalId").is(3L)), Post.class);
+        org.assertj.core.api.Assertions.assertThat(post.getTitle()).isEqualTo("Changed upstream");
+    }
+
+    private SyncJobDTO sync() {
+        SyncJobDTO job = awaitSyncJob(testClient, startSync(testClient).getId());
+        org.assertj.core.api.Assertions.assertThat(job.getStatus()).isEqualTo("SUCCEEDED");
+        return job;
+    }
+
+    private void dropCollections() {
+        mongoTemplate.dropCollection(Post.class);
+        mongoTemplate.dropCollection(Comment.class);
+        mongoTemplate.dropCollection(User.class);
+    }
+
+    private static String post(int id, String title) {
+        return "{\"userId\":1,\"id\":" + id + ",\"title\":\"" + title + "\",\"body\":\"Body " + id + "\"}";
+    }
+
+    private static void serve(HttpExchange exchange) throws IOException {
+        String resource = exchange.getRequestURI().getPath().substring(1);
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                String[] pair = param.split("=", 2);
+                params.put(pair[0], pair.length > 1 ? pair[1] : "");
+            }
+        }
+        int page = Integer.parseInt(params.getOrDefault("_page", "1"));
+        int limit = Integer.parseInt(params.getOrDefault("_limit", "10"));
+        String etag = "\"" + resource + "-" + page + "-" + VERSION.get() + "\"";
+
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            NOT_MODIFIED.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        List<String> records = resource.equals("posts") ? POSTS : List.of();
+        int from = Math.min((page - 1) * limit, records.size());
+        int to = Math.min(from + limit, records.size());
+        byte[] body = ("[" + String.join(",", records.subList(from, to)) + "]").getBytes(StandardCharsets.UTF_8);
+
+        if (resource.equals("posts")) {
+            FULL_RESPONSES.incrementAndGet();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package uol.compass.microserviceb.IntegrationTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.services.DeletedPostReaper;
+import uol.compass.microserviceb.services.PostService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(properties = "socialmedia.reaper.batch-size=1000")
+public class DeletedPostReaperIntegrationTests {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private DeletedPostReaper reaper;
+
+    @AfterEach
+    public void cleanUp() {
+        mongoTemplate.dropCollection(Post.class);
+        mongoTemplate.dropCollection(Comment.class);
+    }
+
+    @Test
+    public void reap_RemovesDeletedPostAndAllItsCommentsInBatches() {
+        mongoTemplate.insert(new Post("1", "Título do Post 1", "Conteúdo do Post 1"));
+        mongoTemplate.insert(new Post("2", "Título do Post 2", "Conteúdo do Post 2"));
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            comments.add(new Comment(null, "1", "autor@email.com", "Autor", "Comentário " + i));
+        }
+        comments.add(new Comment(null, "2", "autor@email.com", "Autor", "Comentário do Post 2"));
+        mongoTemplate.insertAll(comments);
+
+        postService.deletePostById("1");
+
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.findById("1", Post.class)).isNotNull();
+
+        reaper.reap();
+
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.findById("1", Post.class)).isNull();
+        org.assertj.core.api.Assertions.assertThat(
+                mongoTemplate.count(Query.query(Criteria.where("postId").is("1")), Comment.class)).isZero();
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.findById("2", Post.class)).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(
+                mongoTemplate.count(Query.query(Criteria.where("postId").is("2")), Comment.class)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,79 @@
+package uol.compass.microserviceb.IntegrationTests;
+
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import uol.compass.microserviceb.migrations.EmbedCommentsMigration;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+
+import java.util.List;
+
+@SpringBootTest
+public class EmbedCommentsMigrationIntegrationTests {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EmbedCommentsMigration migration;
+
+    @BeforeEach
+    public void insertLegacyPostsAndComments() {
+        mongoTemplate.getCollection("comments").insertMany(List.of(
+                new Document("_id", "1").append("post", new DBRef("posts", "1"))
+                        .append("email", "autor1@email.com").append("name", "Autor1").append("body", "Comentário 1"),
+                new Document("_id", "2").append("post", new DBRef("posts", "1"))
+                        .append("email", "autor2@email.com").append("name", "Autor2").append("body", "Comentário 2")
+        ));
+        mongoTemplate.getCollection("posts").insertOne(
+                new Document("_id", "1").append("title", "Título do Post 1").append("body", "Conteúdo do Post 1")
+                        .append("comments", List.of(new DBRef("comments", "1"), new DBRef("comments", "2")))
+        );
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        mongoTemplate.dropCollection(Post.class);
+        mongoTemplate.dropCollection(Comment.class);
+    }
+
+    @Test
+    public void migrate_WithLegacyReferences_EmbedsCommentsInPost() {
+        migration.migrate();
+
+        Post post = mongoTemplate.findById("1", Post.class);
+        org.assertj.core.api.Assertions.assertThat(post).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(post.getComments()).hasSize(2);
+        org.assertj.core.api.Assertions.assertThat(post.getComments().get(0).getId()).isEqualTo("1");
+        org.assertj.core.api.Assertions.assertThat(post.getComments().get(0).getEmail()).isEqualTo("autor1@email.com");
+        org.assertj.core.api.Assertions.assertThat(post.getComments().get(1).getBody()).isEqualTo("Comentário 2");
+    }
+
+    @Test
+    public void migrate_WithLegacyReferences_ReplacesCommentPostReferenceWithPostId() {
+        migration.migrate();
+
+        Comment comment = mongoTemplate.findById("2", Comment.class);
+        org.assertj.core.api.Assertions.assertThat(comment).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(comment.getPostId()).isEqualTo("1");
+        org.assertj.core.api.Assertions.assertThat(
+                mongoTemplate.getCollection("comments").find(new Document("post", new Document("$exists", true))).first()
+        ).isNull();
+    }
+
+    @Test
+    public void migrate_RunTwice_LeavesEmbeddedCommentsUntouched() {
+        migration.migrate();
+        migration.migrate();
+
+        Post post = mongoTemplate.findById("1", Post.class);
+        org.assertj.core.api.Assertions.assertThat(post).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(post.getComments()).hasSize(2);
+    }
+}
@@ -0,0 +1,65 @@
+package uol.compass.microserviceb.IntegrationTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import uol.compass.microserviceb.config.MongoIndexInitializer;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+
+import java.util.List;
+
+@SpringBootTest
+public class MongoIndexIntegrationTests {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    @AfterEach
+    public void cleanUp() {
+        mongoTemplate.dropCollection(Post.class);
+        mongoTemplate.dropCollection(Comment.class);
+    }
+
+    @Test
+    public void initIndexes_CreatesDeclaredCommentIndex() {
+        mongoTemplate.dropCollection(Comment.class);
+
+        indexInitializer.initIndexes();
+
+        List<String> indexNames = mongoTemplate.indexOps(Comment.class).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .toList();
+        org.assertj.core.api.Assertions.assertThat(indexNames).contains("post_comment_idx");
+    }
+
+    @Test
+    public void initIndexes_DoesNotIndexEmbeddedCommentsOnPosts() {
+        mongoTemplate.dropCollection(Post.class);
+
+        indexInitializer.initIndexes();
+
+        List<String> indexNames = mongoTemplate.indexOps(Post.class).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .toList();
+        org.assertj.core.api.Assertions.assertThat(indexNames).contains("externalId").doesNotContain("post_comment_idx");
+        org.assertj.core.api.Assertions.assertThat(indexNames).noneMatch(name -> name.startsWith("comments."));
+    }
+
+    @Test
+    public void findByPostId_UsesDeclaredCommentIndex() {
+        indexInitializer.initIndexes();
+
+        String plan = mongoTemplate.getCollection("comments")
+                .find(new org.bson.Document("postId", "1"))
+                .explain()
+                .toJson();
+        org.assertj.core.api.Assertions.assertThat(plan).contains("post_comment_idx");
+    }
+}
@@ -7,8 +7,10 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
 import uol.compass.microserviceb.web.dto.PostCreateDTO;
 import uol.compass.microserviceb.web.dto.PostResponseDTO;
+import uol.compass.microserviceb.web.dto.PostSummaryDTO;
 import uol.compass.microserviceb.web.dto.PostUpdateDTO;
 import uol.compass.microserviceb.web.exception.ErrorMessage;
 
@@ -35,7 +37,7 @@ public class PostIntegrationTests {
     @BeforeEach
     public void insertTestPosts() {
         PRE_SAVED_POSTS.forEach(
-                (key, post) -> mongoTemplate.save(post)
+                (key, post) -> mongoTemplate.insert(post)
         );
     }
 
@@ -63,6 +65,31 @@ public class PostIntegrationTests {
         org.assertj.core.api.Assertions.assertThat(responseBody.getComments()).isEmpty();
     }
 
+    @Test
+    public void createPosts_InBulk_InsertsValidItemsAndReportsInvalidOnes() {
+        BulkResultDTO responseBody = testClient
+                .post()
+                .uri(BASE_URI + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        new PostCreateDTO("First", "Hello World!"),
+                        new PostCreateDTO(null, "No title"),
+                        new PostCreateDTO("Third", "Hello again!")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BulkResultDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getInserted()).isEqualTo(2);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getIds()).hasSize(3);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getIds().get(1)).isNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getErrors()).hasSize(1);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getErrors().get(0).getIndex()).isEqualTo(1);
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.count(new org.springframework.data.mongodb.core.query.Query(), Post.class))
+                .isEqualTo(PRE_SAVED_POSTS.size() + 2);
+    }
+
     @Test
     public void createPost_WithTitleNull_ReturnErrorMessageWithStatus422() {
         ErrorMessage responseBody = testClient
@@ -231,6 +258,39 @@ public class PostIntegrationTests {
         org.assertj.core.api.Assertions.assertThat(responseBody.size()).isEqualTo(PRE_SAVED_POSTS.size());
     }
 
+    @Test
+    public void getAllPostSummaries_ReturnListOfPostSummaryDTOWithStatus200(){
+        List<PostSummaryDTO> responseBody = testClient
+                .get()
+                .uri(BASE_URI + "?view=summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PostSummaryDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.size()).isEqualTo(PRE_SAVED_POSTS.size());
+        org.assertj.core.api.Assertions.assertThat(responseBody.get(0).getId()).isEqualTo("1");
+        org.assertj.core.api.Assertions.assertThat(responseBody.get(0).getExcerpt()).isEqualTo(PRE_SAVED_POSTS.get(1).getBody());
+        org.assertj.core.api.Assertions.assertThat(responseBody.get(0).getCommentCount()).isZero();
+    }
+
+    @Test
+    public void exportPosts_ReturnOnePostPerLineWithStatus200(){
+        String responseBody = testClient
+                .get()
+                .uri(BASE_URI + "/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.lines().toList()).hasSize(PRE_SAVED_POSTS.size());
+        org.assertj.core.api.Assertions.assertThat(responseBody).contains("\"title\":\"Título do Post 1\"");
+    }
+
     @Test
     public void getPostById_WithValidId_ReturnPostResponseDTOWithStatus200(){
         Integer postId = 1;
@@ -289,6 +349,95 @@ public class PostIntegrationTests {
         org.assertj.core.api.Assertions.assertThat(responseBody.getComments()).isEmpty();
     }
 
+    @Test
+    public void patchPostById_WithOnlyTitle_KeepsBodyAndReturnsStatus200(){
+        Integer postId = 1;
+        Post postData = PRE_SAVED_POSTS.get(postId);
+
+        PostResponseDTO responseBody = testClient
+                .patch()
+                .uri(BASE_URI + "/" + postId)
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .bodyValue("{\"title\": \"A Patched Title\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getTitle()).isEqualTo("A Patched Title");
+        org.assertj.core.api.Assertions.assertThat(responseBody.getBody()).isEqualTo(postData.getBody());
+    }
+
+    @Test
+    public void patchPostById_WithBlankTitle_ReturnErrorMessageStatus422(){
+        testClient
+                .patch()
+                .uri(BASE_URI + "/1")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .bodyValue("{\"title\": \"   \"}")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    public void updatePostById_WithStaleIfMatch_ReturnErrorMessageStatus412(){
+        String eTag = testClient
+                .get()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PostResponseDTO.class)
+                .getResponseHeaders().getETag();
+
+        testClient
+                .put()
+                .uri(BASE_URI + "/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", eTag)
+                .bodyValue(new PostUpdateDTO("First Title", "First Body"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value("ETag", newETag -> org.assertj.core.api.Assertions.assertThat(newETag).isNotEqualTo(eTag));
+
+        ErrorMessage responseBody = testClient
+                .put()
+                .uri(BASE_URI + "/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", eTag)
+                .bodyValue(new PostUpdateDTO("Second Title", "Second Body"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.findById("1", Post.class).getTitle()).isEqualTo("First Title");
+    }
+
+    @Test
+    public void updatePostById_WithWeakIfMatch_ReturnErrorMessageStatus412(){
+        String eTag = testClient
+                .get()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PostResponseDTO.class)
+                .getResponseHeaders().getETag();
+
+        testClient
+                .put()
+                .uri(BASE_URI + "/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "W/" + eTag)
+                .bodyValue(new PostUpdateDTO("Weak Title", "Weak Body"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody(ErrorMessage.class);
+
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.findById("1", Post.class).getTitle()).isNotEqualTo("Weak Title");
+    }
+
     @Test
     public void updatePostById_WithInvalidIdAndValidData_ReturnErrorMessageStatus404(){
         ErrorMessage responseBody = testClient
@@ -437,6 +586,37 @@ public class PostIntegrationTests {
                 .expectStatus().isEqualTo(204);
     }
 
+    @Test
+    public void deletePostById_WithValidId_HidesPostFromReads(){
+        testClient
+                .delete()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isEqualTo(204);
+
+        testClient
+                .get()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        testClient
+                .delete()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        List<PostResponseDTO> responseBody = testClient
+                .get()
+                .uri(BASE_URI)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).extracting(PostResponseDTO::getId).containsExactly("2");
+    }
+
     @Test
     public void deletePostById_WithInvalidId_ReturnErrorMessageWithStatus404(){
         ErrorMessage responseBody = testClient
@@ -0,0 +1,218 @@
+package uol.compass.microserviceb.IntegrationTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.web.dto.CommentCreateDTO;
+import uol.compass.microserviceb.web.dto.CommentResponseDTO;
+import uol.compass.microserviceb.web.dto.PostCreateDTO;
+import uol.compass.microserviceb.web.dto.PostPatchDTO;
+import uol.compass.microserviceb.web.dto.PostResponseDTO;
+import uol.compass.microserviceb.web.dto.PostSummaryDTO;
+import uol.compass.microserviceb.web.exception.ErrorMessage;
+
+import java.util.List;
+
+import static uol.compass.microserviceb.utils.IntegrationTestsUtils.PRE_SAVED_POSTS;
+
+// Same contract as PostIntegrationTests and CommentIntegrationTests, served by the reactive mode.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+public class ReactivePostIntegrationTests {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    @Autowired
+    private WebTestClient testClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final String BASE_URI = "api/posts";
+
+    @BeforeEach
+    public void insertTestPosts() {
+        PRE_SAVED_POSTS.forEach((key, post) -> mongoTemplate.insert(post));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        mongoTemplate.dropCollection(Post.class);
+        mongoTemplate.dropCollection(Comment.class);
+    }
+
+    @Test
+    public void createPost_WithValidData_ReturnPostResponseDTOWithStatus201() {
+        PostResponseDTO responseBody = testClient
+                .post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostCreateDTO("NewPost", "Hello World!"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value(HttpHeaders.LOCATION, location ->
+                        org.assertj.core.api.Assertions.assertThat(location).contains("/api/posts/"))
+                .expectBody(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody.getId()).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getTitle()).isEqualTo("NewPost");
+        org.assertj.core.api.Assertions.assertThat(responseBody.getComments()).isEmpty();
+    }
+
+    @Test
+    public void createPost_WithInvalidData_ReturnErrorMessageWithStatus422() {
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PostCreateDTO("", ""))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody.getStatus()).isEqualTo(422);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getErrors()).isNotEmpty();
+    }
+
+    @Test
+    public void getPosts_WithLimit_ReturnPageAndNextCursor() {
+        List<PostResponseDTO> responseBody = testClient
+                .get()
+                .uri(BASE_URI + "?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "1")
+                .expectBodyList(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).extracting(PostResponseDTO::getId).containsExactly("1");
+    }
+
+    @Test
+    public void getPostSummaries_ReturnEveryPost() {
+        List<PostSummaryDTO> responseBody = testClient
+                .get()
+                .uri(BASE_URI + "?view=summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PostSummaryDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).hasSize(PRE_SAVED_POSTS.size());
+    }
+
+    @Test
+    public void exportPosts_ReturnOnePostPerLine() {
+        String responseBody = testClient
+                .get()
+                .uri(BASE_URI + "/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody.trim().split("\n")).hasSize(PRE_SAVED_POSTS.size());
+    }
+
+    @Test
+    public void patchPost_WithStaleIfMatch_ReturnStatus412() {
+        testClient
+                .patch()
+                .uri(BASE_URI + "/1")
+                .contentType(MediaType.parseMediaType(MERGE_PATCH_JSON))
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .bodyValue(new PostPatchDTO("Changed", null))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    public void patchPost_WithCurrentIfMatch_ReturnUpdatedPostAndNewETag() {
+        String etag = testClient
+                .get()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PostResponseDTO.class)
+                .getResponseHeaders().getETag();
+
+        PostResponseDTO responseBody = testClient
+                .patch()
+                .uri(BASE_URI + "/1")
+                .contentType(MediaType.parseMediaType(MERGE_PATCH_JSON))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue(new PostPatchDTO("Changed", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, newEtag ->
+                        org.assertj.core.api.Assertions.assertThat(newEtag).isNotEqualTo(etag))
+                .expectBody(PostResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody.getTitle()).isEqualTo("Changed");
+        org.assertj.core.api.Assertions.assertThat(responseBody.getBody()).isEqualTo(PRE_SAVED_POSTS.get(1).getBody());
+    }
+
+    @Test
+    public void deletePost_ThenGet_ReturnStatus404() {
+        testClient.delete().uri(BASE_URI + "/1").exchange().expectStatus().isNoContent();
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri(BASE_URI + "/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPath()).isEqualTo("/api/posts/1");
+        org.assertj.core.api.Assertions.assertThat(responseBody.getMessage()).isEqualTo("Post not found with ID: 1");
+    }
+
+    @Test
+    public void createComment_ThenListComments_ReturnTheComment() {
+        CommentResponseDTO created = testClient
+                .post()
+                .uri(BASE_URI + "/1/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CommentCreateDTO("autor@email.com", "Autor", "Comentário"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CommentResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        List<CommentResponseDTO> comments = testClient
+                .get()
+                .uri(BASE_URI + "/1/comments")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CommentResponseDTO.class)
+                .returnResult().getResponseBody();
+
+        org.assertj.core.api.Assertions.assertThat(comments).extracting(CommentResponseDTO::getId).containsExactly(created.getId());
+    }
+
+    @Test
+    public void createComment_OnMissingPost_ReturnStatus404() {
+        testClient
+                .post()
+                .uri(BASE_URI + "/999/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CommentCreateDTO("autor@email.com", "Autor", "Comentário"))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.count(new Query(), Comment.class)).isZero();
+    }
+}
@@ -6,11 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import uol.compass.microserviceb.model.Comment;
 import uol.compass.microserviceb.model.Post;
-import uol.compass.microserviceb.web.dto.PostResponseDTO;
+import uol.compass.microserviceb.model.User;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
 
-import java.util.List;
+import static uol.compass.microserviceb.utils.IntegrationTestsUtils.awaitSyncJob;
+import static uol.compass.microserviceb.utils.IntegrationTestsUtils.startSync;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class SyncIntegrationTests {
@@ -23,25 +29,105 @@ public class SyncIntegrationTests {
 
     @BeforeEach
     public void cleanUpBefore() {
-        mongoTemplate.dropCollection(Post.class);
+        dropCollections();
     }
 
     @AfterEach
     public void cleanUpAfter() {
-        mongoTemplate.dropCollection(Post.class);
+        dropCollections();
     }
 
     @Test
     public void createPost_WithValidData_ReturnPostResponseDTOWithStatus201() {
-        List<PostResponseDTO> responseBody = testClient
-                .post()
-                .uri("api/sync")
-                .exchange()
-                .expectStatus().isOk()
-                .expectBodyList(PostResponseDTO.class)
-                .returnResult().getResponseBody();
+        SyncJobDTO responseBody = sync();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getFetched()).isEqualTo(100);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getInserted()).isEqualTo(100);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getRecordsPerSecond()).isPositive();
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.count(new Query(), Post.class)).isEqualTo(100);
+    }
+
+    @Test
+    public void sync_IngestsCommentsAndUsers_LinkedToTheSyncedPosts() {
+        SyncJobDTO responseBody = sync();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody.getComments().getInserted()).isEqualTo(500);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getComments().getSkipped()).isZero();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getUsers().getInserted()).isEqualTo(10);
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.count(new Query(), Comment.class)).isEqualTo(500);
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.count(new Query(), User.class)).isEqualTo(10);
+
+        Post post = mongoTemplate.findOne(Query.query(Criteria.where("externalId").is(1L)), Post.class);
+        org.assertj.core.api.Assertions.assertThat(post.getComments()).hasSize(5);
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.count(
+                Query.query(Criteria.where("postId").is(post.getId())), Comment.class)).isEqualTo(5);
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.exists(
+                Query.query(Criteria.where("externalId").is(post.getUserId())), User.class)).isTrue();
+    }
+
+    @Test
+    public void sync_RunTwice_KeepsOneCopyOfEachPostAndSkipsUnchangedOnes() {
+        sync();
+        SyncJobDTO responseBody = sync();
 
         org.assertj.core.api.Assertions.assertThat(responseBody).isNotNull();
-        org.assertj.core.api.Assertions.assertThat(responseBody.size()).isEqualTo(100);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getInserted()).isZero();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getUpdated()).isZero();
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getUnchanged()).isEqualTo(100);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getComments().getUnchanged()).isEqualTo(500);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getUsers().getUnchanged()).isEqualTo(10);
+        org.assertj.core.api.Assertions.assertThat(mongoTemplate.count(new Query(), Post.class)).isEqualTo(100);
+        Post post = mongoTemplate.findOne(Query.query(Criteria.where("externalId").is(1L)), Post.class);
+        org.assertj.core.api.Assertions.assertThat(post.getComments()).hasSize(5);
+    }
+
+    @Test
+    public void sync_AfterLocalChange_RestoresUpstreamContent() {
+        sync();
+        mongoTemplate.updateFirst(Query.query(Criteria.where("externalId").is(1L)),
+                new Update().set("title", "Changed locally").set("contentHash", "stale"), Post.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("externalId").is(1L)),
+                new Update().set("body", "Changed locally").set("contentHash", "stale"), Comment.class);
+
+        SyncJobDTO responseBody = sync();
+
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getUpdated()).isEqualTo(1);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getPosts().getUnchanged()).isEqualTo(99);
+        org.assertj.core.api.Assertions.assertThat(responseBody.getComments().getUpdated()).isEqualTo(1);
+        Post post = mongoTemplate.findOne(Query.query(Criteria.where("externalId").is(1L)), Post.class);
+        org.assertj.core.api.Assertions.assertThat(post.getTitle()).isNotEqualTo("Changed locally");
+        org.assertj.core.api.Assertions.assertThat(post.getComments()).hasSize(5)
+                .noneMatch(comment -> comment.getBody().equals("Changed locally"));
+    }
+
+    @Test
+    public void sync_TriggeredWhileRunning_AttachesToTheRunningJob() {
+        SyncJobDTO first = startSync(testClient);
+        SyncJobDTO second = startSync(testClient);
+
+        org.assertj.core.api.Assertions.assertThat(second.getId()).isEqualTo(first.getId());
+        org.assertj.core.api.Assertions.assertThat(awaitSyncJob(testClient, first.getId()).getStatus()).isEqualTo("SUCCEEDED");
+    }
+
+    @Test
+    public void getSyncJob_WithUnknownId_ReturnStatus404() {
+        testClient
+                .get()
+                .uri("api/sync/unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private SyncJobDTO sync() {
+        SyncJobDTO job = awaitSyncJob(testClient, startSync(testClient).getId());
+        org.assertj.core.api.Assertions.assertThat(job.getStatus()).isEqualTo("SUCCEEDED");
+        return job;
+    }
+
+    private void dropCollections() {
+        mongoTemplate.dropCollection(Post.class);
+        mongoTemplate.dropCollection(Comment.class);
+        mongoTemplate.dropCollection(User.class);
     }
 }
\ No newline at end of file
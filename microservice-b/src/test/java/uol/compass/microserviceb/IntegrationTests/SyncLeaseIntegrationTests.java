@@ -0,0 +1,90 @@
+package uol.compass.microserviceb.IntegrationTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import uol.compass.microserviceb.model.SyncLease;
+import uol.compass.microserviceb.services.SyncLeaseService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(properties = "socialmedia.sync.lease.duration=PT1S")
+public class SyncLeaseIntegrationTests {
+
+    @Autowired
+    private SyncLeaseService leaseService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void cleanUpBefore() {
+        mongoTemplate.dropCollection(SyncLease.class);
+    }
+
+    @AfterEach
+    public void cleanUpAfter() {
+        mongoTemplate.dropCollection(SyncLease.class);
+    }
+
+    @Test
+    public void tryAcquire_WhileHeld_IsRefusedToOtherInstances() {
+        org.assertj.core.api.Assertions.assertThat(leaseService.tryAcquire("instance-a", "job-a")).isTrue();
+        org.assertj.core.api.Assertions.assertThat(leaseService.tryAcquire("instance-b", "job-b")).isFalse();
+        org.assertj.core.api.Assertions.assertThat(leaseService.isHeldFor("job-a")).isTrue();
+    }
+
+    @Test
+    public void tryAcquire_AfterRelease_IsGrantedToAnotherInstance() {
+        leaseService.tryAcquire("instance-a", "job-a");
+        leaseService.release("instance-a", "job-a", true);
+
+        org.assertj.core.api.Assertions.assertThat(leaseService.find().getSucceededAt()).isNotNull();
+        org.assertj.core.api.Assertions.assertThat(leaseService.tryAcquire("instance-b", "job-b")).isTrue();
+    }
+
+    @Test
+    public void tryAcquire_AfterExpiry_TakesOverTheLease() throws InterruptedException {
+        leaseService.tryAcquire("instance-a", "job-a");
+        Thread.sleep(1100);
+
+        org.assertj.core.api.Assertions.assertThat(leaseService.renew("instance-a", "job-a")).isTrue();
+        Thread.sleep(1100);
+
+        org.assertj.core.api.Assertions.assertThat(leaseService.tryAcquire("instance-b", "job-b")).isTrue();
+        org.assertj.core.api.Assertions.assertThat(leaseService.renew("instance-a", "job-a")).isFalse();
+        org.assertj.core.api.Assertions.assertThat(leaseService.isHeldFor("job-b")).isTrue();
+    }
+
+    @Test
+    public void tryAcquire_Concurrently_IsGrantedToASingleInstance() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String instance = "instance-" + i;
+                attempts.add(executor.submit(() -> {
+                    if (leaseService.tryAcquire(instance, "job-" + instance)) {
+                        granted.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> attempt : attempts) {
+                attempt.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        org.assertj.core.api.Assertions.assertThat(granted.get()).isEqualTo(1);
+    }
+}
@@ -14,9 +14,11 @@ import uol.compass.microserviceb.exceptions.EntityNotFoundException;
 import uol.compass.microserviceb.model.Comment;
 import uol.compass.microserviceb.model.Post;
 import uol.compass.microserviceb.services.CommentService;
+import uol.compass.microserviceb.services.PostCache;
 import uol.compass.microserviceb.services.PostService;
 import uol.compass.microserviceb.web.controller.CommentController;
 import uol.compass.microserviceb.web.dto.CommentCreateDTO;
+import uol.compass.microserviceb.web.dto.CommentPatchDTO;
 import uol.compass.microserviceb.web.dto.CommentResponseDTO;
 import uol.compass.microserviceb.web.exception.ApiExceptionHandler;
 
@@ -24,8 +26,10 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -70,19 +74,19 @@ public class CommentControllerTests {
     @Test
     void commentService_shouldCreateCommentSuccessfully() throws Exception {
         CommentCreateDTO createDTO = new CommentCreateDTO("email@test.com", "Test Name", "Test Body");
-        when(postService.findById(POST_ID)).thenReturn(mockPost);
-        when(commentService.save(any(Comment.class))).thenReturn(mockComment);
+        when(commentService.addToPost(eq(POST_ID), any(Comment.class))).thenReturn(mockComment);
 
         mockMvc.perform(post("/api/posts/{postId}/comments", POST_ID)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createDTO)))
                 .andExpect(status().isCreated())
+                .andExpect(header().string("ETag", "\"0\""))
                 .andExpect(jsonPath("$.id").value(COMMENT_ID));
     }
 
     @Test
     void postService_shouldReturnNotFoundWhenPostDoesNotExist() throws Exception {
-        when(postService.findById(POST_ID)).thenThrow(new EntityNotFoundException("Post not found"));
+        when(commentService.addToPost(eq(POST_ID), any(Comment.class))).thenThrow(new EntityNotFoundException("Post not found"));
 
         mockMvc.perform(post("/api/posts/{postId}/comments", POST_ID)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -95,9 +99,8 @@ public class CommentControllerTests {
     void postService_shouldGetPostAndAllCommentsForPost() throws Exception {
         CommentResponseDTO commentResponseDTO = CommentResponseDTO.toDto(mockComment);
 
-        when(postService.findById(POST_ID)).thenReturn(mockPost);
-
-        when(mockPost.getComments()).thenReturn(List.of(mockComment));
+        when(postService.findCommentResponsesJsonByPostId(POST_ID))
+                .thenReturn(new PostCache.Rendered(0L, objectMapper.writeValueAsBytes(List.of(commentResponseDTO))));
 
         mockMvc.perform(get("/api/posts/{postId}/comments", POST_ID))
                 .andExpect(status().isOk())
@@ -109,15 +112,48 @@ public class CommentControllerTests {
 
     @Test
     void postService_shouldReturnNotFoundWhenPostHasNoComments() throws Exception {
-        when(postService.findById(POST_ID)).thenReturn(mockPost);
-
-        when(mockPost.getComments()).thenReturn(Collections.emptyList());
+        when(postService.findCommentResponsesJsonByPostId(POST_ID))
+                .thenReturn(new PostCache.Rendered(0L, objectMapper.writeValueAsBytes(Collections.emptyList())));
 
         mockMvc.perform(get("/api/posts/{postId}/comments", POST_ID))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void commentService_shouldGetCommentByIdSuccessfully() throws Exception {
+        when(commentService.findResponseJsonByPostIdAndId(POST_ID, COMMENT_ID))
+                .thenReturn(new PostCache.Rendered(0L, objectMapper.writeValueAsBytes(CommentResponseDTO.toDto(mockComment))));
+
+        mockMvc.perform(get("/api/posts/{postId}/comments/{commentId}", POST_ID, COMMENT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(COMMENT_ID))
+                .andExpect(jsonPath("$.email").value("email@test.com"));
+
+        verify(postService, never()).findById(anyString());
+    }
+
+    @Test
+    void commentService_shouldReturnNotFoundWhenCommentIsNotInPost() throws Exception {
+        when(commentService.findResponseJsonByPostIdAndId(POST_ID, COMMENT_ID)).thenThrow(new EntityNotFoundException("Comment not found"));
+
+        mockMvc.perform(get("/api/posts/{postId}/comments/{commentId}", POST_ID, COMMENT_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Comment not found"));
+    }
+
+    @Test
+    void commentService_shouldPatchCommentSuccessfully() throws Exception {
+        when(commentService.update(eq(POST_ID), eq(COMMENT_ID), any(CommentPatchDTO.class), isNull())).thenReturn(mockComment);
+
+        mockMvc.perform(patch("/api/posts/{postId}/comments/{commentId}", POST_ID, COMMENT_ID)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"body\": \"Test Body\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(COMMENT_ID))
+                .andExpect(jsonPath("$.body").value("Test Body"));
+    }
+
     @Test
     void commentService_shouldDeleteCommentSuccessfully() throws Exception {
         doNothing().when(commentService).deleteById(POST_ID, COMMENT_ID);
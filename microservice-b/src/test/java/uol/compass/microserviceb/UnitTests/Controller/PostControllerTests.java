@@ -1,15 +1,16 @@
 package uol.compass.microserviceb.UnitTests.Controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,34 +18,50 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.MediaType;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 
 import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.exceptions.PreconditionFailedException;
 import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.model.PostPage;
+import uol.compass.microserviceb.services.PostCache;
 import uol.compass.microserviceb.services.PostService;
 import uol.compass.microserviceb.web.controller.PostController;
+import uol.compass.microserviceb.web.dto.BulkItemErrorDTO;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
 import uol.compass.microserviceb.web.dto.PostCreateDTO;
+import uol.compass.microserviceb.web.dto.PostPatchDTO;
+import uol.compass.microserviceb.web.dto.PostResponseDTO;
+import uol.compass.microserviceb.web.dto.PostSummaryDTO;
 import uol.compass.microserviceb.web.dto.PostUpdateDTO;
 import uol.compass.microserviceb.web.exception.ApiExceptionHandler;
 
 @ExtendWith(MockitoExtension.class)
 public class PostControllerTests {
 
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(10);
+
     private MockMvc mockMvc;
 
     @Mock
     private PostService postService;
 
-    @InjectMocks
     private PostController postController;
 
     private ObjectMapper objectMapper;
@@ -54,6 +71,7 @@ public class PostControllerTests {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
+        postController = new PostController(postService, objectMapper, EXPORT_TIMEOUT);
 
         mockMvc = MockMvcBuilders
                 .standaloneSetup(postController)
@@ -79,7 +97,9 @@ public class PostControllerTests {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(postCreateDTO)))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.title").value("Test Post to title 1"));
+                .andExpect(jsonPath("$.title").value("Test Post to title 1"))
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
     }
 
     @Test
@@ -97,26 +117,102 @@ public class PostControllerTests {
 
     @Test
     void postController_ShouldGetAllPosts_ReturnSuccess() throws Exception {
-        when(postService.findAll()).thenReturn(List.of(mockPost));
+        when(postService.findPage(null, null)).thenReturn(new PostPage<>(List.of(mockPost), "1"));
 
         mockMvc.perform(get("/api/posts"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PostPage.NEXT_CURSOR_HEADER, "1"))
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].title").value("Test Post to title 1"));
+
+        verify(postService, never()).findAll();
     }
 
     @Test
     public void postController_ShouldGetList_ReturnEmpty_Code200() throws Exception {
-        when(postService.findAll()).thenReturn(Collections.emptyList());
+        when(postService.findPage(null, null)).thenReturn(new PostPage<>(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/posts"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void postController_ShouldGetPageOfPosts_ReturnNextCursorHeader() throws Exception {
+        when(postService.findPage("0", 1)).thenReturn(new PostPage<>(List.of(mockPost), "1"));
+
+        mockMvc.perform(get("/api/posts").param("after", "0").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PostPage.NEXT_CURSOR_HEADER, "1"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("1"));
+    }
+
+    @Test
+    void postController_ShouldGetLastPageOfPosts_ReturnNoNextCursorHeader() throws Exception {
+        when(postService.findPage(null, 5)).thenReturn(new PostPage<>(List.of(mockPost), null));
+
+        mockMvc.perform(get("/api/posts").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PostPage.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void postController_ShouldGetSummaries_ReturnSuccess() throws Exception {
+        when(postService.findSummaryPage(null, null))
+                .thenReturn(new PostPage<>(List.of(new PostSummaryDTO("1", "Test Post to title 1", "This is a test.", 2)), null));
+
+        mockMvc.perform(get("/api/posts").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].excerpt").value("This is a test."))
+                .andExpect(jsonPath("$[0].commentCount").value(2))
+                .andExpect(jsonPath("$[0].comments").doesNotExist());
+
+        verify(postService, never()).findPage(any(), any());
+    }
+
+    @Test
+    void postController_ShouldGetPageOfSummaries_ReturnNextCursorHeader() throws Exception {
+        PostSummaryDTO summary = new PostSummaryDTO("1", "Test Post to title 1", "This is a test.", 0);
+        when(postService.findSummaryPage(null, 1)).thenReturn(new PostPage<>(List.of(summary), "1"));
+
+        mockMvc.perform(get("/api/posts").param("view", "summary").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PostPage.NEXT_CURSOR_HEADER, "1"))
+                .andExpect(jsonPath("$[0].id").value("1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void postController_ShouldExportPosts_ReturnOnePostPerLine() throws Exception {
+        Post otherPost = new Post("2", "Test Post to title 2", "This is another test.");
+        doAnswer(invocation -> {
+            Consumer<Post> action = invocation.getArgument(0);
+            action.accept(mockPost);
+            action.accept(otherPost);
+            return null;
+        }).when(postService).forEachPost(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(EXPORT_TIMEOUT.toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(
+                        "{\"id\":\"1\",\"title\":\"Test Post to title 1\",\"body\":\"This is a test.\",\"comments\":[]}\n" +
+                        "{\"id\":\"2\",\"title\":\"Test Post to title 2\",\"body\":\"This is another test.\",\"comments\":[]}\n"
+                ));
+    }
+
     @Test
     void postController_ShouldReturnGetPostById_ReturnSuccess() throws Exception {
-        when(postService.findById("1")).thenReturn(mockPost);
+        when(postService.findResponseJsonById("1"))
+                .thenReturn(new PostCache.Rendered(0L, objectMapper.writeValueAsBytes(PostResponseDTO.toDTO(mockPost))));
         mockMvc.perform(get("/api/posts/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.title").value("Test Post to title 1"));
@@ -133,7 +229,7 @@ public class PostControllerTests {
         updatedPost.setTitle("Updated Title");
         updatedPost.setBody("Updated Body");
 
-        when(postService.updatePost(eq("1"), any(PostUpdateDTO.class))).thenReturn(updatedPost);
+        when(postService.updatePost(eq("1"), any(PostUpdateDTO.class), isNull())).thenReturn(updatedPost);
 
         mockMvc.perform(put("/api/posts/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -143,6 +239,98 @@ public class PostControllerTests {
                 .andExpect(jsonPath("$.body").value("Updated Body"));
     }
 
+    @Test
+    public void postController_ShouldUpdatePostIfMatch_ReturnNewETag() throws Exception {
+        Post updatedPost = new Post("1", "Updated Title", "Updated Body");
+        updatedPost.setVersion(4L);
+
+        when(postService.updatePost(eq("1"), any(PostUpdateDTO.class), eq(List.of(3L)))).thenReturn(updatedPost);
+
+        mockMvc.perform(put("/api/posts/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"3\"")
+                .content(objectMapper.writeValueAsString(new PostUpdateDTO("Updated Title", "Updated Body"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    public void postController_ShouldUpdatePostIfMatchList_MatchAnyStrongTag() throws Exception {
+        Post updatedPost = new Post("1", "Updated Title", "Updated Body");
+        updatedPost.setVersion(5L);
+
+        when(postService.updatePost(eq("1"), any(PostUpdateDTO.class), eq(List.of(3L, 4L)))).thenReturn(updatedPost);
+
+        mockMvc.perform(put("/api/posts/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"3\", W/\"9\", \"4\"")
+                .content(objectMapper.writeValueAsString(new PostUpdateDTO("Updated Title", "Updated Body"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    public void postController_ShouldUpdatePostIfMatchWithoutStrongTag_ReturnPreconditionFailed() throws Exception {
+        mockMvc.perform(put("/api/posts/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "W/\"3\", \"abc\"")
+                .content(objectMapper.writeValueAsString(new PostUpdateDTO("Updated Title", "Updated Body"))))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    public void postController_ShouldUpdatePostIfMatch_ReturnPreconditionFailed() throws Exception {
+        when(postService.updatePost(eq("1"), any(PostUpdateDTO.class), eq(List.of(3L))))
+                .thenThrow(new PreconditionFailedException("Post with ID 1 is no longer at version 3."));
+
+        mockMvc.perform(put("/api/posts/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("If-Match", "\"3\"")
+                .content(objectMapper.writeValueAsString(new PostUpdateDTO("Updated Title", "Updated Body"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void postController_ShouldPatchPost_ReturnSuccess() throws Exception {
+        Post patchedPost = new Post("1", "Patched Title", "Test Post to body 1");
+
+        when(postService.patchPost(eq("1"), any(PostPatchDTO.class), isNull())).thenReturn(patchedPost);
+
+        mockMvc.perform(patch("/api/posts/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"title\": \"Patched Title\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Patched Title"))
+                .andExpect(jsonPath("$.body").value("Test Post to body 1"));
+    }
+
+    @Test
+    public void postController_ShouldPatchPost_RejectPlainJson() throws Exception {
+        mockMvc.perform(patch("/api/posts/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Patched Title\"}"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    public void postController_ShouldCreatePostsInBulk_ReturnResult() throws Exception {
+        BulkResultDTO result = new BulkResultDTO(1, java.util.Arrays.asList("1", null),
+                List.of(new BulkItemErrorDTO(1, "title: must not be blank")));
+        when(postService.saveAll(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/posts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                        new PostCreateDTO("Valid title", "Valid body"),
+                        new PostCreateDTO("", "Valid body")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.ids[0]").value("1"))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+    }
+
     @Test
     public void postController_ShouldDeletePost_ReturnSuccess() throws Exception {
         doNothing().when(postService).deletePostById("1");
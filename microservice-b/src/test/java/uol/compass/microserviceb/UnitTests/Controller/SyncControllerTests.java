@@ -0,0 +1,78 @@
+package uol.compass.microserviceb.UnitTests.Controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.services.SyncJobService;
+import uol.compass.microserviceb.web.controller.SyncController;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
+import uol.compass.microserviceb.web.exception.ApiExceptionHandler;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class SyncControllerTests {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private SyncJobService syncJobService;
+
+    @InjectMocks
+    private SyncController syncController;
+
+    private SyncJobDTO job;
+
+    private static final String JOB_ID = "job-1";
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(syncController)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+
+        job = new SyncJobDTO(JOB_ID, "RUNNING", null, null, null,
+                new SyncResultDTO(10, 10, 0, 0, 0, 0, 0), new SyncResultDTO(), new SyncResultDTO());
+    }
+
+    @Test
+    void syncController_shouldStartSyncJob_ReturnAccepted() throws Exception {
+        when(syncJobService.start()).thenReturn(job);
+
+        mockMvc.perform(post("/api/sync"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/api/sync/" + JOB_ID)))
+                .andExpect(jsonPath("$.id").value(JOB_ID))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    void syncController_shouldGetSyncJobProgress() throws Exception {
+        when(syncJobService.findById(JOB_ID)).thenReturn(job);
+
+        mockMvc.perform(get("/api/sync/{jobId}", JOB_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.inserted").value(10));
+    }
+
+    @Test
+    void syncController_shouldReturnNotFound_WhenJobDoesNotExist() throws Exception {
+        when(syncJobService.findById("unknown")).thenThrow(new EntityNotFoundException("Sync job not found with ID: unknown"));
+
+        mockMvc.perform(get("/api/sync/{jobId}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
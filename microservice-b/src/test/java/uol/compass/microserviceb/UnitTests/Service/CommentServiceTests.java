@@ -5,17 +5,41 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.exceptions.PreconditionFailedException;
 import uol.compass.microserviceb.model.Comment;
 import uol.compass.microserviceb.model.Post;
 import uol.compass.microserviceb.repositories.CommentRepository;
-import uol.compass.microserviceb.repositories.PostRepository;
 import uol.compass.microserviceb.services.CommentService;
+import uol.compass.microserviceb.services.PostCache;
+import uol.compass.microserviceb.web.dto.CommentPatchDTO;
+import uol.compass.microserviceb.web.dto.FetchedCommentDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,20 +52,24 @@ public class CommentServiceTests {
     private CommentRepository commentRepository;
 
     @Mock
-    private PostRepository postRepository;
+    private MongoTemplate mongoTemplate;
 
+    @Spy
+    private PostCache cache = new PostCache(false, 0, 0, Duration.ZERO, new ObjectMapper());
+
+    private Post post;
     private Comment comment;
 
     @BeforeEach
     void setUp() {
-        Post post = new Post();
+        post = new Post();
         post.setId("123456");
         post.setTitle("Title test");
         post.setBody("Body Test");
 
         comment = new Comment("email@test.com", "Test Name", "Test Body");
         comment.setId("123");
-        comment.setPost(post);
+        comment.setPostId(post.getId());
     }
 
     @Test
@@ -84,28 +112,93 @@ public class CommentServiceTests {
         verify(commentRepository, times(1)).findById("999");
     }
 
+    @Test
+    void should_Add_Comment_To_Post() {
+        when(commentRepository.save(comment)).thenReturn(comment);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Post.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        Comment savedComment = commentService.addToPost(post.getId(), comment);
+
+        assertEquals("123", savedComment.getId());
+        assertEquals(post.getId(), savedComment.getPostId());
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), eq(new Update().push("comments")
+                .slice(-Post.EMBEDDED_COMMENTS).each(comment).inc("commentCount", 1).inc("version", 1)), eq(Post.class));
+        verify(commentRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void should_ThrowException_When_Post_Not_Found_On_Add() {
+        when(commentRepository.save(comment)).thenReturn(comment);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Post.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        Exception exception = assertThrows(EntityNotFoundException.class, () ->
+                commentService.addToPost("999", comment)
+        );
+
+        assertEquals("Post with ID 999 not found.", exception.getMessage());
+        verify(commentRepository, times(1)).deleteById("123");
+    }
+
+    @Test
+    void should_Remove_Saved_Comment_When_Push_Fails() {
+        when(commentRepository.save(comment)).thenReturn(comment);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Post.class)))
+                .thenThrow(new RuntimeException("Document too large"));
+
+        Exception exception = assertThrows(RuntimeException.class, () ->
+                commentService.addToPost(post.getId(), comment)
+        );
+
+        assertEquals("Document too large", exception.getMessage());
+        verify(commentRepository, times(1)).deleteById("123");
+    }
+
+    @Test
+    void should_Find_Comment_By_PostId_And_Id() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(true);
+        when(commentRepository.findByIdAndPostId("123", post.getId())).thenReturn(Optional.of(comment));
+
+        Comment foundComment = commentService.findByPostIdAndId(post.getId(), "123");
+
+        assertEquals("123", foundComment.getId());
+        verify(commentRepository, times(1)).findByIdAndPostId("123", post.getId());
+    }
+
+    @Test
+    void should_ThrowException_When_Comment_Not_In_Post() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(true);
+        when(commentRepository.findByIdAndPostId("123", "999")).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(EntityNotFoundException.class, () ->
+                commentService.findByPostIdAndId("999", "123")
+        );
+
+        assertEquals("Comment with ID 123 not found in Post with ID 999.", exception.getMessage());
+    }
+
     @Test
     void should_Delete_Comment_ById() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(true);
         String postId = "123456";
         String commentId = "123";
 
-        when(commentRepository.existsById(commentId)).thenReturn(true);
-        when(postRepository.findById(postId)).thenReturn(Optional.of(comment.getPost()));
+        when(mongoTemplate.remove(any(Query.class), eq(Comment.class))).thenReturn(DeleteResult.acknowledged(1));
 
         commentService.deleteById(postId, commentId);
 
-        verify(commentRepository, times(1)).existsById(commentId);
-        verify(postRepository, times(1)).findById(postId);
-        verify(postRepository, times(1)).save(any(Post.class));
-        verify(commentRepository, times(1)).deleteById(commentId);
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(Comment.class));
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(Post.class));
     }
 
     @Test
     void should_ThrowException_When_Deleting_No_Existent_Comment() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(true);
         String postId = "123456";
         String commentId = "999";
 
-        when(commentRepository.existsById(commentId)).thenReturn(false);
+        when(mongoTemplate.remove(any(Query.class), eq(Comment.class))).thenReturn(DeleteResult.acknowledged(0));
 
         Exception exception = assertThrows(RuntimeException.class, () ->
                 commentService.deleteById(postId, commentId)
@@ -114,48 +207,123 @@ public class CommentServiceTests {
         assertEquals("Comment with ID 999 not found.",
                 exception.getMessage());
 
-        verify(commentRepository, times(1)).existsById(commentId);
-        verify(postRepository, never()).findById(anyString());
-        verify(postRepository, never()).save(any(Post.class));
-        verify(commentRepository, never()).deleteById(anyString());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Post.class));
     }
 
     @Test
-    void should_ThrowException_When_Post_Not_Found_On_Delete() {
-        String postId = "999";
-        String commentId = "123";
-
-        when(commentRepository.existsById(commentId)).thenReturn(true);
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+    void should_ThrowException_When_Updating_Comment_Of_Deleted_Post() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(false);
 
-        Exception exception = assertThrows(RuntimeException.class, () ->
-                commentService.deleteById(postId, commentId)
+        assertThrows(EntityNotFoundException.class, () ->
+                commentService.update(post.getId(), "123", new CommentPatchDTO(null, "Test Body"), List.of(3L))
         );
 
-        assertEquals("Post with ID 999 not found.",
-                exception.getMessage());
-
-        verify(commentRepository, times(1)).existsById(commentId);
-        verify(postRepository, times(1)).findById(postId);
-        verify(postRepository, never()).save(any(Post.class));
-        verify(commentRepository, never()).deleteById(anyString());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Comment.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Post.class));
     }
 
     @Test
-    void should_Update_Comment_Successfully() {
-        comment.setId("123");
+    void should_ThrowException_When_Finding_Comment_Of_Deleted_Post() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(false);
 
-        when(commentRepository.existsById("123")).thenReturn(true);
+        assertThrows(EntityNotFoundException.class, () -> commentService.findByPostIdAndId(post.getId(), "123"));
+        verify(commentRepository, never()).findByIdAndPostId(anyString(), anyString());
+    }
 
-        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+    @Test
+    void should_Update_Comment_Successfully() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(true);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Comment.class)))
+                .thenReturn(comment);
 
-        Comment updatedComment = commentService.update(comment);
+        Comment updatedComment = commentService.update(post.getId(), "123", new CommentPatchDTO(null, "Test Body"), null);
 
         assertNotNull(updatedComment);
         assertEquals("123", updatedComment.getId());
 
-        verify(commentRepository, times(1)).existsById("123");
-        verify(commentRepository, times(1)).save(comment);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class),
+                eq(new Update().set("body", "Test Body").inc("version", 1)), any(FindAndModifyOptions.class), eq(Comment.class));
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class),
+                eq(new Update().set("comments.$.body", "Test Body").inc("comments.$.version", 1).inc("version", 1)), eq(Post.class));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    void should_ThrowPreconditionFailed_When_Comment_Version_Changed() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(true);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Comment.class)))
+                .thenReturn(null);
+        when(commentRepository.findByIdAndPostId("123", post.getId())).thenReturn(Optional.of(comment));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                commentService.update(post.getId(), "123", new CommentPatchDTO(null, "Test Body"), List.of(3L))
+        );
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Post.class));
+    }
+
+    @Test
+    void should_ThrowException_When_Updating_No_Existent_Comment() {
+        when(mongoTemplate.exists(any(Query.class), eq(Post.class))).thenReturn(true);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Comment.class)))
+                .thenReturn(null);
+
+        Exception exception = assertThrows(EntityNotFoundException.class, () ->
+                commentService.update(post.getId(), "999", new CommentPatchDTO("Test Name", "Test Body"), null)
+        );
+
+        assertEquals("Comment with ID 999 not found in Post with ID 123456.", exception.getMessage());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Post.class));
+    }
+
+    @Test
+    void should_Skip_Synced_Comments_Of_Posts_That_Were_Not_Synced() {
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.getCollectionName(Comment.class)).thenReturn("comments");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), anyString())).thenReturn(List.of());
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(bulkOperations);
+
+        SyncResultDTO result = commentService.syncBatch(List.of(
+                new FetchedCommentDTO(1, 99, "Test Name", "email@test.com", "Test Body")));
+
+        assertEquals(1, result.getFetched());
+        assertEquals(1, result.getSkipped());
+        assertEquals(0, result.getUnchanged());
+        verify(bulkOperations, never()).execute();
+    }
+
+    @Test
+    void should_Sync_Only_Comments_Whose_Upsert_Went_Through_Into_Their_Post() {
+        BulkOperations commentOperations = mock(BulkOperations.class);
+        BulkOperations postOperations = mock(BulkOperations.class);
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.getCollectionName(Comment.class)).thenReturn("comments");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("posts")))
+                .thenReturn(List.of(new Document("_id", post.getId()).append("externalId", 1L)));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("comments"))).thenReturn(List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class)).thenReturn(commentOperations);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(postOperations);
+        // Another sync inserted the first comment already, so only the second one is upserted here.
+        when(commentOperations.execute()).thenThrow(new BulkOperationException("Duplicate key", new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(new BulkWriteUpsert(1, new BsonObjectId())), List.of()),
+                List.of(new BulkWriteError(11000, "Duplicate key", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of())));
+        ArgumentCaptor<Update> pushed = ArgumentCaptor.forClass(Update.class);
+
+        SyncResultDTO result = commentService.syncBatch(List.of(
+                new FetchedCommentDTO(1, 1, "First Name", "email@test.com", "First Body"),
+                new FetchedCommentDTO(2, 1, "Second Name", "email@test.com", "Second Body")));
+
+        assertEquals(1, result.getInserted());
+        verify(postOperations, times(1)).updateOne(any(Query.class), pushed.capture());
+        Update.Modifiers modifiers = (Update.Modifiers) ((Document) pushed.getValue().getUpdateObject().get("$push")).get("comments");
+        Comment embedded = modifiers.getModifiers().stream()
+                .filter(modifier -> modifier.getKey().equals("$each"))
+                .map(each -> (Comment) ((Object[]) each.getValue())[0])
+                .findFirst().orElseThrow();
+        assertEquals("Second Body", embedded.getBody());
+        assertEquals(1L, embedded.getVersion());
     }
 
     @Test
@@ -173,35 +341,5 @@ public class CommentServiceTests {
     }
 
     //Não sei se seguiu o padrão pedido
-    @Test
-    public void commentService_ShouldGetCommentsByPostId_ReturnSuccess() {
-        Post post = new Post();
-        post.setId("post123");
-        post.setTitle("Test Post");
-        post.setBody("Post Body");
-
-        List<Comment> mockComments = new ArrayList<>();
-        mockComments.add(new Comment("email1@test.com", "User 1", "Comment body 1"));
-        mockComments.add(new Comment("email2@test.com", "User 2", "Comment body 2"));
-
-        mockComments.forEach(comment -> comment.setPost(post));
-
-        when(commentRepository.findByPostId("post123")).thenReturn(mockComments);
-
-        List<Comment> comments = commentService.findByPostId("post123");
-
-        assertNotNull(comments);
-        assertEquals(2, comments.size());
-
-        assertEquals("email1@test.com", comments.get(0).getEmail());
-        assertEquals("User 1", comments.get(0).getName());
-        assertEquals("Comment body 1", comments.get(0).getBody());
-
-        assertEquals("email2@test.com", comments.get(1).getEmail());
-        assertEquals("User 2", comments.get(1).getName());
-        assertEquals("Comment body 2", comments.get(1).getBody());
-
-        verify(commentRepository, times(1)).findByPostId("post123");
-    }
 
 }
@@ -0,0 +1,136 @@
+package uol.compass.microserviceb.UnitTests.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.model.Comment;
+import uol.compass.microserviceb.services.PostCache;
+import uol.compass.microserviceb.web.dto.PostResponseDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostCacheTests {
+
+    private final PostCache cache = new PostCache(true, 100, 1_000_000, Duration.ofMinutes(1),
+            new ObjectMapper());
+
+    @Test
+    public void getPost_ReadsTheDatabaseOnlyOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, PostResponseDTO> loader = id -> {
+            loads.incrementAndGet();
+            return new PostResponseDTO(id, "Title", "Body", List.of(), 0L, 0);
+        };
+
+        PostResponseDTO first = cache.getPost("1", loader);
+        PostResponseDTO second = cache.getPost("1", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getPost_AfterEviction_ReadsTheDatabaseAgain() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, PostResponseDTO> loader = id -> new PostResponseDTO(id, "Title", "Body", List.of(),
+                (long) loads.incrementAndGet(), 0);
+
+        cache.getPost("1", loader);
+        cache.evictPost("1");
+        PostResponseDTO reloaded = cache.getPost("1", loader);
+
+        assertEquals(2L, reloaded.getVersion());
+    }
+
+    @Test
+    public void getPost_WhenNotFound_CachesNothing() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, PostResponseDTO> loader = id -> {
+            loads.incrementAndGet();
+            throw new EntityNotFoundException("Post not found with ID: " + id);
+        };
+
+        assertThrows(EntityNotFoundException.class, () -> cache.getPost("99", loader));
+        assertThrows(EntityNotFoundException.class, () -> cache.getPost("99", loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void evictPostAndComments_EvictsOnlyTheCommentsOfThePost() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getComment("10", id -> comment(id, "1", loads));
+        cache.getComment("20", id -> comment(id, "2", loads));
+
+        cache.evictPostAndComments("1");
+        cache.getComment("10", id -> comment(id, "1", loads));
+        cache.getComment("20", id -> comment(id, "2", loads));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void evictPostAndComments_EvictsACommentReadAgainAfterItsOwnEviction() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getComment("10", id -> comment(id, "1", loads));
+        cache.evictComment("10");
+        cache.getComment("10", id -> comment(id, "1", loads));
+
+        cache.evictPostAndComments("1");
+        cache.getComment("10", id -> comment(id, "1", loads));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void renderPost_ReusesTheBytesUntilTheVersionChanges() {
+        PostResponseDTO post = new PostResponseDTO("1", "Title", "Body", List.of(), 0L, 0);
+
+        PostCache.Rendered first = cache.renderPost(post);
+        PostCache.Rendered second = cache.renderPost(post);
+        PostCache.Rendered updated = cache.renderPost(new PostResponseDTO("1", "New title", "Body", List.of(), 1L, 0));
+
+        assertSame(first.json(), second.json());
+        assertNotSame(first.json(), updated.json());
+        assertTrue(new String(updated.json(), StandardCharsets.UTF_8).contains("\"title\":\"New title\""));
+    }
+
+    @Test
+    public void evictPost_DropsTheRenderedPost() {
+        PostResponseDTO post = new PostResponseDTO("1", "Title", "Body", List.of(), 0L, 0);
+
+        PostCache.Rendered first = cache.renderPost(post);
+        cache.evictPost("1");
+
+        assertNotSame(first.json(), cache.renderPost(post).json());
+    }
+
+    @Test
+    public void getPost_WhenDisabled_AlwaysReadsTheDatabase() {
+        PostCache disabled = new PostCache(false, 100, 1_000_000, Duration.ofMinutes(1),
+                new ObjectMapper());
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, PostResponseDTO> loader = id -> {
+            loads.incrementAndGet();
+            return new PostResponseDTO(id, "Title", "Body", List.of(), 0L, 0);
+        };
+
+        disabled.getPost("1", loader);
+        disabled.getPost("1", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static Comment comment(String id, String postId, AtomicInteger loads) {
+        loads.incrementAndGet();
+        Comment comment = new Comment("email@test.com", "Name", "Body");
+        comment.setId(id);
+        comment.setPostId(postId);
+        return comment;
+    }
+}
@@ -6,30 +6,59 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.bson.BsonObjectId;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
-import uol.compass.microserviceb.clients.PostClient;
 import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.exceptions.PreconditionFailedException;
+import uol.compass.microserviceb.model.Comment;
 import uol.compass.microserviceb.model.Post;
-import uol.compass.microserviceb.repositories.CommentRepository;
+import uol.compass.microserviceb.model.PostPage;
 import uol.compass.microserviceb.repositories.PostRepository;
+import uol.compass.microserviceb.services.PostCache;
 import uol.compass.microserviceb.services.PostService;
+import uol.compass.microserviceb.web.dto.BulkResultDTO;
+import uol.compass.microserviceb.web.dto.CommentResponseDTO;
+import uol.compass.microserviceb.web.dto.FetchedPostDTO;
+import uol.compass.microserviceb.web.dto.PostCreateDTO;
+import uol.compass.microserviceb.web.dto.PostPatchDTO;
+import uol.compass.microserviceb.web.dto.PostResponseDTO;
 import uol.compass.microserviceb.web.dto.PostUpdateDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
 
 @ExtendWith(MockitoExtension.class)
 public class PostServiceTests {
@@ -41,10 +70,16 @@ public class PostServiceTests {
     private PostRepository postRepository;
 
     @Mock
-    private CommentRepository commentRepository;
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private PostCache cache = new PostCache(false, 0, 0, Duration.ZERO, new ObjectMapper());
 
     @Mock
-    private PostClient postClient;
+    private BulkOperations bulkOperations;
 
     private Post mockPost;
 
@@ -90,7 +125,7 @@ public class PostServiceTests {
         mockPosts.add(new Post("Title number 1", "Body number 1"));
         mockPosts.add(new Post("Title number 2", "Body number 2"));
 
-        when(postRepository.findAll()).thenReturn(mockPosts);
+        when(postRepository.findByDeletedAtIsNull()).thenReturn(mockPosts);
 
         List<Post> posts = postService.findAll();
 
@@ -103,26 +138,60 @@ public class PostServiceTests {
         assertEquals("Body number 1", posts.get(0).getBody());
         assertEquals("Body number 2", posts.get(1).getBody());
 
-        verify(postRepository, times(1)).findAll();
+        verify(postRepository, times(1)).findByDeletedAtIsNull();
     }
 
     @Test
     public void postService_ShouldGetAllPosts_ReturnEmpty() {
 
-        when(postRepository.findAll()).thenReturn(Collections.emptyList());
+        when(postRepository.findByDeletedAtIsNull()).thenReturn(Collections.emptyList());
 
         List<Post> posts = postService.findAll();
 
         assertNotNull(posts);
         assertTrue(posts.isEmpty());
 
-        verify(postRepository, times(1)).findAll();
+        verify(postRepository, times(1)).findByDeletedAtIsNull();
+
+    }
+
+    @Test
+    public void postService_ShouldGetFirstPage_ReturnNextCursor() {
+        List<Post> mockPosts = List.of(
+                new Post("1", "Title number 1", "Body number 1"),
+                new Post("2", "Title number 2", "Body number 2"),
+                new Post("3", "Title number 3", "Body number 3")
+        );
+        when(postRepository.findByDeletedAtIsNull(any(Pageable.class))).thenReturn(mockPosts);
+
+        PostPage<Post> page = postService.findPage(null, 2);
+
+        assertEquals(2, page.getPosts().size());
+        assertEquals("2", page.getNextCursor());
+        verify(postRepository, times(1)).findByDeletedAtIsNull(any(Pageable.class));
+    }
+
+    @Test
+    public void postService_ShouldGetLastPageAfterCursor_ReturnNoNextCursor() {
+        List<Post> mockPosts = List.of(new Post("3", "Title number 3", "Body number 3"));
+        when(postRepository.findByIdGreaterThanAndDeletedAtIsNull(eq("2"), any(Pageable.class))).thenReturn(mockPosts);
+
+        PostPage<Post> page = postService.findPage("2", 2);
+
+        assertEquals(1, page.getPosts().size());
+        assertNull(page.getNextCursor());
+        verify(postRepository, times(0)).findByDeletedAtIsNull(any(Pageable.class));
+    }
 
+    @Test
+    public void postService_ShouldThrowException_WhenPageLimitIsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> postService.findPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> postService.findPage(null, PostService.MAX_PAGE_SIZE + 1));
     }
 
     @Test
     public void postService_ShouldGetPostById_ReturnSuccess() {
-        when(postRepository.findById("1")).thenReturn(Optional.of(mockPost));
+        when(postRepository.findByIdAndDeletedAtIsNull("1")).thenReturn(Optional.of(mockPost));
         Post foundPostById = postService.findById("1");
         assertNotNull(foundPostById);
 
@@ -130,33 +199,193 @@ public class PostServiceTests {
         assertEquals("Test for body", foundPostById.getBody());
     }
 
+    @Test
+    public void postService_ShouldGetPostResponseById_InSingleQuery() {
+        PostResponseDTO response = new PostResponseDTO("1", "Test for title", "Test for body",
+                List.of(new CommentResponseDTO("10", "email@test.com", "Name", "Comment body")), 0L, 1);
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.findOne(any(Query.class), eq(PostResponseDTO.class), eq("posts"))).thenReturn(response);
+
+        PostResponseDTO found = postService.findResponseById("1");
+
+        assertEquals("Test for title", found.getTitle());
+        assertEquals(1, found.getComments().size());
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(PostResponseDTO.class), eq("posts"));
+        verify(postRepository, times(0)).findById(any());
+    }
+
+    @Test
+    public void postService_ShouldGetCommentResponses_FromTheCommentsCollection_WhenThePostEmbedsOnlyTheLatest() {
+        PostResponseDTO response = new PostResponseDTO("1", "Test for title", "Test for body",
+                List.of(new CommentResponseDTO("11", "email@test.com", "Name", "Latest comment")), 0L, 2);
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.findOne(any(Query.class), eq(PostResponseDTO.class), eq("posts"))).thenReturn(response);
+        when(mongoTemplate.find(any(Query.class), eq(Comment.class))).thenReturn(List.of(
+                new Comment("10", "1", "email@test.com", "Name", "Oldest comment"),
+                new Comment("11", "1", "email@test.com", "Name", "Latest comment")));
+
+        List<CommentResponseDTO> comments = postService.findCommentResponsesByPostId("1");
+
+        assertEquals(2, comments.size());
+        assertEquals("Oldest comment", comments.get(0).getBody());
+    }
+
+    @Test
+    public void postService_ShouldNotGetPostResponseById_WhenPostDoesNotExist() {
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.findOne(any(Query.class), eq(PostResponseDTO.class), eq("posts"))).thenReturn(null);
+
+        assertThrows(EntityNotFoundException.class, () -> postService.findCommentResponsesByPostId("99"));
+    }
+
     @Test
     public void postService_ShouldNotGetPostById_ReturnEmpty() {
-        when(postRepository.findById("99")).thenReturn(Optional.empty());
+        when(postRepository.findByIdAndDeletedAtIsNull("99")).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> postService.findById("99"));
     }
 
     @Test
     public void postService_ShouldUpdatePostWithDTO_WhenValidDTO() {
         PostUpdateDTO dto = new PostUpdateDTO("New title to test", "New body to test");
-        Post existingPost = new Post("Old title to test", "Old body to test");
+        Post updatedPost = new Post("1", "New title to test", "New body to test");
 
-        when(postRepository.findById("1")).thenReturn(Optional.of(existingPost));
-        when(postRepository.save(any(Post.class))).thenReturn(existingPost);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class)))
+                .thenReturn(updatedPost);
 
-        Post result = postService.updatePost("1", dto);
+        Post result = postService.updatePost("1", dto, null);
 
         assertNotNull(result);
         assertEquals("New title to test", result.getTitle());
         assertEquals("New body to test", result.getBody());
-        verify(postRepository, times(1)).save(any(Post.class));
+        verify(postRepository, times(0)).save(any(Post.class));
+    }
+
+    @Test
+    public void postService_ShouldPatchOnlyGivenFields() {
+        PostPatchDTO patch = new PostPatchDTO("New title to test", null);
+        Post patchedPost = new Post("1", "New title to test", "Old body to test");
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class)))
+                .thenReturn(patchedPost);
+
+        Post result = postService.patchPost("1", patch, null);
+
+        assertEquals("New title to test", result.getTitle());
+        assertEquals("Old body to test", result.getBody());
+        verify(mongoTemplate).findAndModify(any(Query.class),
+                eq(new Update().set("title", "New title to test").inc("version", 1)), any(FindAndModifyOptions.class), eq(Post.class));
+    }
+
+    @Test
+    public void postService_ShouldNotWrite_WhenPatchIsEmpty() {
+        Post existingPost = new Post("1", "Old title to test", "Old body to test");
+
+        when(mongoTemplate.findOne(any(Query.class), eq(Post.class))).thenReturn(existingPost);
+
+        Post result = postService.patchPost("1", new PostPatchDTO(), null);
+
+        assertEquals("Old title to test", result.getTitle());
+        verify(mongoTemplate, times(0)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class));
+    }
+
+    @Test
+    public void postService_ShouldThrowPreconditionFailed_WhenVersionChanged() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class)))
+                .thenReturn(null);
+        when(postRepository.existsByIdAndDeletedAtIsNull("1")).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> postService.patchPost("1", new PostPatchDTO("New title to test", null), List.of(2L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void postService_ShouldBulkInsertValidPosts_AndReportInvalidOnes() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        BulkResultDTO result = postService.saveAll(List.of(
+                new PostCreateDTO("First title", "First body"),
+                new PostCreateDTO("", "Invalid body"),
+                new PostCreateDTO("Third title", "Third body")
+        ));
+
+        ArgumentCaptor<List<Post>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations, times(1)).insert(inserted.capture());
+        verify(bulkOperations, times(1)).execute();
+        assertEquals(2, inserted.getValue().size());
+        assertEquals(2, result.getInserted());
+        assertNotNull(result.getIds().get(0));
+        assertNull(result.getIds().get(1));
+        assertEquals(inserted.getValue().get(1).getId(), result.getIds().get(2));
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+    }
+
+    @Test
+    public void postService_ShouldSync_UpsertingOnlyChangedPosts() {
+        FetchedPostDTO unchanged = new FetchedPostDTO(1, 1, "Same title", "Same body");
+        FetchedPostDTO added = new FetchedPostDTO(2, 1, "New title", "New body");
+
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("posts")))
+                .thenReturn(List.of(new Document("externalId", 1L).append("contentHash", unchanged.contentHash())));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0,
+                List.of(new BulkWriteUpsert(0, new BsonObjectId())), List.of()));
+
+        SyncResultDTO result = postService.syncBatch(List.of(unchanged, added));
+
+        verify(bulkOperations, times(1)).upsert(eq(Query.query(Criteria.where("externalId").is(2L))), any(Update.class));
+        verify(bulkOperations, times(1)).upsert(any(Query.class), any(Update.class));
+        assertEquals(2, result.getFetched());
+        assertEquals(1, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+    }
+
+    @Test
+    public void postService_ShouldSync_EvictingOnlyTheUpdatedPosts() {
+        FetchedPostDTO changed = new FetchedPostDTO(1, 1, "New title", "New body");
+
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("posts")))
+                .thenReturn(List.of(new Document("_id", "post1").append("externalId", 1L).append("contentHash", "old")));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        SyncResultDTO result = postService.syncBatch(List.of(changed));
+
+        assertEquals(1, result.getUpdated());
+        verify(cache, times(1)).evictPost("post1");
+        verify(cache, never()).evictAll();
+    }
+
+    @Test
+    public void postService_ShouldNotWrite_WhenNothingChangedUpstream() {
+        FetchedPostDTO unchanged = new FetchedPostDTO(1, 1, "Same title", "Same body");
+
+        when(mongoTemplate.getCollectionName(Post.class)).thenReturn("posts");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("posts")))
+                .thenReturn(List.of(new Document("externalId", 1L).append("contentHash", unchanged.contentHash())));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulkOperations);
+
+        SyncResultDTO result = postService.syncBatch(List.of(unchanged));
+
+        verify(bulkOperations, never()).execute();
+        assertEquals(1, result.getUnchanged());
+    }
+
+    @Test
+    public void postService_ShouldRejectEmptyBulk() {
+        assertThrows(IllegalArgumentException.class, () -> postService.saveAll(List.of()));
     }
 
     @Test
     public void postService_ShouldThrowException_WhenPostIdIsBlank() {
         PostUpdateDTO dto = new PostUpdateDTO("New title to test", "New body to test");
 
-        assertThrows(IllegalArgumentException.class, () -> postService.updatePost("", dto));
+        assertThrows(IllegalArgumentException.class, () -> postService.updatePost("", dto, null));
         verify(postRepository, times(0)).save(any(Post.class));
     }
 
@@ -164,25 +393,28 @@ public class PostServiceTests {
     public void postService_ShouldThrowException_WhenPostNotFoundById() {
         PostUpdateDTO dto = new PostUpdateDTO("New title to test", "New body to test");
 
-        when(postRepository.findById("1")).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class)))
+                .thenReturn(null);
 
-        assertThrows(EntityNotFoundException.class, () -> postService.updatePost("1", dto));
+        assertThrows(EntityNotFoundException.class, () -> postService.updatePost("1", dto, null));
         verify(postRepository, times(0)).save(any(Post.class));
     }
 
     @Test
     void postService_ShouldDeletePost_ReturnSuccess() {
-        when(postRepository.existsById("1")).thenReturn(true);
-        doNothing().when(postRepository).deleteById("1");
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Post.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
 
         postService.deletePostById("1");
 
-        verify(postRepository, times(1)).deleteById("1");
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(Post.class));
+        verify(postRepository, times(0)).deleteById("1");
     }
 
     @Test
     void postService_shouldThrowException_WhenDeletingNonExistentPost() {
-        when(postRepository.existsById("99")).thenReturn(false);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Post.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
         assertThrows(EntityNotFoundException.class, () -> postService.deletePostById("99"));
     }
 
@@ -0,0 +1,103 @@
+package uol.compass.microserviceb.UnitTests.Service;
+
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.exceptions.PreconditionFailedException;
+import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.model.PostPage;
+import uol.compass.microserviceb.repositories.ReactivePostRepository;
+import uol.compass.microserviceb.services.PostService;
+import uol.compass.microserviceb.services.ReactivePostService;
+import uol.compass.microserviceb.web.dto.PostPatchDTO;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactivePostServiceTests {
+    @InjectMocks
+    private ReactivePostService reactivePostService;
+
+    @Mock
+    private ReactivePostRepository repository;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private PostService postService;
+
+    @Test
+    void should_Return_Page_With_Next_Cursor_When_More_Posts_Exist() {
+        when(repository.findByDeletedAtIsNull(any(Pageable.class))).thenReturn(Flux.just(
+                new Post("1", "Title 1", "Body 1"), new Post("2", "Title 2", "Body 2"), new Post("3", "Title 3", "Body 3")));
+
+        PostPage<Post> page = reactivePostService.findPage(null, 2).block();
+
+        assertEquals(2, page.getPosts().size());
+        assertEquals("2", page.getNextCursor());
+    }
+
+    @Test
+    void should_Reject_Invalid_Limit() {
+        assertThrows(IllegalArgumentException.class, () -> reactivePostService.findPage(null, 0).block());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void should_Patch_Post() {
+        Post post = new Post("1", "Changed", "Body");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class)))
+                .thenReturn(Mono.just(post));
+
+        Post patched = reactivePostService.patchPost("1", new PostPatchDTO("Changed", null), null).block();
+
+        assertEquals("Changed", patched.getTitle());
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class),
+                eq(new Update().set("title", "Changed").inc("version", 1)), any(FindAndModifyOptions.class), eq(Post.class));
+    }
+
+    @Test
+    void should_ThrowPreconditionFailed_When_Post_Version_Changed() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Post.class)))
+                .thenReturn(Mono.empty());
+        when(repository.existsByIdAndDeletedAtIsNull("1")).thenReturn(Mono.just(true));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                reactivePostService.patchPost("1", new PostPatchDTO("Changed", null), List.of(3L)).block());
+    }
+
+    @Test
+    void should_ThrowException_When_Deleting_Missing_Post() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Post.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> reactivePostService.deletePostById("999").block());
+
+        assertEquals("Post not found with ID: 999", exception.getMessage());
+    }
+
+    @Test
+    void should_Wrap_Unexpected_Errors() {
+        when(repository.findByDeletedAtIsNull()).thenReturn(Flux.error(new IllegalStateException("connection reset")));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> reactivePostService.findAll().collectList().block());
+
+        assertEquals("Error retrieving posts: connection reset", exception.getMessage());
+    }
+}
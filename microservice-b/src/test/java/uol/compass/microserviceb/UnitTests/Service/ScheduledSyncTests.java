@@ -0,0 +1,75 @@
+package uol.compass.microserviceb.UnitTests.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import uol.compass.microserviceb.model.SyncLease;
+import uol.compass.microserviceb.services.ScheduledSync;
+import uol.compass.microserviceb.services.SyncJobService;
+import uol.compass.microserviceb.services.SyncLeaseService;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScheduledSyncTests {
+    @InjectMocks
+    private ScheduledSync scheduledSync;
+
+    @Mock
+    private SyncJobService syncJobService;
+
+    @Mock
+    private SyncLeaseService leaseService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduledSync, "interval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(scheduledSync, "jitter", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void should_Start_Sync_When_None_Succeeded_Within_Interval() {
+        SyncLease lease = new SyncLease();
+        lease.setSucceededAt(Instant.now().minus(Duration.ofHours(2)));
+        when(leaseService.find()).thenReturn(lease);
+        when(syncJobService.start()).thenReturn(new SyncJobDTO());
+
+        scheduledSync.sync();
+
+        verify(syncJobService, times(1)).start();
+    }
+
+    @Test
+    void should_Skip_Sync_When_Another_Instance_Synced_Within_Interval() {
+        SyncLease lease = new SyncLease();
+        lease.setSucceededAt(Instant.now().minus(Duration.ofMinutes(10)));
+        when(leaseService.find()).thenReturn(lease);
+
+        scheduledSync.sync();
+
+        verify(syncJobService, never()).start();
+    }
+
+    @Test
+    void should_Schedule_Next_Run_After_Interval_Plus_Jitter() {
+        Instant lastCompletion = Instant.parse("2025-01-01T00:00:00Z");
+        SimpleTriggerContext context = new SimpleTriggerContext(lastCompletion, lastCompletion, lastCompletion);
+
+        for (int i = 0; i < 100; i++) {
+            Instant next = scheduledSync.nextRun(context);
+
+            assertFalse(next.isBefore(lastCompletion.plus(Duration.ofHours(1))));
+            assertFalse(next.isAfter(lastCompletion.plus(Duration.ofHours(1)).plus(Duration.ofMinutes(5))));
+        }
+    }
+}
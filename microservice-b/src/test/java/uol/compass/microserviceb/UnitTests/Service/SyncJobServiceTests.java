@@ -0,0 +1,191 @@
+package uol.compass.microserviceb.UnitTests.Service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import uol.compass.microserviceb.exceptions.EntityNotFoundException;
+import uol.compass.microserviceb.model.SyncJobRecord;
+import uol.compass.microserviceb.model.SyncLease;
+import uol.compass.microserviceb.services.SyncJobService;
+import uol.compass.microserviceb.services.SyncLeaseService;
+import uol.compass.microserviceb.services.SyncService;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
+import uol.compass.microserviceb.web.dto.SyncReportDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SyncJobServiceTests {
+    @InjectMocks
+    private SyncJobService syncJobService;
+
+    @Mock
+    private SyncService syncService;
+
+    @Mock
+    private SyncLeaseService leaseService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(leaseService.tryAcquire(anyString(), anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        syncJobService.shutdown();
+    }
+
+    @Test
+    void should_Attach_Trigger_To_Running_Job() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(syncService.syncAll(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return report();
+        });
+
+        SyncJobDTO first = syncJobService.start();
+        SyncJobDTO second = syncJobService.start();
+        release.countDown();
+
+        assertEquals(first.getId(), second.getId());
+        SyncJobDTO finished = awaitFinished(first.getId());
+        assertEquals("SUCCEEDED", finished.getStatus());
+        assertEquals(100, finished.getPosts().getInserted());
+        verify(syncService, times(1)).syncAll(any(), any());
+        verify(leaseService, timeout(1000)).release(anyString(), eq(first.getId()), eq(true));
+    }
+
+    @Test
+    void should_Start_New_Job_After_Previous_One_Finished() throws Exception {
+        when(syncService.syncAll(any(), any())).thenReturn(report());
+
+        SyncJobDTO first = syncJobService.start();
+        awaitFinished(first.getId());
+        SyncJobDTO second = syncJobService.start();
+
+        assertNotEquals(first.getId(), second.getId());
+    }
+
+    @Test
+    void should_Mark_Job_As_Failed_When_Sync_Fails() throws Exception {
+        when(syncService.syncAll(any(), any())).thenThrow(new RuntimeException("Sync failed: upstream down"));
+
+        SyncJobDTO finished = awaitFinished(syncJobService.start().getId());
+
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals("Sync failed: upstream down", finished.getError());
+        assertNotNull(finished.getFinishedAt());
+        verify(leaseService, timeout(1000)).release(anyString(), eq(finished.getId()), eq(false));
+    }
+
+    @Test
+    void should_Cancel_Job_When_Its_Lease_Is_Lost() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicReference<BooleanSupplier> cancelled = new AtomicReference<>();
+        when(syncService.syncAll(any(), any())).thenAnswer(invocation -> {
+            cancelled.set(invocation.getArgument(1));
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new RuntimeException("Sync interrupted", e);
+            }
+            return report();
+        });
+        when(leaseService.renew(anyString(), anyString())).thenReturn(false);
+
+        SyncJobDTO job = syncJobService.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        syncJobService.heartbeat();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(cancelled.get().getAsBoolean());
+        verify(leaseService, timeout(1000)).release(anyString(), eq(job.getId()), eq(false));
+        ArgumentCaptor<SyncJobRecord> saved = ArgumentCaptor.forClass(SyncJobRecord.class);
+        verify(mongoTemplate, atLeastOnce()).save(saved.capture());
+        SyncJobRecord last = saved.getValue();
+        assertEquals("FAILED", last.getStatus());
+        assertTrue(last.getError().contains("lease was lost"));
+    }
+
+    @Test
+    void should_Return_Job_Running_On_Another_Instance() {
+        SyncLease lease = new SyncLease();
+        lease.setJobId("remote-job");
+        when(leaseService.tryAcquire(anyString(), anyString())).thenReturn(false);
+        when(leaseService.find()).thenReturn(lease);
+        when(mongoTemplate.findById("remote-job", SyncJobRecord.class)).thenReturn(record("remote-job", "RUNNING"));
+
+        SyncJobDTO job = syncJobService.start();
+
+        assertEquals("remote-job", job.getId());
+        assertEquals("RUNNING", job.getStatus());
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(SyncJobRecord.class));
+        verify(syncService, never()).syncAll(any(), any());
+    }
+
+    @Test
+    void should_Find_Job_Stored_By_Another_Instance() {
+        when(mongoTemplate.findById("remote-job", SyncJobRecord.class)).thenReturn(record("remote-job", "RUNNING"));
+        when(leaseService.isHeldFor("remote-job")).thenReturn(true);
+
+        assertEquals("RUNNING", syncJobService.findById("remote-job").getStatus());
+    }
+
+    @Test
+    void should_Report_Job_As_Failed_When_Its_Instance_Lost_The_Lease() {
+        when(mongoTemplate.findById("remote-job", SyncJobRecord.class)).thenReturn(record("remote-job", "RUNNING"));
+        when(leaseService.isHeldFor("remote-job")).thenReturn(false);
+
+        SyncJobDTO job = syncJobService.findById("remote-job");
+
+        assertEquals("FAILED", job.getStatus());
+        assertNotNull(job.getError());
+    }
+
+    @Test
+    void should_ThrowException_When_Job_Not_Found() {
+        assertThrows(EntityNotFoundException.class, () -> syncJobService.findById("unknown"));
+    }
+
+    private SyncReportDTO report() {
+        return new SyncReportDTO(new SyncResultDTO(100, 100, 0, 0, 0, 10, 10000),
+                new SyncResultDTO(), new SyncResultDTO());
+    }
+
+    private SyncJobRecord record(String id, String status) {
+        return new SyncJobRecord(id, status, null, null, null,
+                new SyncResultDTO(), new SyncResultDTO(), new SyncResultDTO());
+    }
+
+    private SyncJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        SyncJobDTO job = syncJobService.findById(jobId);
+        while ("RUNNING".equals(job.getStatus()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = syncJobService.findById(jobId);
+        }
+        assertNotEquals("RUNNING", job.getStatus());
+        return job;
+    }
+}
@@ -0,0 +1,119 @@
+package uol.compass.microserviceb.UnitTests.Service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uol.compass.microserviceb.services.CommentService;
+import uol.compass.microserviceb.services.PostService;
+import uol.compass.microserviceb.services.SyncResource;
+import uol.compass.microserviceb.services.SyncService;
+import uol.compass.microserviceb.services.SyncSource;
+import uol.compass.microserviceb.services.UserService;
+import uol.compass.microserviceb.web.dto.FetchedCommentDTO;
+import uol.compass.microserviceb.web.dto.FetchedPostDTO;
+import uol.compass.microserviceb.web.dto.FetchedUserDTO;
+import uol.compass.microserviceb.web.dto.SyncReportDTO;
+import uol.compass.microserviceb.web.dto.SyncResultDTO;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SyncServiceTests {
+    @InjectMocks
+    private SyncService syncService;
+
+    @Mock
+    private SyncSource syncSource;
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private UserService userService;
+
+    @Test
+    void should_Sync_Every_Resource_And_Report_Each_One() {
+        sourceReads(SyncResource.POSTS, List.of(new FetchedPostDTO(1, 1, "Title", "Body")),
+                List.of(new FetchedPostDTO(2, 1, "Title", "Body")));
+        sourceReads(SyncResource.COMMENTS, List.of(new FetchedCommentDTO(1, 1, "Name", "email@test.com", "Body")));
+        sourceReads(SyncResource.USERS, List.of(new FetchedUserDTO(1, "Name", "username", "email@test.com")));
+        when(postService.syncBatch(anyList())).thenReturn(new SyncResultDTO(1, 1, 0, 0, 0, 0, 0));
+        when(commentService.syncBatch(anyList())).thenReturn(new SyncResultDTO(1, 0, 0, 1, 0, 0, 0));
+        when(userService.syncBatch(anyList())).thenReturn(new SyncResultDTO(1, 0, 1, 0, 0, 0, 0));
+
+        SyncReportDTO report = syncService.syncAll();
+
+        assertEquals(2, report.getPosts().getFetched());
+        assertEquals(2, report.getPosts().getInserted());
+        assertEquals(1, report.getComments().getUnchanged());
+        assertEquals(1, report.getUsers().getUpdated());
+        assertTrue(report.getPosts().getRecordsPerSecond() > 0);
+    }
+
+    @Test
+    void should_Write_Comments_After_Every_Post() {
+        sourceReads(SyncResource.POSTS, List.of(new FetchedPostDTO(1, 1, "Title", "Body")),
+                List.of(new FetchedPostDTO(2, 1, "Title", "Body")));
+        sourceReads(SyncResource.COMMENTS, List.of(new FetchedCommentDTO(1, 2, "Name", "email@test.com", "Body")));
+        sourceReads(SyncResource.USERS);
+        when(postService.syncBatch(anyList())).thenReturn(new SyncResultDTO());
+        when(commentService.syncBatch(anyList())).thenReturn(new SyncResultDTO());
+
+        syncService.syncAll();
+
+        InOrder order = inOrder(postService, commentService);
+        order.verify(postService, times(2)).syncBatch(anyList());
+        order.verify(commentService).syncBatch(anyList());
+    }
+
+    @Test
+    void should_Fail_When_A_Writer_Fails() {
+        sourceReads(SyncResource.POSTS, List.of(new FetchedPostDTO(1, 1, "Title", "Body")));
+        sourceReads(SyncResource.COMMENTS);
+        sourceReads(SyncResource.USERS);
+        when(postService.syncBatch(anyList())).thenThrow(new IllegalStateException("Database down"));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> syncService.syncAll());
+
+        assertEquals("Sync failed: Database down", exception.getMessage());
+    }
+
+    @Test
+    void should_Write_No_Batch_Once_Cancelled() {
+        sourceReads(SyncResource.POSTS, List.of(new FetchedPostDTO(1, 1, "Title", "Body")));
+        sourceReads(SyncResource.COMMENTS);
+        sourceReads(SyncResource.USERS);
+
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> syncService.syncAll((resource, batchResult) -> { }, () -> true));
+
+        assertTrue(exception.getMessage().contains("cancelled"));
+        verify(postService, never()).syncBatch(anyList());
+        verify(syncSource, times(1)).syncFinished(false);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private <T> void sourceReads(SyncResource<?> resource, List<T>... batches) {
+        lenient().doAnswer(invocation -> {
+            Consumer<List<T>> consumer = invocation.getArgument(1);
+            for (List<T> batch : batches) {
+                consumer.accept(batch);
+            }
+            return null;
+        }).when(syncSource).read(eq(resource), any(Consumer.class));
+    }
+}
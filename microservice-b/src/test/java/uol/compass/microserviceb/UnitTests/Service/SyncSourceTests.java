@@ -0,0 +1,199 @@
+package uol.compass.microserviceb.UnitTests.Service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import uol.compass.microserviceb.clients.PostClient;
+import uol.compass.microserviceb.services.DumpFileSyncSource;
+import uol.compass.microserviceb.services.JsonPlaceholderSyncSource;
+import uol.compass.microserviceb.services.SyncResource;
+import uol.compass.microserviceb.web.dto.FetchedCommentDTO;
+import uol.compass.microserviceb.web.dto.FetchedPostDTO;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SyncSourceTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Mock
+    private PostClient postClient;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void upstreamSource_ShouldPageUntilAShortPage() {
+        JsonPlaceholderSyncSource source = upstreamSource(2);
+        when(postClient.getPage("posts", 1, 2, null, null)).thenReturn(page(postsJson(1, 2)));
+        when(postClient.getPage("posts", 2, 2, null, null)).thenReturn(page(postsJson(3, 4)));
+        when(postClient.getPage("posts", 3, 2, null, null)).thenReturn(page(postsJson(5, 5)));
+
+        List<List<FetchedPostDTO>> batches = new ArrayList<>();
+        source.read(SyncResource.POSTS, batches::add);
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(5, batches.get(2).get(0).getId());
+        verify(postClient, never()).getPage("posts", 4, 2, null, null);
+    }
+
+    @Test
+    void upstreamSource_ShouldStopOnEmptyPage() {
+        JsonPlaceholderSyncSource source = upstreamSource(2);
+        when(postClient.getPage("comments", 1, 2, null, null)).thenReturn(page(
+                "[{\"postId\": 1, \"id\": 1, \"name\": \"n\", \"email\": \"e@mail.com\", \"body\": \"b\"}," +
+                " {\"postId\": 1, \"id\": 2, \"name\": \"n\", \"email\": \"e@mail.com\", \"body\": \"b\"}]"));
+        when(postClient.getPage("comments", 2, 2, null, null)).thenReturn(page("[]"));
+
+        List<List<FetchedCommentDTO>> batches = new ArrayList<>();
+        source.read(SyncResource.COMMENTS, batches::add);
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).get(1).getPostId());
+    }
+
+    @Test
+    void upstreamSource_ShouldFail_WhenUpstreamAnswersWithError() {
+        JsonPlaceholderSyncSource source = upstreamSource(2);
+        when(postClient.getPage("posts", 1, 2, null, null)).thenReturn(Response.builder()
+                .status(503)
+                .request(request())
+                .build());
+
+        assertThrows(IllegalStateException.class, () -> source.read(SyncResource.POSTS, batch -> { }));
+    }
+
+    @Test
+    void upstreamSource_ShouldSkipPagesNotModified_AfterASuccessfulSync() {
+        JsonPlaceholderSyncSource source = upstreamSource(2);
+        when(postClient.getPage("posts", 1, 2, null, null)).thenReturn(page(postsJson(1, 2), "W/\"p1\""));
+        when(postClient.getPage("posts", 2, 2, null, null)).thenReturn(page(postsJson(3, 3), "W/\"p2\""));
+        source.read(SyncResource.POSTS, batch -> { });
+        source.syncFinished(true);
+
+        when(postClient.getPage("posts", 1, 2, "W/\"p1\"", null)).thenReturn(notModified());
+        when(postClient.getPage("posts", 2, 2, "W/\"p2\"", null)).thenReturn(page(postsJson(3, 4), "W/\"p2b\""));
+        when(postClient.getPage("posts", 3, 2, null, null)).thenReturn(page("[]", null));
+        List<List<FetchedPostDTO>> batches = new ArrayList<>();
+        source.read(SyncResource.POSTS, batches::add);
+
+        assertEquals(1, batches.size());
+        assertEquals(List.of(3L, 4L), batches.get(0).stream().map(FetchedPostDTO::getId).toList());
+    }
+
+    @Test
+    void upstreamSource_ShouldFetchAgainInFull_WhenPreviousSyncFailed() {
+        JsonPlaceholderSyncSource source = upstreamSource(2);
+        when(postClient.getPage("posts", 1, 2, null, null))
+                .thenReturn(page(postsJson(1, 1), "W/\"p1\""))
+                .thenReturn(page(postsJson(1, 1), "W/\"p1\""));
+        source.read(SyncResource.POSTS, batch -> { });
+        source.syncFinished(false);
+
+        List<List<FetchedPostDTO>> batches = new ArrayList<>();
+        source.read(SyncResource.POSTS, batches::add);
+
+        assertEquals(1, batches.size());
+        verify(postClient, never()).getPage(eq("posts"), eq(1), eq(2), eq("W/\"p1\""), any());
+    }
+
+    @Test
+    void fileSource_ShouldStreamDumpInFixedSizeBatches() throws IOException {
+        Files.writeString(tempDir.resolve("posts.json"), postsJson(1, 5));
+
+        DumpFileSyncSource source = fileSource(2);
+        List<List<FetchedPostDTO>> batches = new ArrayList<>();
+        source.read(SyncResource.POSTS, batches::add);
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(5, batches.get(2).get(0).getId());
+        assertEquals("Title 5", batches.get(2).get(0).getTitle());
+    }
+
+    @Test
+    void fileSource_ShouldSkipResourceWithoutDumpFile() {
+        DumpFileSyncSource source = fileSource(2);
+        List<List<FetchedCommentDTO>> batches = new ArrayList<>();
+
+        source.read(SyncResource.COMMENTS, batches::add);
+
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void fileSource_ShouldRejectDumpThatIsNotAnArray() throws IOException {
+        Files.writeString(tempDir.resolve("posts.json"), "{\"id\": 1}");
+
+        DumpFileSyncSource source = fileSource(2);
+
+        assertThrows(IllegalStateException.class, () -> source.read(SyncResource.POSTS, batch -> { }));
+    }
+
+    private JsonPlaceholderSyncSource upstreamSource(int batchSize) {
+        JsonPlaceholderSyncSource source = new JsonPlaceholderSyncSource(postClient, objectMapper);
+        ReflectionTestUtils.setField(source, "batchSize", batchSize);
+        return source;
+    }
+
+    private DumpFileSyncSource fileSource(int batchSize) {
+        DumpFileSyncSource source = new DumpFileSyncSource(objectMapper);
+        ReflectionTestUtils.setField(source, "dir", tempDir);
+        ReflectionTestUtils.setField(source, "batchSize", batchSize);
+        return source;
+    }
+
+    private Response page(String json) {
+        return page(json, null);
+    }
+
+    private Response page(String json, String etag) {
+        return Response.builder()
+                .status(200)
+                .headers(etag == null ? Map.<String, Collection<String>>of() : Map.<String, Collection<String>>of("ETag", List.of(etag)))
+                .request(request())
+                .body(json, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    private Response notModified() {
+        return Response.builder()
+                .status(304)
+                .headers(Map.of())
+                .request(request())
+                .build();
+    }
+
+    private Request request() {
+        return Request.create(Request.HttpMethod.GET, "https://jsonplaceholder.typicode.com/", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+    }
+
+    private String postsJson(int firstId, int lastId) {
+        return IntStream.rangeClosed(firstId, lastId)
+                .mapToObj(id -> "{\"userId\": 1, \"id\": " + id + ", \"title\": \"Title " + id + "\", \"body\": \"Body\", \"extra\": true}")
+                .collect(Collectors.joining(",\n", "[\n", "\n]"));
+    }
+}
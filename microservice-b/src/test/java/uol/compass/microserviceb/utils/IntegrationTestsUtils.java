@@ -1,7 +1,9 @@
 package uol.compass.microserviceb.utils;
 
+import org.springframework.test.web.reactive.server.WebTestClient;
 import uol.compass.microserviceb.model.Comment;
 import uol.compass.microserviceb.model.Post;
+import uol.compass.microserviceb.web.dto.SyncJobDTO;
 
 import java.util.Map;
 
@@ -14,8 +16,44 @@ public class IntegrationTestsUtils {
 
     // The key value must be the same of the Comment ID.
     public static final Map<Integer, Comment> PRE_SAVED_COMMENTS = Map.of(
-            1, new Comment("1", PRE_SAVED_POSTS.get(1), "autor1@email.com", "Autor1", "Conteúdo do Comentário 1"),
-            2, new Comment("2", PRE_SAVED_POSTS.get(1), "autor2@email.com", "Autor2", "Conteúdo do Comentário 2"),
-            3, new Comment("3", PRE_SAVED_POSTS.get(2), "autor3@email.com", "Autor3", "Conteúdo do Comentário 3")
+            1, new Comment("1", "1", "autor1@email.com", "Autor1", "Conteúdo do Comentário 1"),
+            2, new Comment("2", "1", "autor2@email.com", "Autor2", "Conteúdo do Comentário 2"),
+            3, new Comment("3", "2", "autor3@email.com", "Autor3", "Conteúdo do Comentário 3")
     );
+
+    private static final long SYNC_TIMEOUT_MILLIS = 60_000;
+
+    public static SyncJobDTO startSync(WebTestClient testClient) {
+        return testClient
+                .post()
+                .uri("api/sync")
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().exists("Location")
+                .expectBody(SyncJobDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    // Polls the sync job until it is no longer running.
+    public static SyncJobDTO awaitSyncJob(WebTestClient testClient, String jobId) {
+        long deadline = System.currentTimeMillis() + SYNC_TIMEOUT_MILLIS;
+        while (true) {
+            SyncJobDTO job = testClient
+                    .get()
+                    .uri("api/sync/" + jobId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(SyncJobDTO.class)
+                    .returnResult().getResponseBody();
+            if (!"RUNNING".equals(job.getStatus()) || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return job;
+            }
+        }
+    }
 }